@@ -3,7 +3,7 @@ package com.team3.forum.controllers.mvc;
 import com.team3.forum.helpers.FolderPageHelper;
 import com.team3.forum.models.Folder;
 import com.team3.forum.models.postDtos.PostPage;
-import com.team3.forum.models.postDtos.PostResponseDto;
+import com.team3.forum.models.postDtos.PostSummaryDto;
 import com.team3.forum.services.FolderService;
 import com.team3.forum.services.PostService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,10 +36,12 @@ public class FolderMvcController {
     public String getHomeFolder(
             @PathVariable(value = "path", required = false) String path,
             @RequestParam(defaultValue = "1") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "") String search,
             @RequestParam(defaultValue = "date") String orderBy,
             @RequestParam(defaultValue = "desc") String direction,
             @RequestParam(defaultValue = "0") int tagId,
+            @RequestParam(defaultValue = "false") boolean includeSubfolders,
             @RequestParam(name = "siblingPage", defaultValue = "1") int siblingPage,
             @RequestParam(name = "childPage", defaultValue = "1") int childPage,
             Model model) {
@@ -47,6 +49,7 @@ public class FolderMvcController {
         model.addAttribute("tagId", tagId);
         model.addAttribute("orderBy", orderBy);
         model.addAttribute("direction", direction);
+        model.addAttribute("includeSubfolders", includeSubfolders);
 
         List<String> slugs;
         if (path == null || path.isEmpty() || path.equals("/")) {
@@ -56,12 +59,14 @@ public class FolderMvcController {
         }
         Folder folder = folderService.getFolderByPath(slugs);
 
-        PostPage pageInfo = postService.getPostsInFolderPaginated(folder, page, search, orderBy, direction, tagId);
+        PostPage pageInfo = cursor != null
+                ? postService.getPostsInFolderByCursor(folder, includeSubfolders, cursor, search, orderBy, direction, tagId, search.isBlank())
+                : postService.getPostsInFolderPaginated(folder, includeSubfolders, page, search, orderBy, direction, tagId, search.isBlank());
         model.addAttribute("pageInfo", pageInfo);
 
         folderPageHelper.populateSidebar(folder, siblingPage, childPage, model);
 
-        List<PostResponseDto> mappedPosts = pageInfo.getItems();
+        List<PostSummaryDto> mappedPosts = pageInfo.getItems();
         model.addAttribute("posts", mappedPosts);
 
         return "FolderView";
@@ -1,13 +1,13 @@
 package com.team3.forum.controllers.mvc;
 
 import com.team3.forum.models.Folder;
-import com.team3.forum.models.Post;
+import com.team3.forum.models.enums.TrendingWindow;
 import com.team3.forum.models.folderDtos.FolderResponseDto;
-import com.team3.forum.models.postDtos.PostResponseDto;
+import com.team3.forum.models.postDtos.PostSummaryDto;
 import com.team3.forum.models.tagDtos.TagResponseDto;
 import com.team3.forum.services.FolderService;
-import com.team3.forum.services.PostService;
 import com.team3.forum.services.TagService;
+import com.team3.forum.services.TrendingService;
 import com.team3.forum.services.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
@@ -20,15 +20,16 @@ import java.util.List;
 @Controller
 @RequestMapping("/forum")
 public class HomeMvcController {
+    private static final int TRENDING_POSTS_COUNT = 5;
 
-    private final PostService postService;
+    private final TrendingService trendingService;
     private final FolderService folderService;
     private final TagService tagService;
     private final UserService userService;
 
     @Autowired
-    public HomeMvcController(PostService postService, FolderService folderService, TagService tagService, UserService userService) {
-        this.postService = postService;
+    public HomeMvcController(TrendingService trendingService, FolderService folderService, TagService tagService, UserService userService) {
+        this.trendingService = trendingService;
         this.folderService = folderService;
         this.tagService = tagService;
         this.userService = userService;
@@ -37,15 +38,13 @@ public class HomeMvcController {
     @GetMapping
     public String getHomePage(Model model) {
         List<Folder> folders = folderService.findHomeFolders();
-        List<FolderResponseDto> folderResponseDtos = folders
-                .stream().map(folderService::buildFolderResponseDto).toList();
+        List<FolderResponseDto> folderResponseDtos = folderService.buildFolderResponseDtos(folders);
         model.addAttribute("folders", folderResponseDtos);
 
-        List<Post> posts = postService.getTrendingPosts();
-        List<PostResponseDto> mappedPosts = posts.stream()
-                .map(postService::buildPostResponseDto)
+        List<PostSummaryDto> trendingPosts = trendingService.getSnapshot(TrendingWindow.WEEK).posts().stream()
+                .limit(TRENDING_POSTS_COUNT)
                 .toList();
-        model.addAttribute("posts", mappedPosts);
+        model.addAttribute("posts", trendingPosts);
 
         List<TagResponseDto> tags = tagService.findTopByOrderByPostsCountDesc(5).stream()
                 .map(tag -> TagResponseDto.builder().name(tag.getName()).id(tag.getId()).build())
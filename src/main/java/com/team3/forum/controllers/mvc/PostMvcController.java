@@ -1,17 +1,16 @@
 package com.team3.forum.controllers.mvc;
 
 import com.team3.forum.exceptions.AuthorizationException;
-import com.team3.forum.helpers.CommentMapper;
 import com.team3.forum.helpers.FolderPageHelper;
 import com.team3.forum.helpers.PostMapper;
-import com.team3.forum.helpers.UserMapper;
 import com.team3.forum.models.*;
 import com.team3.forum.models.commentDtos.CommentCreationDto;
-import com.team3.forum.models.commentDtos.CommentResponseDto;
+import com.team3.forum.models.commentDtos.CommentPage;
 import com.team3.forum.models.commentDtos.CommentUpdateDto;
 import com.team3.forum.models.postDtos.PostCreationDto;
 import com.team3.forum.models.postDtos.PostPage;
 import com.team3.forum.models.postDtos.PostResponseDto;
+import com.team3.forum.models.postDtos.PostSummaryDto;
 import com.team3.forum.models.postDtos.PostUpdateDto;
 import com.team3.forum.models.tagDtos.TagResponseDto;
 import com.team3.forum.security.CustomUserDetails;
@@ -31,15 +30,14 @@ import java.util.List;
 @Controller
 @RequestMapping("/forum/posts")
 public class PostMvcController {
+    private static final int COMMENT_REPLIES_SHOWN = 3;
 
     private final PostService postService;
     private final FolderService folderService;
     private final TagService tagService;
     private final CommentService commentService;
     private final UserService userService;
-    private final CommentMapper commentMapper;
     private final FolderPageHelper folderPageHelper;
-    private final UserMapper userMapper;
     private final PostMapper postMapper;
 
     @Autowired
@@ -49,8 +47,6 @@ public class PostMvcController {
                              CommentService commentService,
                              UserService userService,
                              FolderPageHelper folderPageHelper,
-                             CommentMapper commentMapper,
-                             UserMapper userMapper,
                              PostMapper postMapper) {
         this.postService = postService;
         this.folderService = folderService;
@@ -58,8 +54,6 @@ public class PostMvcController {
         this.commentService = commentService;
         this.userService = userService;
         this.folderPageHelper = folderPageHelper;
-        this.commentMapper = commentMapper;
-        this.userMapper = userMapper;
         this.postMapper = postMapper;
     }
 
@@ -67,14 +61,17 @@ public class PostMvcController {
     public String getAllPosts(
             Model model,
             @RequestParam(defaultValue = "1") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "") String search,
             @RequestParam(defaultValue = "created_at") String orderBy,
             @RequestParam(defaultValue = "desc") String direction,
             @RequestParam(defaultValue = "0") int tagId,
             @AuthenticationPrincipal CustomUserDetails principal) {
-        PostPage pageInfo = postService.getPostsInFolderPaginated(null, page, search, orderBy, direction, tagId);
+        PostPage pageInfo = cursor != null
+                ? postService.getPostsInFolderByCursor(null, cursor, search, orderBy, direction, tagId, search.isBlank())
+                : postService.getPostsInFolderPaginated(null, page, search, orderBy, direction, tagId, search.isBlank());
         model.addAttribute("pageInfo", pageInfo);
-        List<PostResponseDto> posts = pageInfo.getItems();
+        List<PostSummaryDto> posts = pageInfo.getItems();
 
         model.addAttribute("posts", posts);
 
@@ -106,6 +103,7 @@ public class PostMvcController {
             @RequestParam(defaultValue = "date") String sortCommentsBy,
             @RequestParam(defaultValue = "0") int commentPage,
             @RequestParam(defaultValue = "10") int commentSize,
+            @RequestParam(required = false) String commentCursor,
             @RequestParam(required = false) Integer editCommentId,
             @AuthenticationPrincipal CustomUserDetails principal) {
 
@@ -132,53 +130,25 @@ public class PostMvcController {
                         .toList()
         );
 
-        model.addAttribute("post", postService.buildPostResponseDto(post));
+        model.addAttribute("post", postService.buildPostResponseDto(post, principal != null ? principal.getId() : null));
         User currentUser = principal != null ? userService.findById(principal.getId()) : null;
 
-        List<Comment> comments;
-        if ("likes".equals(sortCommentsBy)) {
-            comments = commentService.findAllByPostIdWithOrdering(postId, "likes", "desc");
-        } else {
-            comments = commentService.findAllByPostId(postId);
-        }
-
-        int totalComments = comments.size();
-        int totalPages = (int) Math.ceil((double) totalComments / commentSize);
-        int start = commentPage * commentSize;
-        int end = Math.min(start + commentSize, totalComments);
-
-        List<Comment> paginatedComments;
-        if (start >= totalComments) {
-            paginatedComments = List.of();
-        } else {
-            paginatedComments = comments.subList(start, end);
-        }
-
-        paginatedComments.forEach(comment -> {
-            comment.getLikedBy().size();
-        });
-
-
-        List<CommentResponseDto> commentDtos = paginatedComments.stream()
-                .map(comment -> commentMapper.toResponseDto(comment, currentUser))
-                .toList();
-
-        model.addAttribute("comments", commentDtos);
-        model.addAttribute("commentPage", commentPage);
-        model.addAttribute("commentTotalPages", totalPages);
-        if (totalComments == 0) {
-            model.addAttribute("commentFromItem", 0);
-            model.addAttribute("commentToItem", 0);
-        } else {
-            model.addAttribute("commentFromItem", start + 1);
-            model.addAttribute("commentToItem", end);
-        }
-        model.addAttribute("commentTotalItems", totalComments);
+        CommentPage comments = commentService.getCommentsPage(postId,
+                "likes".equals(sortCommentsBy) ? "likes" : "created_at", "desc",
+                commentPage + 1, commentSize, commentCursor, COMMENT_REPLIES_SHOWN,
+                currentUser != null ? currentUser.getId() : null);
+
+        model.addAttribute("comments", comments.getItems());
+        model.addAttribute("commentPage", comments.getPage() - 1);
+        model.addAttribute("commentSize", comments.getSize());
+        model.addAttribute("commentTotalPages", comments.getTotalPages());
+        model.addAttribute("commentFromItem", comments.getFromItem());
+        model.addAttribute("commentToItem", comments.getToItem());
+        model.addAttribute("commentTotalItems", comments.getTotalItems());
+        model.addAttribute("commentPrevCursor", comments.getPrevCursor());
+        model.addAttribute("commentNextCursor", comments.getNextCursor());
 
         model.addAttribute("currentUser", currentUser);
-        if (currentUser != null) {
-            model.addAttribute("currentUserDto", userMapper.toResponseDto(currentUser));
-        }
         model.addAttribute("commentCreationDto", new CommentCreationDto());
 
         if (editCommentId != null) {
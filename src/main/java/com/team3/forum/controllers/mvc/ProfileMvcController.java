@@ -2,7 +2,7 @@ package com.team3.forum.controllers.mvc;
 
 import com.team3.forum.helpers.UserMapper;
 import com.team3.forum.models.User;
-import com.team3.forum.models.postDtos.PostResponseDto;
+import com.team3.forum.models.postDtos.PostSummaryDto;
 import com.team3.forum.models.userDtos.UserUpdateDto;
 import com.team3.forum.security.CustomUserDetails;
 import com.team3.forum.services.PostService;
@@ -50,9 +50,7 @@ public class ProfileMvcController {
 
         User user = userService.findByUsername(username);
 
-        List<PostResponseDto> postDtos = user.getPosts().stream()
-                .map(postService::buildPostResponseDto)
-                .toList();
+        List<PostSummaryDto> postDtos = postService.findSummariesByUser(user.getId());
 
         model.addAttribute("user", userMapper.toResponseDto(user));
         model.addAttribute("userStats", userService.getUserStats(user.getId()));
@@ -1,13 +1,20 @@
 package com.team3.forum.controllers.rest;
 
+import com.team3.forum.helpers.MarkdownService;
 import com.team3.forum.helpers.UserMapper;
 import com.team3.forum.models.User;
+import com.team3.forum.models.adminDtos.BulkModerationRequestDto;
+import com.team3.forum.models.adminDtos.BulkModerationResultDto;
+import com.team3.forum.models.adminDtos.CacheStatsDto;
 import com.team3.forum.models.userDtos.UserPage;
 import com.team3.forum.models.userDtos.UserResponseDto;
 import com.team3.forum.security.CustomUserDetails;
+import com.team3.forum.security.UserDetailsCache;
 import com.team3.forum.services.CommentService;
+import com.team3.forum.services.ModerationService;
 import com.team3.forum.services.PostService;
 import com.team3.forum.services.UserService;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -24,13 +31,25 @@ public class AdminRestController {
     private final UserMapper userMapper;
     private final PostService postService;
     private final CommentService commentService;
+    private final MarkdownService markdownService;
+    private final ModerationService moderationService;
+    private final UserDetailsCache userDetailsCache;
 
     @Autowired
-    public AdminRestController(UserService userService, UserMapper userMapper, PostService postService, CommentService commentService) {
+    public AdminRestController(UserService userService,
+                               UserMapper userMapper,
+                               PostService postService,
+                               CommentService commentService,
+                               MarkdownService markdownService,
+                               ModerationService moderationService,
+                               UserDetailsCache userDetailsCache) {
         this.userService = userService;
         this.userMapper = userMapper;
         this.postService = postService;
         this.commentService = commentService;
+        this.markdownService = markdownService;
+        this.moderationService = moderationService;
+        this.userDetailsCache = userDetailsCache;
     }
 
     @GetMapping
@@ -43,6 +62,11 @@ public class AdminRestController {
         return ResponseEntity.ok(stats);
     }
 
+    @GetMapping("/caches")
+    public ResponseEntity<List<CacheStatsDto>> getCacheStats() {
+        return ResponseEntity.ok(List.of(markdownService.getCacheStats(), userDetailsCache.getCacheStats()));
+    }
+
     @GetMapping("/users")
     public ResponseEntity<UserPage> getUsersWithFilters(
             @RequestParam(required = false) String search,
@@ -105,4 +129,40 @@ public class AdminRestController {
         userService.restoreById(id);
         return ResponseEntity.noContent().build();
     }
-}
+
+    @PostMapping("/posts/bulk-delete")
+    public ResponseEntity<BulkModerationResultDto> bulkDeletePosts(@Valid @RequestBody BulkModerationRequestDto dto,
+                                                                   @AuthenticationPrincipal CustomUserDetails requester) {
+        return ResponseEntity.ok(moderationService.deletePosts(dto.getIds(), requester.getId()));
+    }
+
+    @PostMapping("/posts/bulk-restore")
+    public ResponseEntity<BulkModerationResultDto> bulkRestorePosts(@Valid @RequestBody BulkModerationRequestDto dto,
+                                                                    @AuthenticationPrincipal CustomUserDetails requester) {
+        return ResponseEntity.ok(moderationService.restorePosts(dto.getIds(), requester.getId()));
+    }
+
+    @PostMapping("/comments/bulk-delete")
+    public ResponseEntity<BulkModerationResultDto> bulkDeleteComments(@Valid @RequestBody BulkModerationRequestDto dto,
+                                                                      @AuthenticationPrincipal CustomUserDetails requester) {
+        return ResponseEntity.ok(moderationService.deleteComments(dto.getIds(), requester.getId()));
+    }
+
+    @PostMapping("/comments/bulk-restore")
+    public ResponseEntity<BulkModerationResultDto> bulkRestoreComments(@Valid @RequestBody BulkModerationRequestDto dto,
+                                                                       @AuthenticationPrincipal CustomUserDetails requester) {
+        return ResponseEntity.ok(moderationService.restoreComments(dto.getIds(), requester.getId()));
+    }
+
+    @PostMapping("/users/{id}/content/delete")
+    public ResponseEntity<List<BulkModerationResultDto>> deleteUserContent(@PathVariable int id,
+                                                                           @AuthenticationPrincipal CustomUserDetails requester) {
+        return ResponseEntity.ok(moderationService.deleteUserContent(id, requester.getId()));
+    }
+
+    @PostMapping("/users/{id}/content/restore")
+    public ResponseEntity<List<BulkModerationResultDto>> restoreUserContent(@PathVariable int id,
+                                                                            @AuthenticationPrincipal CustomUserDetails requester) {
+        return ResponseEntity.ok(moderationService.restoreUserContent(id, requester.getId()));
+    }
+}
\ No newline at end of file
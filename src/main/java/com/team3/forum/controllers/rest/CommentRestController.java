@@ -2,19 +2,22 @@ package com.team3.forum.controllers.rest;
 
 import com.team3.forum.models.Comment;
 import com.team3.forum.models.commentDtos.CommentCreationDto;
+import com.team3.forum.models.commentDtos.CommentPage;
+import com.team3.forum.models.commentDtos.CommentReplyPage;
 import com.team3.forum.models.commentDtos.CommentResponseDto;
 import com.team3.forum.models.commentDtos.CommentUpdateDto;
 import com.team3.forum.models.likeDtos.LikeCountDto;
+import com.team3.forum.models.likeDtos.LikersPage;
 import com.team3.forum.services.CommentService;
 import com.team3.forum.security.CustomUserDetails;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/posts/{postId}/comments")
@@ -27,32 +30,59 @@ public class CommentRestController {
     }
 
     @GetMapping
-    public ResponseEntity<List<CommentResponseDto>> getComments(
+    public ResponseEntity<CommentPage> getComments(
             @PathVariable int postId,
             @RequestParam(defaultValue = "created_at") String orderBy,
-            @RequestParam(defaultValue = "desc") String direction) {
-
-        List<Comment> comments;
-        if ("created_at".equals(orderBy) && "desc".equals(direction)) {
-            comments = commentService.findAllByPostId(postId);
-        } else {
-            comments = commentService.findAllByPostIdWithOrdering(postId, orderBy, direction);
-        }
-
-        List<CommentResponseDto> response = comments.stream()
-                .map(comment -> CommentResponseDto.builder()
-                        .id(comment.getId())
-                        .postId(comment.getPost().getId())
-                        .userId(comment.getUser().getId())
-                        .content(comment.getContent())
-                        .createdAt(comment.getCreatedAt())
-                        .updatedAt(comment.getUpdatedAt())
-                        .isDeleted(comment.isDeleted())
-                        .deletedAt(comment.getDeletedAt())
-                        .likesCount(comment.getLikedBy().size())
-                        .build())
-                .toList();
-        return ResponseEntity.ok(response);
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "3") int replies,
+            @AuthenticationPrincipal CustomUserDetails principal) {
+
+        return ResponseEntity.ok(commentService.getCommentsPage(postId, orderBy, direction, page, size, cursor,
+                replies, principal != null ? principal.getId() : null));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamComments(
+            @PathVariable int postId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return commentService.streamComments(postId, lastEventId);
+    }
+
+    @GetMapping("/{commentId}/replies")
+    public ResponseEntity<CommentReplyPage> getReplies(
+            @PathVariable int postId,
+            @PathVariable int commentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal CustomUserDetails principal) {
+
+        return ResponseEntity.ok(commentService.getReplies(postId, commentId, cursor, size,
+                principal != null ? principal.getId() : null));
+    }
+
+    @PostMapping("/{commentId}/replies")
+    public ResponseEntity<CommentResponseDto> createReply(
+            @PathVariable int postId,
+            @PathVariable int commentId,
+            @Valid @RequestBody CommentCreationDto commentCreationDto,
+            @AuthenticationPrincipal CustomUserDetails principal) {
+
+        Comment reply = commentService.createReply(commentCreationDto, postId, commentId, principal.getId());
+        CommentResponseDto response = CommentResponseDto.builder()
+                .id(reply.getId())
+                .postId(reply.getPost().getId())
+                .userId(reply.getUser().getId())
+                .content(reply.getContent())
+                .createdAt(reply.getCreatedAt())
+                .updatedAt(reply.getUpdatedAt())
+                .isDeleted(reply.isDeleted())
+                .parentId(reply.getParentId())
+                .depth(reply.getDepth())
+                .build();
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
     @PostMapping
@@ -71,7 +101,6 @@ public class CommentRestController {
                 .updatedAt(comment.getUpdatedAt())
                 .isDeleted(comment.isDeleted())
                 .deletedAt(comment.getDeletedAt())
-                .likesCount(comment.getLikedBy().size())
                 .build();
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
@@ -93,7 +122,7 @@ public class CommentRestController {
                 .updatedAt(updated.getUpdatedAt())
                 .isDeleted(updated.isDeleted())
                 .deletedAt(updated.getDeletedAt())
-                .likesCount(updated.getLikedBy().size())
+                .likesCount(commentService.getLikes(commentId))
                 .build();
         return ResponseEntity.ok(response);
     }
@@ -114,7 +143,7 @@ public class CommentRestController {
                 .updatedAt(restored.getUpdatedAt())
                 .isDeleted(restored.isDeleted())
                 .deletedAt(restored.getDeletedAt())
-                .likesCount(restored.getLikedBy().size())
+                .likesCount(commentService.getLikes(commentId))
                 .build();
         return ResponseEntity.ok(response);
     }
@@ -126,13 +155,22 @@ public class CommentRestController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/{commentId}/likes/users")
+    public ResponseEntity<LikersPage> getLikers(
+            @PathVariable int postId,
+            @PathVariable int commentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        return ResponseEntity.ok(commentService.getLikers(postId, commentId, cursor, size));
+    }
+
     @PostMapping("/{commentId}/likes")
     public ResponseEntity<LikeCountDto> likeComment(
             @PathVariable int commentId,
             @AuthenticationPrincipal CustomUserDetails principal) {
 
-        commentService.likeComment(commentId, principal.getId());
-        int likes = commentService.getLikes(commentId);
+        int likes = commentService.likeComment(commentId, principal.getId());
         LikeCountDto response = new LikeCountDto(commentId, likes);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
@@ -142,8 +180,7 @@ public class CommentRestController {
             @PathVariable int commentId,
             @AuthenticationPrincipal CustomUserDetails principal) {
 
-        commentService.unlikeComment(commentId, principal.getId());
-        int likes = commentService.getLikes(commentId);
+        int likes = commentService.unlikeComment(commentId, principal.getId());
         LikeCountDto response = new LikeCountDto(commentId, likes);
         return ResponseEntity.ok(response);
     }
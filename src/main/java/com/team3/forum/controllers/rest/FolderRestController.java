@@ -5,7 +5,7 @@ import com.team3.forum.models.folderDtos.FolderContentsDto;
 import com.team3.forum.models.folderDtos.FolderCreateDto;
 import com.team3.forum.models.folderDtos.FolderResponseDto;
 import com.team3.forum.models.folderDtos.FolderUpdateDto;
-import com.team3.forum.models.postDtos.PostResponseDto;
+import com.team3.forum.models.postDtos.PostSummaryDto;
 import com.team3.forum.security.CustomUserDetails;
 import com.team3.forum.services.FolderService;
 import com.team3.forum.services.PostService;
@@ -31,9 +31,7 @@ public class FolderRestController {
 
     @GetMapping
     public ResponseEntity<List<FolderResponseDto>> getHome() {
-        List<FolderResponseDto> response = folderService.findHomeFolders().stream()
-                .map(folderService::buildFolderResponseDto)
-                .toList();
+        List<FolderResponseDto> response = folderService.buildFolderResponseDtos(folderService.findHomeFolders());
         return ResponseEntity.ok(response);
     }
 
@@ -56,13 +54,9 @@ public class FolderRestController {
 
         FolderResponseDto folderDto = folderService.buildFolderResponseDto(folder);
 
-        List<FolderResponseDto> subFolders = folder.getChildFolders().stream()
-                .map(folderService::buildFolderResponseDto)
-                .toList();
+        List<FolderResponseDto> subFolders = folderService.buildFolderResponseDtos(folder.getChildFolders());
 
-        List<PostResponseDto> posts = folderService.getPostsInFolder(folder).stream()
-                .map(postService::buildPostResponseDto)
-                .toList();
+        List<PostSummaryDto> posts = postService.findSummariesInFolder(folder);
 
         FolderContentsDto response = new FolderContentsDto(folderDto, subFolders, posts);
         return ResponseEntity.ok(response);
@@ -110,20 +104,21 @@ public class FolderRestController {
     }
 
     @GetMapping("/path/posts/{*path}")
-    public ResponseEntity<List<PostResponseDto>> getFolderPosts(
+    public ResponseEntity<List<PostSummaryDto>> getFolderPosts(
             @PathVariable("path") String path,
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "CREATED_AT") String orderBy,
-            @RequestParam(defaultValue = "desc") String direction
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(defaultValue = "0") int tagId,
+            @RequestParam(defaultValue = "false") boolean includeSubfolders
     ) {
 
         List<String> slugs = List.of(path.substring(1).split("/"));
 
         Folder folder = folderService.getFolderByPath(slugs);
 
-        List<PostResponseDto> posts = postService.getPostsInFolderPaginated(folder, page, orderBy, direction).stream()
-                .map(postService::buildPostResponseDto)
-                .toList();
+        List<PostSummaryDto> posts = postService.getPostsInFolderPaginated(
+                folder, includeSubfolders, page, null, orderBy, direction, tagId, false).getItems();
 
         return ResponseEntity.ok(posts);
     }
@@ -3,13 +3,19 @@ package com.team3.forum.controllers.rest;
 import com.team3.forum.exceptions.AuthorizationException;
 import com.team3.forum.models.Post;
 import com.team3.forum.models.User;
+import com.team3.forum.models.enums.TrendingWindow;
 import com.team3.forum.models.likeDtos.LikeCountDto;
+import com.team3.forum.models.likeDtos.LikersPage;
 import com.team3.forum.models.postDtos.PostCreationDto;
 import com.team3.forum.models.postDtos.PostPage;
 import com.team3.forum.models.postDtos.PostResponseDto;
+import com.team3.forum.models.postDtos.PostSummaryDto;
+import com.team3.forum.models.postDtos.PostSearchPage;
 import com.team3.forum.models.postDtos.PostUpdateDto;
+import com.team3.forum.models.postDtos.TrendingSnapshot;
 import com.team3.forum.security.CustomUserDetails;
 import com.team3.forum.services.PostService;
+import com.team3.forum.services.TrendingService;
 import com.team3.forum.services.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,37 +31,51 @@ import java.util.List;
 public class PostRestController {
     private final PostService postService;
     private final UserService userService;
+    private final TrendingService trendingService;
 
     @Autowired
     public PostRestController(PostService postService,
-                              UserService userService) {
+                              UserService userService,
+                              TrendingService trendingService) {
         this.postService = postService;
         this.userService = userService;
+        this.trendingService = trendingService;
     }
 
     @GetMapping
-    public ResponseEntity<List<PostResponseDto>> getAll() {
-        List<PostResponseDto> response = postService.findAll().stream()
-                .map(postService::buildPostResponseDto)
-                .toList();
+    public ResponseEntity<List<PostSummaryDto>> getAll() {
+        List<PostSummaryDto> response = postService.findAllSummaries();
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/trending")
+    public ResponseEntity<TrendingSnapshot> getTrending(@RequestParam(defaultValue = "7d") String window) {
+        return ResponseEntity.ok(trendingService.getSnapshot(TrendingWindow.fromLabel(window)));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<PostSearchPage> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer folderId,
+            @RequestParam(defaultValue = "1") int page) {
+        return ResponseEntity.ok(postService.searchPosts(q, folderId, page));
+    }
+
     @GetMapping("/paginated")
     public ResponseEntity<PostPage> getAll(
             @RequestParam(defaultValue = "1") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(required = false) String searchQuery,
             @RequestParam(defaultValue = "date") String orderBy,
             @RequestParam(defaultValue = "desc") String direction,
-            @RequestParam(defaultValue = "0") int tagId
+            @RequestParam(defaultValue = "0") int tagId,
+            @RequestParam(required = false) Boolean includeTotal
     ) {
-        PostPage response = postService.getPostsInFolderPaginated(
-                null,
-                1,
-                searchQuery,
-                orderBy,
-                direction,
-                tagId);
+        // Unfiltered totals are cached; search totals cost a count query, so they are opt-in.
+        boolean withTotal = includeTotal != null ? includeTotal : searchQuery == null || searchQuery.isBlank();
+        PostPage response = cursor != null
+                ? postService.getPostsInFolderByCursor(null, cursor, searchQuery, orderBy, direction, tagId, withTotal)
+                : postService.getPostsInFolderPaginated(null, page, searchQuery, orderBy, direction, tagId, withTotal);
         return ResponseEntity.ok(response);
     }
 
@@ -64,14 +84,17 @@ public class PostRestController {
             @RequestBody @Valid PostCreationDto postCreationDto,
             @AuthenticationPrincipal CustomUserDetails userDetails) {
         Post detached = postService.create(postCreationDto, userDetails.getId());
-        PostResponseDto response = postService.buildPostResponseDto(detached);
+        PostResponseDto response = postService.buildPostResponseDto(detached, userDetails.getId());
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
     @GetMapping("/{postId}")
-    public ResponseEntity<PostResponseDto> getPost(@PathVariable int postId) {
+    public ResponseEntity<PostResponseDto> getPost(
+            @PathVariable int postId,
+            @AuthenticationPrincipal CustomUserDetails principal) {
         Post detached = postService.findById(postId);
-        PostResponseDto response = postService.buildPostResponseDto(detached);
+        PostResponseDto response = postService.buildPostResponseDto(detached,
+                principal != null ? principal.getId() : null);
         return ResponseEntity.ok(response);
     }
 
@@ -81,7 +104,7 @@ public class PostRestController {
             @PathVariable int postId,
             @AuthenticationPrincipal CustomUserDetails principal) {
         Post detached = postService.update(postId, postUpdateDto, principal.getId());
-        PostResponseDto response = postService.buildPostResponseDto(detached);
+        PostResponseDto response = postService.buildPostResponseDto(detached, principal.getId());
         return ResponseEntity.ok(response);
     }
 
@@ -98,7 +121,7 @@ public class PostRestController {
             @PathVariable int postId,
             @AuthenticationPrincipal CustomUserDetails principal) {
         Post detached = postService.restoreById(postId, principal.getId());
-        PostResponseDto response = postService.buildPostResponseDto(detached);
+        PostResponseDto response = postService.buildPostResponseDto(detached, principal.getId());
         return ResponseEntity.ok(response);
     }
 
@@ -109,13 +132,19 @@ public class PostRestController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/{postId}/likes/users")
+    public ResponseEntity<LikersPage> getLikers(
+            @PathVariable int postId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(postService.getLikers(postId, cursor, size));
+    }
+
     @PostMapping("/{postId}/likes")
     public ResponseEntity<LikeCountDto> likePost(
             @PathVariable int postId,
             @AuthenticationPrincipal CustomUserDetails principal) {
-        postService.likePost(postId, principal.getId());
-
-        int likes = postService.getLikes(postId);
+        int likes = postService.likePost(postId, principal.getId());
         LikeCountDto response = new LikeCountDto(postId, likes);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
@@ -124,15 +153,13 @@ public class PostRestController {
     public ResponseEntity<LikeCountDto> unlikePost(
             @PathVariable int postId,
             @AuthenticationPrincipal CustomUserDetails principal) {
-        postService.unlikePost(postId, principal.getId());
-
-        int likes = postService.getLikes(postId);
+        int likes = postService.unlikePost(postId, principal.getId());
         LikeCountDto response = new LikeCountDto(postId, likes);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/user")
-    public ResponseEntity<List<PostResponseDto>> getOwnPosts(
+    public ResponseEntity<List<PostSummaryDto>> getOwnPosts(
             @RequestParam int userId,
             @AuthenticationPrincipal CustomUserDetails principal) {
         if (principal == null) {
@@ -142,7 +169,7 @@ public class PostRestController {
             throw new AuthorizationException("You are not allowed to view other users' posts!");
         }
         User user = userService.findById(userId);
-        List<PostResponseDto> response = user.getPosts().stream().map(postService::buildPostResponseDto).toList();
+        List<PostSummaryDto> response = postService.findSummariesByUser(user.getId());
         return ResponseEntity.ok(response);
     }
 }
@@ -3,7 +3,7 @@ package com.team3.forum.controllers.rest;
 import com.team3.forum.helpers.UserMapper;
 import com.team3.forum.models.User;
 import com.team3.forum.models.commentDtos.CommentResponseDto;
-import com.team3.forum.models.postDtos.PostResponseDto;
+import com.team3.forum.models.postDtos.PostSummaryDto;
 import com.team3.forum.models.userDtos.UserResponseDto;
 import com.team3.forum.models.userDtos.UserSummaryDto;
 import com.team3.forum.models.userDtos.UserUpdateDto;
@@ -71,27 +71,24 @@ public class UserRestController {
     }
 
     @GetMapping("/{id}/posts")
-    public ResponseEntity<List<PostResponseDto>> getUserPosts(@PathVariable int id) {
+    public ResponseEntity<List<PostSummaryDto>> getUserPosts(@PathVariable int id) {
         User user = userService.findById(id);
-        List<PostResponseDto> response = user.getPosts().stream()
-                .map(postService::buildPostResponseDto).toList();
+        List<PostSummaryDto> response = postService.findSummariesByUser(user.getId());
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/{id}/comments")
     public ResponseEntity<List<CommentResponseDto>> getUserComments(@PathVariable int id) {
         User user = userService.findById(id);
-        List<CommentResponseDto> response = user.getComments().stream()
-                .map(commentService::buildCommentResponseDto).toList();
+        List<CommentResponseDto> response = commentService.buildCommentResponseDtos(user.getComments(), null);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/me/posts")
-    public ResponseEntity<List<PostResponseDto>> getCurrentUserPosts(
+    public ResponseEntity<List<PostSummaryDto>> getCurrentUserPosts(
             @AuthenticationPrincipal CustomUserDetails userDetails) {
         User user = userService.findById(userDetails.getId());
-        List<PostResponseDto> response = user.getPosts().stream()
-                .map(postService::buildPostResponseDto).toList();
+        List<PostSummaryDto> response = postService.findSummariesByUser(user.getId());
         return ResponseEntity.ok(response);
     }
 
@@ -99,8 +96,7 @@ public class UserRestController {
     public ResponseEntity<List<CommentResponseDto>> getCurrentUserComments(
             @AuthenticationPrincipal CustomUserDetails userDetails) {
         User user = userService.findById(userDetails.getId());
-        List<CommentResponseDto> response = user.getComments().stream()
-                .map(commentService::buildCommentResponseDto).toList();
+        List<CommentResponseDto> response = commentService.buildCommentResponseDtos(user.getComments(), null);
         return ResponseEntity.ok(response);
     }
 
@@ -1,5 +1,8 @@
 package com.team3.forum.exceptions;
 
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.LockedException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -53,6 +56,15 @@ public class MvcExceptionHandler {
         return "redirect:/auth/login";
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ModelAndView handleTooManyRequestsException(TooManyRequestsException e, HttpServletResponse response) {
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+        ModelAndView mav = new ModelAndView("ErrorView500");
+        mav.setStatus(HttpStatus.TOO_MANY_REQUESTS);
+        mav.addObject("message", e.getMessage());
+        return mav;
+    }
+
     @ExceptionHandler(Exception.class)
     public ModelAndView handleGenericException(Exception e) {
         ModelAndView mav = new ModelAndView("ErrorView500");
@@ -4,7 +4,9 @@ import com.team3.forum.models.Comment;
 import com.team3.forum.models.Post;
 import com.team3.forum.models.User;
 import com.team3.forum.models.commentDtos.CommentCreationDto;
+import com.team3.forum.models.commentDtos.CommentEvent;
 import com.team3.forum.models.commentDtos.CommentResponseDto;
+import com.team3.forum.models.enums.CommentEventType;
 import com.team3.forum.repositories.PostRepository;
 import com.team3.forum.repositories.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -40,21 +42,16 @@ public class CommentMapper {
         return comment;
     }
 
-    public CommentResponseDto toResponseDto(Comment comment, User currentUser) {
-        String createdAtString = TimeAgo.toTimeAgo(comment.getCreatedAt());
-
+    /**
+     * The like count and the viewer's like come from batch queries, so the likers of the comment are never loaded.
+     */
+    public CommentResponseDto toResponseDto(Comment comment, int likesCount, boolean likedByMe) {
         String editedAtString = null;
         LocalDateTime updatedAt = comment.getUpdatedAt();
         if (updatedAt != null && !comment.getCreatedAt().isEqual(updatedAt)) {
             editedAtString = "Edited · " + TimeAgo.toTimeAgo(updatedAt);
         }
 
-        boolean likedByCurrentUser = false;
-        if (currentUser != null) {
-            likedByCurrentUser = comment.getLikedBy().stream()
-                    .anyMatch(user -> user.getId() == currentUser.getId());
-        }
-
         return CommentResponseDto.builder()
                 .id(comment.getId())
                 .postId(comment.getPost().getId())
@@ -65,27 +62,28 @@ public class CommentMapper {
                 .updatedAt(comment.getUpdatedAt())
                 .isDeleted(comment.isDeleted())
                 .deletedAt(comment.getDeletedAt())
-                .likesCount(comment.getLikedBy().size())
-                .likedByCurrentUser(likedByCurrentUser)
-                .createdAtString(createdAtString)
+                .likesCount(likesCount)
+                .likedByMe(likedByMe)
+                .createdAtString(TimeAgo.toTimeAgo(comment.getCreatedAt()))
                 .editedAtString(editedAtString)
                 .user(comment.getUser())
                 .username(comment.getUser().getUsername())
-                .likedBy(comment.getLikedBy())
+                .parentId(comment.getParentId())
+                .depth(comment.getDepth())
+                .replyCount(comment.getReplyCount())
                 .build();
     }
 
-    public CommentResponseDto convertToDto(Comment comment) {
-        return CommentResponseDto.builder()
-                .id(comment.getId())
-                .postId(comment.getPost().getId())
-                .userId(comment.getUser().getId())
-                .content(comment.getContent())
-                .createdAt(comment.getCreatedAt())
-                .updatedAt(comment.getUpdatedAt())
-                .isDeleted(comment.isDeleted())
-                .deletedAt(comment.getDeletedAt())
-                .likesCount(comment.getLikedBy().size())
-                .build();
+    public CommentEvent toEvent(CommentEventType type, Comment comment) {
+        return new CommentEvent(
+                type,
+                comment.getPost().getId(),
+                comment.getId(),
+                comment.getParentId(),
+                comment.getUser().getId(),
+                comment.getUser().getUsername(),
+                type == CommentEventType.DELETED ? null : comment.getContent(),
+                comment.getCreatedAt(),
+                comment.getUpdatedAt());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,40 @@
+package com.team3.forum.helpers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Opaque paging tokens: the fields of a cursor joined with a separator and URL-safe Base64 encoded.
+ * Only the last field may contain the separator, so free text such as a title belongs there.
+ */
+public class CursorCodec {
+
+    private static final String SEPARATOR = "|";
+
+    public static String encode(String... fields) {
+        String raw = String.join(SEPARATOR, fields);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token with exactly {@code fieldCount} fields and builds the cursor from them. Blank,
+     * malformed and tampered tokens, including ones the parser rejects, come back empty.
+     */
+    public static <T> Optional<T> decode(String token, int fieldCount, Function<String[], T> parser) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] fields = raw.split("\\" + SEPARATOR, fieldCount);
+            if (fields.length != fieldCount) {
+                return Optional.empty();
+            }
+            return Optional.of(parser.apply(fields));
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+}
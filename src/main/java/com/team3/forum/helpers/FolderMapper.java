@@ -3,6 +3,7 @@ package com.team3.forum.helpers;
 import com.team3.forum.models.Folder;
 import com.team3.forum.models.MediaMetaData;
 import com.team3.forum.models.folderDtos.*;
+import com.team3.forum.services.FolderTree;
 import org.springframework.stereotype.Component;
 
 
@@ -18,12 +19,12 @@ public class FolderMapper {
                 .build();
     }
 
-    public FolderPathDto toPathDto(Folder folder) {
+    public FolderPathDto toPathDto(FolderTree.Node node) {
         return FolderPathDto.builder()
-                .name(folder.getName())
-                .slug(folder.getSlug())
-                .description(folder.getDescription())
-                .path(buildPath(folder, ""))
+                .name(node.name())
+                .slug(node.slug())
+                .description(node.description())
+                .path(node.path())
                 .build();
     }
 
@@ -34,6 +35,7 @@ public class FolderMapper {
                 .slug(folder.getSlug())
                 .imdbId(folder.getImdbId())
                 .description(folder.getDescription())
+                .parentFolderId(folder.getParentFolder() == null ? null : folder.getParentFolder().getId())
                 .build();
     }
 
@@ -54,18 +56,11 @@ public class FolderMapper {
                 .folderCount(folderCalculatedStatsDto.getFolderCount())
                 .pathFolders(folderCalculatedStatsDto.getPathFolders())
                 .lastActivity(folderCalculatedStatsDto.getLastActivity())
+                .lastActivityPostId(folderCalculatedStatsDto.getLastActivityPostId())
                 .path(folderCalculatedStatsDto.getPath())
                 .metaData(metaData)
                 .imdbId(folder.getImdbId())
                 .build();
     }
 
-    private String buildPath(Folder folder, String path) {
-        StringBuilder sb = new StringBuilder();
-        if (folder.getParentFolder() != null) {
-            sb.append(buildPath(folder.getParentFolder(), path)).append("/");
-        }
-        return sb.append(path).append(folder.getSlug()).toString();
-    }
-
 }
@@ -6,6 +6,7 @@ import com.team3.forum.services.FolderService;
 import org.springframework.stereotype.Component;
 import org.springframework.ui.Model;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Component
@@ -21,55 +22,47 @@ public class FolderPageHelper {
 
     public void populateSidebar(Folder folder, int siblingPage, int childPage, Model model) {
         // ---------- SIBLING FOLDERS ----------
-        List<Folder> allSiblingFolders = folderService.getSiblingFolders(folder);
-        int siblingTotal = allSiblingFolders.size();
+        int siblingTotal = folderService.countSiblingFolders(folder);
         int siblingTotalPages = siblingTotal == 0 ? 1
                 : (int) Math.ceil((double) siblingTotal / FOLDER_PAGE_SIZE);
 
         siblingPage = Math.max(1, Math.min(siblingPage, siblingTotalPages));
-        int siblingFrom = (siblingPage - 1) * FOLDER_PAGE_SIZE;
-        int siblingTo = Math.min(siblingFrom + FOLDER_PAGE_SIZE, siblingTotal);
-
-        List<FolderResponseDto> siblingFolderResponseDtos = allSiblingFolders
-                .subList(siblingFrom, siblingTo).stream()
-                .map(folderService::buildFolderResponseDto)
-                .toList();
-
-        model.addAttribute("siblingFolders", siblingFolderResponseDtos);
+        List<Folder> siblingFolders = folderService.getSiblingFolders(folder, siblingPage, FOLDER_PAGE_SIZE);
         model.addAttribute("siblingPage", siblingPage);
         model.addAttribute("siblingTotalPages", siblingTotalPages);
 
         // ---------- CHILD FOLDERS ----------
-        List<Folder> allChildFolders = folder.getChildFolders().stream()
-                .sorted((f1, f2) -> f1.getName().compareToIgnoreCase(f2.getName()))
-                .toList();
-
-        int childTotal = allChildFolders.size();
+        int childTotal = folderService.countChildFolders(folder);
         int childTotalPages = childTotal == 0 ? 1
                 : (int) Math.ceil((double) childTotal / FOLDER_PAGE_SIZE);
 
         childPage = Math.max(1, Math.min(childPage, childTotalPages));
-        int childFrom = (childPage - 1) * FOLDER_PAGE_SIZE;
-        int childTo = Math.min(childFrom + FOLDER_PAGE_SIZE, childTotal);
-
-        List<FolderResponseDto> childFolderResponseDtos = allChildFolders
-                .subList(childFrom, childTo).stream()
-                .map(folderService::buildFolderResponseDto)
-                .toList();
-
-        model.addAttribute("childFolders", childFolderResponseDtos);
+        List<Folder> childFolders = folderService.getChildFolders(folder, childPage, FOLDER_PAGE_SIZE);
         model.addAttribute("childPage", childPage);
         model.addAttribute("childTotalPages", childTotalPages);
 
-        // ---------- PARENT ----------
+        // ---------- DTOS ----------
+        // Everything shown on the page is built in one batch: current folder, parent, siblings, children.
+        List<Folder> shown = new ArrayList<>();
+        shown.add(folder);
+        if (folder.getParentFolder() != null) {
+            shown.add(folder.getParentFolder());
+        }
+        shown.addAll(siblingFolders);
+        shown.addAll(childFolders);
+        List<FolderResponseDto> dtos = folderService.buildFolderResponseDtos(shown);
+
+        int offset = 1;
         if (folder.getParentFolder() != null) {
-            model.addAttribute("parent", folderService.buildFolderResponseDto(folder.getParentFolder()));
+            model.addAttribute("parent", dtos.get(offset++));
         } else {
             model.addAttribute("parent", null);
         }
+        model.addAttribute("siblingFolders", dtos.subList(offset, offset + siblingFolders.size()));
+        offset += siblingFolders.size();
+        model.addAttribute("childFolders", dtos.subList(offset, offset + childFolders.size()));
 
-        // ---------- CURRENT FOLDER ----------
         model.addAttribute("folderName", folder.getName());
-        model.addAttribute("folder", folderService.buildFolderResponseDto(folder));
+        model.addAttribute("folder", dtos.get(0));
     }
 }
@@ -1,22 +1,47 @@
 package com.team3.forum.helpers;
 
+import com.team3.forum.models.adminDtos.CacheStatsDto;
 import com.vladsch.flexmark.ext.autolink.AutolinkExtension;
 import com.vladsch.flexmark.ext.gfm.strikethrough.StrikethroughExtension;
 import com.vladsch.flexmark.ext.tables.TablesExtension;
 import com.vladsch.flexmark.html.HtmlRenderer;
 import com.vladsch.flexmark.parser.Parser;
 import com.vladsch.flexmark.util.data.MutableDataSet;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
 
 @Component
 public class MarkdownService {
+    // Rough per-entry overhead of the map node, key string and value string headers.
+    private static final int ENTRY_OVERHEAD_BYTES = 200;
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
 
     private final Parser parser;
     private final HtmlRenderer renderer;
 
-    public MarkdownService() {
+    private final long maxBytes;
+    private final Map<String, String> cache = new LinkedHashMap<>(256, 0.75f, true);
+    private long sizeBytes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public MarkdownService(@Value("${forum.markdown.cache.max-bytes:16777216}") long maxBytes) {
         MutableDataSet options = new MutableDataSet();
 
         options.set(Parser.EXTENSIONS, List.of(
@@ -27,17 +52,108 @@ public class MarkdownService {
 
         this.parser = Parser.builder(options).build();
         this.renderer = HtmlRenderer.builder(options).build();
+        this.maxBytes = maxBytes;
     }
 
     /**
      * Convert markdown text to HTML.
      * If input is null/blank, returns empty string.
+     * Rendered HTML is cached by a hash of the markdown in a least-recently-used cache bounded by
+     * forum.markdown.cache.max-bytes, so unchanged content is only parsed once.
      */
     public String toHtml(String markdown) {
         if (markdown == null || markdown.isBlank()) {
             return "";
         }
-        var document = parser.parse(markdown);
-        return renderer.render(document);
+        String key = hash(markdown);
+        String html;
+        synchronized (cache) {
+            html = cache.get(key);
+        }
+        if (html != null) {
+            hits.increment();
+            return html;
+        }
+
+        misses.increment();
+        // Rendering happens outside the lock; two threads missing on the same content both render it.
+        html = renderer.render(parser.parse(markdown));
+        put(key, html);
+        return html;
+    }
+
+    /**
+     * Plain-text excerpt of markdown content, cut at a word boundary to at most maxLength characters
+     * plus an ellipsis. Bypasses the HTML cache since excerpts are stored with the post.
+     */
+    public String toExcerpt(String markdown, int maxLength) {
+        if (markdown == null || markdown.isBlank()) {
+            return "";
+        }
+        String html = HTML_TAG.matcher(renderer.render(parser.parse(markdown))).replaceAll(" ");
+        String text = WHITESPACE.matcher(HtmlUtils.htmlUnescape(html)).replaceAll(" ").strip();
+        if (text.length() <= maxLength) {
+            return text;
+        }
+        int cut = text.lastIndexOf(' ', maxLength);
+        if (cut < maxLength / 2) {
+            cut = maxLength;
+        }
+        return text.substring(0, cut).stripTrailing() + "\u2026";
+    }
+
+    public CacheStatsDto getCacheStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        int entries;
+        long size;
+        synchronized (cache) {
+            entries = cache.size();
+            size = sizeBytes;
+        }
+        return CacheStatsDto.builder()
+                .name("markdown")
+                .hits(hitCount)
+                .misses(missCount)
+                .evictions(evictions.sum())
+                .entries(entries)
+                .sizeBytes(size)
+                .maxBytes(maxBytes)
+                .hitRate(hitCount + missCount == 0 ? 0 : (double) hitCount / (hitCount + missCount))
+                .build();
+    }
+
+    private void put(String key, String html) {
+        long weight = weigh(key, html);
+        if (weight > maxBytes) {
+            return;
+        }
+        synchronized (cache) {
+            String previous = cache.put(key, html);
+            if (previous != null) {
+                sizeBytes -= weigh(key, previous);
+            }
+            sizeBytes += weight;
+            Iterator<Map.Entry<String, String>> eldest = cache.entrySet().iterator();
+            while (sizeBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, String> entry = eldest.next();
+                sizeBytes -= weigh(entry.getKey(), entry.getValue());
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    private static long weigh(String key, String html) {
+        return 2L * (key.length() + html.length()) + ENTRY_OVERHEAD_BYTES;
+    }
+
+    private static String hash(String markdown) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(markdown.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
-}
\ No newline at end of file
+}
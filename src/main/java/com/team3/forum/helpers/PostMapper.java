@@ -40,13 +40,13 @@ public class PostMapper {
                 .creator(postCalculatedStatsDto.getCreator())
                 .commentsCount(postCalculatedStatsDto.getCommentsCount())
                 .views(postCalculatedStatsDto.getViews())
-                .likedBy(postCalculatedStatsDto.getLikedBy())
+                .likesCount(postCalculatedStatsDto.getLikesCount())
+                .likedByMe(postCalculatedStatsDto.isLikedByMe())
                 .createdAtString(postCalculatedStatsDto.getCreatedAtString())
                 .updatedAtString(postCalculatedStatsDto.getUpdatedAtString())
                 .deletedAtString(postCalculatedStatsDto.getDeletedAtString())
                 .userId(postCalculatedStatsDto.getUserId())
-                .comments(postCalculatedStatsDto.getComments())
-                .folderName(post.getFolder().getName())
+                .folderName(postCalculatedStatsDto.getFolderName())
                 .tags(postCalculatedStatsDto.getTags())
                 .build();
     }
@@ -1,5 +1,6 @@
 package com.team3.forum.helpers;
 
+import com.team3.forum.models.Post;
 import com.team3.forum.models.User;
 import com.team3.forum.models.userDtos.*;
 import org.springframework.stereotype.Component;
@@ -60,7 +61,7 @@ public class UserMapper {
         int replyCount = user.getComments().size();
 
         int likesCount = user.getPosts().stream()
-                .mapToInt(post -> post.getLikedBy().size())
+                .mapToInt(Post::getLikesCount)
                 .sum();
 
         return UserStatsDto.builder()
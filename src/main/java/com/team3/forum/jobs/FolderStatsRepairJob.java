@@ -0,0 +1,34 @@
+package com.team3.forum.jobs;
+
+import com.team3.forum.repositories.FolderStatsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Rebuilds folder_stats from posts and comments, adding rows for folders that have none, so drift
+ * from writes that bypassed the services does not accumulate.
+ */
+@Slf4j
+@Component
+public class FolderStatsRepairJob {
+
+    private final FolderStatsRepository folderStatsRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public FolderStatsRepairJob(FolderStatsRepository folderStatsRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.folderStatsRepository = folderStatsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${forum.folder-stats.repair.cron:0 45 3 * * *}")
+    public void repair() {
+        Integer rebuilt = transactionTemplate.execute(status -> folderStatsRepository.rebuild());
+        log.info("Rebuilt stats for {} folders", rebuilt);
+    }
+}
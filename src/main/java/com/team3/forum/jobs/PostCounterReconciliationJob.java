@@ -0,0 +1,59 @@
+package com.team3.forum.jobs;
+
+import com.team3.forum.repositories.CommentRepository;
+import com.team3.forum.repositories.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Recomputes the denormalized like, comment and view counters on posts, and the like counters on
+ * comments, from the source tables, one id range per transaction, so drift from failed or
+ * concurrent updates does not accumulate.
+ */
+@Slf4j
+@Component
+public class PostCounterReconciliationJob {
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    @Autowired
+    public PostCounterReconciliationJob(PostRepository postRepository,
+                                        CommentRepository commentRepository,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${forum.counters.reconcile.batch-size:500}") int batchSize) {
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${forum.counters.reconcile.cron:0 30 3 * * *}")
+    public void reconcile() {
+        int posts = reconcileInBatches(postRepository.getMaxPostId(), postRepository::reconcileCounters);
+        log.info("Reconciled counters for {} posts", posts);
+        int comments = reconcileInBatches(commentRepository.getMaxCommentId(), commentRepository::reconcileLikesCounts);
+        log.info("Reconciled like counters for {} comments", comments);
+    }
+
+    private int reconcileInBatches(int maxId, IntBinaryOperator reconcileRange) {
+        int reconciled = 0;
+        for (int fromId = 1; fromId <= maxId; fromId += batchSize) {
+            int batchStart = fromId;
+            int batchEnd = fromId + batchSize - 1;
+            Integer updated = transactionTemplate.execute(
+                    status -> reconcileRange.applyAsInt(batchStart, batchEnd));
+            reconciled += updated == null ? 0 : updated;
+        }
+        return reconciled;
+    }
+}
@@ -0,0 +1,65 @@
+package com.team3.forum.jobs;
+
+import com.team3.forum.helpers.MarkdownService;
+import com.team3.forum.models.Post;
+import com.team3.forum.repositories.PostRepository;
+import com.team3.forum.services.PostServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Fills in the stored plain-text excerpt of posts written before excerpts existed, one batch per
+ * transaction. New and edited posts get their excerpt from the post service.
+ */
+@Slf4j
+@Component
+public class PostExcerptBackfillJob {
+
+    private final PostRepository postRepository;
+    private final MarkdownService markdownService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    @Autowired
+    public PostExcerptBackfillJob(PostRepository postRepository,
+                                  MarkdownService markdownService,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${forum.posts.excerpt-backfill.batch-size:200}") int batchSize) {
+        this.postRepository = postRepository;
+        this.markdownService = markdownService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        backfill();
+    }
+
+    public void backfill() {
+        int filled = 0;
+        Integer updated;
+        do {
+            updated = transactionTemplate.execute(status -> {
+                List<Post> posts = postRepository.findWithoutExcerpt(batchSize);
+                posts.forEach(post -> postRepository.updateExcerpt(post.getId(),
+                        markdownService.toExcerpt(post.getContent(), PostServiceImpl.EXCERPT_LENGTH)));
+                return posts.size();
+            });
+            filled += updated == null ? 0 : updated;
+        } while (updated != null && updated == batchSize);
+        if (filled > 0) {
+            log.info("Backfilled excerpts for {} posts", filled);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.team3.forum.models;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -45,6 +46,28 @@ public class Comment {
     @Column(name = "is_deleted")
     private boolean isDeleted;
 
+    @Column(name = "parent_id")
+    private Integer parentId;
+
+    @Column(name = "root_id")
+    private Integer rootId;
+
+    /**
+     * Materialized path: the zero-padded ids from the thread root down to this comment, so that
+     * ordering by path lists a thread depth-first and a subtree is a path prefix.
+     */
+    @Column(nullable = false)
+    private String path = "";
+
+    private int depth;
+
+    @Column(name = "reply_count")
+    private int replyCount;
+
+    @Column(name = "likes_count", insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private int likesCount;
+
     @ManyToMany
     @JoinTable(
             name = "comment_likes",
@@ -0,0 +1,44 @@
+package com.team3.forum.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * One ancestor-descendant pair of the folder hierarchy, including each folder paired with itself
+ * at depth 0. Maintained by {@link com.team3.forum.services.FolderServiceImpl}.
+ */
+@Entity
+@Table(name = "folder_closure")
+@IdClass(FolderClosure.FolderClosureId.class)
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class FolderClosure {
+
+    @Id
+    @EqualsAndHashCode.Include
+    @Column(name = "ancestor_id")
+    private int ancestorId;
+
+    @Id
+    @EqualsAndHashCode.Include
+    @Column(name = "descendant_id")
+    private int descendantId;
+
+    private int depth;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class FolderClosureId implements Serializable {
+        private int ancestorId;
+
+        private int descendantId;
+    }
+}
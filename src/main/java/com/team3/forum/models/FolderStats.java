@@ -0,0 +1,51 @@
+package com.team3.forum.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Denormalized activity counters of a single folder, kept up to date by the post and comment services
+ * and rebuilt periodically by {@link com.team3.forum.jobs.FolderStatsRepairJob}.
+ */
+@Entity
+@Table(name = "folder_stats")
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class FolderStats {
+
+    @Id
+    @EqualsAndHashCode.Include
+    @Column(name = "folder_id")
+    private int folderId;
+
+    @Column(name = "post_count")
+    private int postCount;
+
+    @Column(name = "last_post_at")
+    private LocalDateTime lastPostAt;
+
+    @Column(name = "last_comment_at")
+    private LocalDateTime lastCommentAt;
+
+    @Column(name = "last_activity_post_id")
+    private Integer lastActivityPostId;
+
+    public FolderStats(int folderId) {
+        this.folderId = folderId;
+    }
+
+    public LocalDateTime getLastActivityAt() {
+        if (lastPostAt == null) {
+            return lastCommentAt;
+        }
+        if (lastCommentAt == null || lastPostAt.isAfter(lastCommentAt)) {
+            return lastPostAt;
+        }
+        return lastCommentAt;
+    }
+}
@@ -3,6 +3,7 @@ package com.team3.forum.models;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -29,6 +30,9 @@ public class Post {
 
     private String content;
 
+    @Column(name = "excerpt", length = 300)
+    private String excerpt;
+
     @ManyToOne
     @JoinColumn(name = "user_id")
     private User user;
@@ -75,4 +79,16 @@ public class Post {
 
     @Column(name = "is_deleted")
     private boolean isDeleted;
+
+    @Column(name = "likes_count", insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private int likesCount;
+
+    @Column(name = "comments_count", insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private int commentsCount;
+
+    @Column(name = "views_count", insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private int viewsCount;
 }
@@ -0,0 +1,41 @@
+package com.team3.forum.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "post_view_daily")
+@IdClass(PostViewDaily.PostViewDailyId.class)
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class PostViewDaily {
+
+    @Id
+    @EqualsAndHashCode.Include
+    @Column(name = "post_id")
+    private int postId;
+
+    @Id
+    @EqualsAndHashCode.Include
+    @Column(name = "view_date")
+    private LocalDate viewDate;
+
+    private int views;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class PostViewDailyId implements Serializable {
+        private int postId;
+
+        private LocalDate viewDate;
+    }
+}
@@ -0,0 +1,23 @@
+package com.team3.forum.models.adminDtos;
+
+import com.team3.forum.models.enums.ModerationOutcome;
+import lombok.*;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkModerationResultDto {
+
+    private String target;
+
+    private int requested;
+
+    private int changed;
+
+    private Map<Integer, ModerationOutcome> results;
+}
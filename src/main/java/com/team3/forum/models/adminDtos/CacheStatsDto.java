@@ -0,0 +1,28 @@
+package com.team3.forum.models.adminDtos;
+
+import lombok.*;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheStatsDto {
+
+    private String name;
+
+    private long hits;
+
+    private long misses;
+
+    private long evictions;
+
+    private int entries;
+
+    private long sizeBytes;
+
+    private long maxBytes;
+
+    private double hitRate;
+}
@@ -0,0 +1,20 @@
+package com.team3.forum.models.adminDtos;
+
+import com.team3.forum.models.enums.Role;
+
+/**
+ * What bulk moderation needs to know about a post or comment: its state, its author and the counters it feeds.
+ * For posts, postId is the post's own id and parentId is null.
+ */
+public record ModerationTargetDto(int id,
+                                  boolean deleted,
+                                  int postId,
+                                  Integer folderId,
+                                  Integer parentId,
+                                  int userId,
+                                  Role authorRole) {
+
+    public ModerationTargetDto(int id, boolean deleted, Integer folderId, int userId, Role authorRole) {
+        this(id, deleted, id, folderId, null, userId, authorRole);
+    }
+}
@@ -0,0 +1,50 @@
+package com.team3.forum.models.commentDtos;
+
+import com.team3.forum.helpers.CursorCodec;
+import com.team3.forum.models.enums.CommentSortField;
+import com.team3.forum.models.enums.SortDirection;
+
+import java.util.Optional;
+
+/**
+ * Position in the sorted comments of a post: the sort key and id of the comment at the page boundary.
+ * Clients only see the opaque {@link #encode() token}. The page number is carried along for display only.
+ */
+public record CommentCursor(CommentSortField sortField,
+                            SortDirection direction,
+                            boolean backward,
+                            int page,
+                            int commentId,
+                            Object sortKey) {
+
+    public static CommentCursor after(CommentResponseDto comment, CommentSortField sortField, SortDirection direction, int page) {
+        return new CommentCursor(sortField, direction, false, page, comment.getId(), sortField.getSortKey(comment));
+    }
+
+    public static CommentCursor before(CommentResponseDto comment, CommentSortField sortField, SortDirection direction, int page) {
+        return new CommentCursor(sortField, direction, true, page, comment.getId(), sortField.getSortKey(comment));
+    }
+
+    public String encode() {
+        return CursorCodec.encode(
+                sortField.name(),
+                direction.name(),
+                backward ? "b" : "f",
+                String.valueOf(page),
+                String.valueOf(commentId),
+                String.valueOf(sortKey));
+    }
+
+    public static Optional<CommentCursor> decode(String token) {
+        return CursorCodec.decode(token, 6, parts -> {
+            CommentSortField sortField = CommentSortField.valueOf(parts[0]);
+            return new CommentCursor(
+                    sortField,
+                    SortDirection.valueOf(parts[1]),
+                    parts[2].equals("b"),
+                    Math.max(Integer.parseInt(parts[3]), 1),
+                    Integer.parseInt(parts[4]),
+                    sortField.parseSortKey(parts[5]));
+        });
+    }
+}
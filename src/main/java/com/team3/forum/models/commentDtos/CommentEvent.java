@@ -0,0 +1,19 @@
+package com.team3.forum.models.commentDtos;
+
+import com.team3.forum.models.enums.CommentEventType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Change to a comment as pushed to live subscribers of its post. Content is null for deletions.
+ */
+public record CommentEvent(CommentEventType type,
+                           int postId,
+                           int commentId,
+                           Integer parentId,
+                           int userId,
+                           String username,
+                           String content,
+                           LocalDateTime createdAt,
+                           LocalDateTime updatedAt) {
+}
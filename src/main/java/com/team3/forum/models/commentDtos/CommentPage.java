@@ -0,0 +1,41 @@
+package com.team3.forum.models.commentDtos;
+
+import lombok.*;
+
+import java.util.List;
+
+
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CommentPage {
+
+    List<CommentResponseDto> items;
+
+    int page;
+
+    int size;
+
+    int totalItems;
+
+    int totalPages;
+
+    boolean hasPrevious;
+
+    boolean hasNext;
+
+    int fromItem;
+
+    int toItem;
+
+    String orderBy;
+
+    String direction;
+
+    String prevCursor;
+
+    String nextCursor;
+}
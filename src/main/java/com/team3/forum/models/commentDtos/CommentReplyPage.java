@@ -0,0 +1,25 @@
+package com.team3.forum.models.commentDtos;
+
+import lombok.*;
+
+import java.util.List;
+
+
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CommentReplyPage {
+
+    int parentId;
+
+    List<CommentResponseDto> items;
+
+    int size;
+
+    boolean hasNext;
+
+    String nextCursor;
+}
@@ -4,7 +4,7 @@ import com.team3.forum.models.User;
 import lombok.*;
 
 import java.time.LocalDateTime;
-import java.util.Set;
+import java.util.List;
 
 @Getter
 @Setter
@@ -21,11 +21,15 @@ public class CommentResponseDto {
     private boolean isDeleted;
     private LocalDateTime deletedAt;
     private int likesCount;
-    private boolean likedByCurrentUser;
+    private boolean likedByMe;
     private String createdAtString;
     private String editedAtString;
     private User user;
     private String username;
-    private Set<User> likedBy;
     private String contentHtml;
+    private Integer parentId;
+    private int depth;
+    private int replyCount;
+    private List<CommentResponseDto> replies;
+    private boolean hasMoreReplies;
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.team3.forum.models.enums;
+
+public enum CommentEventType {
+    CREATED,
+    EDITED,
+    DELETED,
+    RESTORED;
+
+    public String eventName() {
+        return "comment-" + name().toLowerCase();
+    }
+}
@@ -0,0 +1,31 @@
+package com.team3.forum.models.enums;
+
+import com.team3.forum.models.commentDtos.CommentResponseDto;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+public enum CommentSortField {
+    CREATED_AT("c.createdAt", CommentResponseDto::getCreatedAt, LocalDateTime::parse),
+    LIKES("c.likesCount", CommentResponseDto::getLikesCount, Integer::valueOf);
+
+    @Getter
+    private final String jpqlField;
+    private final Function<CommentResponseDto, Object> keyExtractor;
+    private final Function<String, Object> keyParser;
+
+    CommentSortField(String jpqlField, Function<CommentResponseDto, Object> keyExtractor, Function<String, Object> keyParser) {
+        this.jpqlField = jpqlField;
+        this.keyExtractor = keyExtractor;
+        this.keyParser = keyParser;
+    }
+
+    public Object getSortKey(CommentResponseDto comment) {
+        return keyExtractor.apply(comment);
+    }
+
+    public Object parseSortKey(String value) {
+        return keyParser.apply(value);
+    }
+}
@@ -0,0 +1,10 @@
+package com.team3.forum.models.enums;
+
+public enum ModerationOutcome {
+    DELETED,
+    RESTORED,
+    ALREADY_DELETED,
+    NOT_DELETED,
+    NOT_FOUND,
+    FORBIDDEN
+}
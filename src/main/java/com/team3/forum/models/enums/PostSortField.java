@@ -1,18 +1,38 @@
 package com.team3.forum.models.enums;
 
+import com.team3.forum.models.postDtos.PostSummaryDto;
 import lombok.Getter;
 
-@Getter
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
 public enum PostSortField {
-    ID("p.id"),
-    CREATED_AT("p.createdAt"),
-    UPDATED_AT("p.updatedAt"),
-    COMMENTS_COUNT("SIZE(p.comments)"),
-    TITLE("p.title");
+    ID("p.id", PostSummaryDto::getId, Integer::valueOf),
+    CREATED_AT("p.createdAt", PostSummaryDto::getCreatedAt, LocalDateTime::parse),
+    UPDATED_AT("coalesce(p.updatedAt, p.createdAt)",
+            post -> post.getUpdatedAt() != null ? post.getUpdatedAt() : post.getCreatedAt(),
+            LocalDateTime::parse),
+    COMMENTS_COUNT("p.commentsCount", PostSummaryDto::getCommentsCount, Integer::valueOf),
+    TITLE("p.title", PostSummaryDto::getTitle, value -> value),
+    MOST_LIKED("p.likesCount", PostSummaryDto::getLikesCount, Integer::valueOf),
+    MOST_VIEWED("p.viewsCount", post -> Math.toIntExact(post.getViews()), Integer::valueOf);
 
+    @Getter
     private final String jpqlField;
+    private final Function<PostSummaryDto, Object> keyExtractor;
+    private final Function<String, Object> keyParser;
 
-    PostSortField(String jpqlField) {
+    PostSortField(String jpqlField, Function<PostSummaryDto, Object> keyExtractor, Function<String, Object> keyParser) {
         this.jpqlField = jpqlField;
+        this.keyExtractor = keyExtractor;
+        this.keyParser = keyParser;
+    }
+
+    public Object getSortKey(PostSummaryDto post) {
+        return keyExtractor.apply(post);
+    }
+
+    public Object parseSortKey(String value) {
+        return keyParser.apply(value);
     }
 }
@@ -1,5 +1,9 @@
 package com.team3.forum.models.enums;
 
 public enum SortDirection {
-    ASC, DESC
-}
\ No newline at end of file
+    ASC, DESC;
+
+    public SortDirection reversed() {
+        return this == ASC ? DESC : ASC;
+    }
+}
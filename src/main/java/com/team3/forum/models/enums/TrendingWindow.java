@@ -0,0 +1,29 @@
+package com.team3.forum.models.enums;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public enum TrendingWindow {
+    DAY("24h", Duration.ofDays(1)),
+    WEEK("7d", Duration.ofDays(7)),
+    MONTH("30d", Duration.ofDays(30));
+
+    private final String label;
+    private final Duration length;
+
+    TrendingWindow(String label, Duration length) {
+        this.label = label;
+        this.length = length;
+    }
+
+    public static TrendingWindow fromLabel(String label) {
+        for (TrendingWindow window : values()) {
+            if (window.label.equalsIgnoreCase(label) || window.name().equalsIgnoreCase(label)) {
+                return window;
+            }
+        }
+        return WEEK;
+    }
+}
@@ -17,4 +17,5 @@ public class FolderCalculatedStatsDto {
     private List<FolderPathDto> pathFolders;
     private int postCountWithSubfolders;
     private String lastActivity;
+    private Integer lastActivityPostId;
 }
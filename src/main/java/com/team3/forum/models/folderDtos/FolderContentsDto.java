@@ -1,11 +1,11 @@
 package com.team3.forum.models.folderDtos;
 
-import com.team3.forum.models.postDtos.PostResponseDto;
+import com.team3.forum.models.postDtos.PostSummaryDto;
 
 import java.util.List;
 
 public record FolderContentsDto(
         FolderResponseDto folder,
         List<FolderResponseDto> subFolders,
-        List<PostResponseDto> posts
+        List<PostSummaryDto> posts
 ) {}
@@ -25,6 +25,7 @@ public class FolderResponseDto {
     private List<FolderPathDto> pathFolders;
     private int postCountWithSubfolders;
     private String lastActivity;
+    private Integer lastActivityPostId;
     private String imdbId;
     private MediaMetaData metaData;
 }
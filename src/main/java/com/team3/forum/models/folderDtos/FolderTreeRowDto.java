@@ -0,0 +1,4 @@
+package com.team3.forum.models.folderDtos;
+
+public record FolderTreeRowDto(int id, Integer parentId, String slug, String name, String description) {
+}
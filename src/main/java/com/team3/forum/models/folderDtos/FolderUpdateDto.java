@@ -1,6 +1,7 @@
 package com.team3.forum.models.folderDtos;
 
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 import lombok.*;
@@ -27,4 +28,7 @@ public class FolderUpdateDto {
     private String description;
 
     private String imdbId;
+
+    @Positive
+    private Integer parentFolderId;
 }
@@ -0,0 +1,19 @@
+package com.team3.forum.models.likeDtos;
+
+import com.team3.forum.helpers.CursorCodec;
+
+import java.util.Optional;
+
+/**
+ * Position in a list of likers, which is ordered by user id. Clients only see the opaque {@link #encode() token}.
+ */
+public record LikerCursor(int userId) {
+
+    public String encode() {
+        return CursorCodec.encode(String.valueOf(userId));
+    }
+
+    public static Optional<LikerCursor> decode(String token) {
+        return CursorCodec.decode(token, 1, parts -> new LikerCursor(Integer.parseInt(parts[0])));
+    }
+}
@@ -0,0 +1,26 @@
+package com.team3.forum.models.likeDtos;
+
+import com.team3.forum.models.userDtos.UserSummaryDto;
+import lombok.*;
+
+import java.util.List;
+
+
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LikersPage {
+
+    int likesCount;
+
+    List<UserSummaryDto> items;
+
+    int size;
+
+    boolean hasNext;
+
+    String nextCursor;
+}
@@ -0,0 +1,6 @@
+package com.team3.forum.models.postDtos;
+
+import java.time.LocalDate;
+
+public record DailyPostViewDto(int postId, int userId, LocalDate viewDate) {
+}
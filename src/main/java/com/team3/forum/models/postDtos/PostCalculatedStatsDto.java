@@ -1,8 +1,6 @@
 package com.team3.forum.models.postDtos;
 
-import com.team3.forum.models.commentDtos.CommentResponseDto;
 import com.team3.forum.models.tagDtos.TagResponseDto;
-import com.team3.forum.models.userDtos.UserResponseDto;
 import lombok.*;
 
 import java.util.List;
@@ -23,9 +21,9 @@ public class PostCalculatedStatsDto {
 
     private long views;
 
-    private List<CommentResponseDto> comments;
+    private int likesCount;
 
-    private List<UserResponseDto> likedBy;
+    private boolean likedByMe;
 
     private String folderName;
 
@@ -0,0 +1,51 @@
+package com.team3.forum.models.postDtos;
+
+import com.team3.forum.helpers.CursorCodec;
+import com.team3.forum.models.enums.PostSortField;
+import com.team3.forum.models.enums.SortDirection;
+
+import java.util.Optional;
+
+/**
+ * Position in a sorted post listing: the sort key and id of the post at the page boundary.
+ * Clients only see the opaque {@link #encode() token}. The page number is carried along for display only.
+ */
+public record PostCursor(PostSortField sortField,
+                         SortDirection direction,
+                         boolean backward,
+                         int page,
+                         int postId,
+                         Object sortKey) {
+
+    public static PostCursor after(PostSummaryDto post, PostSortField sortField, SortDirection direction, int page) {
+        return new PostCursor(sortField, direction, false, page, post.getId(), sortField.getSortKey(post));
+    }
+
+    public static PostCursor before(PostSummaryDto post, PostSortField sortField, SortDirection direction, int page) {
+        return new PostCursor(sortField, direction, true, page, post.getId(), sortField.getSortKey(post));
+    }
+
+    public String encode() {
+        // The sort key goes last so that titles containing the separator survive decoding.
+        return CursorCodec.encode(
+                sortField.name(),
+                direction.name(),
+                backward ? "b" : "f",
+                String.valueOf(page),
+                String.valueOf(postId),
+                String.valueOf(sortKey));
+    }
+
+    public static Optional<PostCursor> decode(String token) {
+        return CursorCodec.decode(token, 6, parts -> {
+            PostSortField sortField = PostSortField.valueOf(parts[0]);
+            return new PostCursor(
+                    sortField,
+                    SortDirection.valueOf(parts[1]),
+                    parts[2].equals("b"),
+                    Math.max(Integer.parseInt(parts[3]), 1),
+                    Integer.parseInt(parts[4]),
+                    sortField.parseSortKey(parts[5]));
+        });
+    }
+}
@@ -13,15 +13,19 @@ import java.util.List;
 @Builder
 public class PostPage {
 
-    List<PostResponseDto> items;
+    List<PostSummaryDto> items;
 
     int page;
 
     int size;
 
-    int totalItems;
+    Integer totalItems;
 
-    int totalPages;
+    Integer totalPages;
+
+    boolean hasPrevious;
+
+    boolean hasNext;
 
     int fromItem;
 
@@ -30,4 +34,12 @@ public class PostPage {
     int tagId;
 
     String searchQuery;
+
+    Integer totalSearchHits;
+
+    boolean moreSearchHits;
+
+    String prevCursor;
+
+    String nextCursor;
 }
@@ -1,8 +1,6 @@
 package com.team3.forum.models.postDtos;
 
-import com.team3.forum.models.commentDtos.CommentResponseDto;
 import com.team3.forum.models.tagDtos.TagResponseDto;
-import com.team3.forum.models.userDtos.UserResponseDto;
 import lombok.*;
 
 import java.time.LocalDateTime;
@@ -31,13 +29,13 @@ public class PostResponseDto {
 
     private long views;
 
+    private int likesCount;
+
     private LocalDateTime updatedAt;
 
     private LocalDateTime createdAt;
 
-    private List<CommentResponseDto> comments;
-
-    private List<UserResponseDto> likedBy;
+    private boolean likedByMe;
 
     private String folderName;
 
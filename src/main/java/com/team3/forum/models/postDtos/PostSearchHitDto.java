@@ -0,0 +1,20 @@
+package com.team3.forum.models.postDtos;
+
+import lombok.*;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostSearchHitDto {
+
+    PostSummaryDto post;
+
+    double score;
+
+    String titleHighlight;
+
+    String snippet;
+}
@@ -0,0 +1,28 @@
+package com.team3.forum.models.postDtos;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostSearchPage {
+
+    String query;
+
+    List<PostSearchHitDto> items;
+
+    int page;
+
+    int size;
+
+    int totalHits;
+
+    int totalPages;
+
+    boolean indexReady;
+}
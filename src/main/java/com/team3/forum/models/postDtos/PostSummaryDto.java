@@ -0,0 +1,81 @@
+package com.team3.forum.models.postDtos;
+
+import com.team3.forum.helpers.TimeAgo;
+import com.team3.forum.models.tagDtos.TagResponseDto;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Post as shown in listings: title, stored excerpt and counters, read straight from the posts table
+ * through a constructor projection instead of loading the entity with its comments and likers.
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostSummaryDto {
+
+    private int id;
+
+    private String title;
+
+    private String excerpt;
+
+    private int userId;
+
+    private String creator;
+
+    private int folderId;
+
+    private String folderName;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime deletedAt;
+
+    private boolean isDeleted;
+
+    private int likesCount;
+
+    private int commentsCount;
+
+    private long views;
+
+    private List<TagResponseDto> tags;
+
+    public PostSummaryDto(int id,
+                          String title,
+                          String excerpt,
+                          int userId,
+                          String creator,
+                          int folderId,
+                          String folderName,
+                          LocalDateTime createdAt,
+                          LocalDateTime updatedAt,
+                          LocalDateTime deletedAt,
+                          boolean isDeleted,
+                          int likesCount,
+                          int commentsCount,
+                          int views) {
+        this(id, title, excerpt, userId, creator, folderId, folderName, createdAt, updatedAt, deletedAt,
+                isDeleted, likesCount, commentsCount, views, List.of());
+    }
+
+    public String getCreatedAtString() {
+        return TimeAgo.toTimeAgo(createdAt);
+    }
+
+    public String getUpdatedAtString() {
+        return TimeAgo.toTimeAgo(updatedAt);
+    }
+
+    public String getDeletedAtString() {
+        return TimeAgo.toTimeAgo(deletedAt);
+    }
+}
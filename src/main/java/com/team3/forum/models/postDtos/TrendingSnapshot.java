@@ -0,0 +1,7 @@
+package com.team3.forum.models.postDtos;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record TrendingSnapshot(String window, LocalDateTime computedAt, List<PostSummaryDto> posts) {
+}
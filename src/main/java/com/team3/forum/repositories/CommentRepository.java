@@ -1,8 +1,16 @@
 package com.team3.forum.repositories;
 
 import com.team3.forum.models.Comment;
+import com.team3.forum.models.adminDtos.ModerationTargetDto;
+import com.team3.forum.models.commentDtos.CommentCursor;
+import com.team3.forum.models.enums.CommentSortField;
+import com.team3.forum.models.enums.SortDirection;
+import com.team3.forum.models.userDtos.UserSummaryDto;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 public interface CommentRepository {
     Comment save(Comment entity);
@@ -12,6 +20,24 @@ public interface CommentRepository {
     void deleteById(int id);
     void delete(Comment entity);
     List<Comment> findByPostId(int postId);
+    List<Comment> findPageByPostId(int postId, CommentSortField orderBy, SortDirection direction, int offset, int limit);
+    List<Comment> findPageByPostIdAfterCursor(int postId, int limit, CommentCursor cursor);
+    int countTopLevelByPostId(int postId);
+    List<Comment> findFirstReplies(Collection<Integer> rootIds, int perThread);
+    List<Comment> findReplies(Comment parent, String afterPath, int limit);
+    void updateReplyCount(int commentId, int delta);
+    void refreshReplyCounts(Collection<Integer> commentIds);
+    List<ModerationTargetDto> findModerationTargets(Collection<Integer> commentIds);
+    List<ModerationTargetDto> findModerationTargetsByUser(int userId);
+    int updateDeleted(Collection<Integer> commentIds, boolean deleted, LocalDateTime deletedAt);
+    boolean addLike(int commentId, int userId);
+    boolean removeLike(int commentId, int userId);
+    int getLikesCount(int commentId);
+    int updateLikesCount(int commentId, int delta);
+    int reconcileLikesCounts(int fromId, int toId);
+    int getMaxCommentId();
+    List<UserSummaryDto> findLikers(int commentId, int afterUserId, int limit);
+    Set<Integer> findLikedCommentIds(int userId, Collection<Integer> commentIds);
     Comment findByIdIncludeDeleted(int id);
     int getCommentCount();
 }
@@ -2,15 +2,38 @@ package com.team3.forum.repositories;
 
 import com.team3.forum.exceptions.EntityNotFoundException;
 import com.team3.forum.models.Comment;
+import com.team3.forum.models.adminDtos.ModerationTargetDto;
+import com.team3.forum.models.commentDtos.CommentCursor;
+import com.team3.forum.models.enums.CommentSortField;
+import com.team3.forum.models.enums.SortDirection;
+import com.team3.forum.models.userDtos.UserSummaryDto;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Repository
 public class CommentRepositoryImpl implements CommentRepository {
 
+    private static final String POST_COMMENTS_QUERY = """
+            select c from Comment c
+            join fetch c.user
+            where c.post.id = :postId and c.parentId is null and c.isDeleted = false""";
+
+    private static final String MODERATION_TARGET_SELECT = """
+            select new com.team3.forum.models.adminDtos.ModerationTargetDto(
+                c.id, c.isDeleted, p.id, f.id, c.parentId, u.id, u.role)
+            from Comment c
+            join c.user u
+            join c.post p
+            left join p.folder f
+            """;
+
     @PersistenceContext
     private EntityManager em;
 
@@ -63,6 +86,233 @@ public class CommentRepositoryImpl implements CommentRepository {
                 .getResultList();
     }
 
+    @Override
+    public List<Comment> findPageByPostId(int postId, CommentSortField orderBy, SortDirection direction, int offset, int limit) {
+        StringBuilder queryString = new StringBuilder(POST_COMMENTS_QUERY);
+        appendOrderBy(queryString, orderBy, direction);
+        return em.createQuery(queryString.toString(), Comment.class)
+                .setParameter("postId", postId)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<Comment> findPageByPostIdAfterCursor(int postId, int limit, CommentCursor cursor) {
+        // Walking backwards scans in the opposite order; the caller flips the rows back.
+        SortDirection scanDirection = cursor.backward() ? cursor.direction().reversed() : cursor.direction();
+        String comparison = scanDirection == SortDirection.ASC ? ">" : "<";
+        String sortKey = cursor.sortField().getJpqlField();
+        StringBuilder queryString = new StringBuilder(POST_COMMENTS_QUERY)
+                .append(" and (").append(sortKey).append(' ').append(comparison).append(" :cursorKey")
+                .append(" or (").append(sortKey).append(" = :cursorKey and c.id ").append(comparison)
+                .append(" :cursorId))");
+        appendOrderBy(queryString, cursor.sortField(), scanDirection);
+        return em.createQuery(queryString.toString(), Comment.class)
+                .setParameter("postId", postId)
+                .setParameter("cursorKey", cursor.sortKey())
+                .setParameter("cursorId", cursor.commentId())
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public int countTopLevelByPostId(int postId) {
+        return em.createQuery("""
+                        select count(c) from Comment c
+                        where c.post.id = :postId and c.parentId is null and c.isDeleted = false""", Long.class)
+                .setParameter("postId", postId)
+                .getSingleResult().intValue();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Comment> findFirstReplies(Collection<Integer> rootIds, int perThread) {
+        if (rootIds.isEmpty() || perThread <= 0) {
+            return List.of();
+        }
+        return em.createNativeQuery("""
+                        select r.*
+                        from (select c.*,
+                                     row_number() over (partition by c.root_id order by c.path) as reply_rank
+                              from comments c
+                              where c.root_id in (:rootIds)
+                                and c.parent_id is not null
+                                and c.is_deleted = false) r
+                        where r.reply_rank <= :perThread
+                        order by r.root_id, r.path""", Comment.class)
+                .setParameter("rootIds", rootIds)
+                .setParameter("perThread", perThread)
+                .getResultList();
+    }
+
+    @Override
+    public List<Comment> findReplies(Comment parent, String afterPath, int limit) {
+        StringBuilder queryString = new StringBuilder("""
+                select c from Comment c
+                join fetch c.user
+                where c.rootId = :rootId and c.path like :prefix and c.isDeleted = false""");
+        if (afterPath != null) {
+            queryString.append(" and c.path > :afterPath");
+        }
+        queryString.append(" order by c.path");
+
+        var query = em.createQuery(queryString.toString(), Comment.class)
+                .setParameter("rootId", parent.getRootId())
+                .setParameter("prefix", parent.getPath() + ".%");
+        if (afterPath != null) {
+            query.setParameter("afterPath", afterPath);
+        }
+        return query
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public void updateReplyCount(int commentId, int delta) {
+        em.createNativeQuery("update comments set reply_count = greatest(reply_count + :delta, 0) where comment_id = :commentId")
+                .setParameter("delta", delta)
+                .setParameter("commentId", commentId)
+                .executeUpdate();
+    }
+
+    @Override
+    public boolean addLike(int commentId, int userId) {
+        return em.createNativeQuery("insert ignore into comment_likes (comment_id, user_id) values (:commentId, :userId)")
+                .setParameter("commentId", commentId)
+                .setParameter("userId", userId)
+                .executeUpdate() == 1;
+    }
+
+    @Override
+    public boolean removeLike(int commentId, int userId) {
+        return em.createNativeQuery("delete from comment_likes where comment_id = :commentId and user_id = :userId")
+                .setParameter("commentId", commentId)
+                .setParameter("userId", userId)
+                .executeUpdate() == 1;
+    }
+
+    @Override
+    public int getLikesCount(int commentId) {
+        return em.createQuery("select c.likesCount from Comment c where c.isDeleted = false and c.id = :commentId", Integer.class)
+                .setParameter("commentId", commentId)
+                .getResultStream()
+                .findFirst()
+                .orElseThrow(() -> new EntityNotFoundException("Comment", commentId));
+    }
+
+    @Override
+    public int updateLikesCount(int commentId, int delta) {
+        // Same last_insert_id(expr) hand-back as the post counter, see PostRepositoryImpl.updateLikesCount.
+        int updated = em.createNativeQuery("""
+                        update comments
+                        set likes_count = last_insert_id(greatest(likes_count + :delta, 0))
+                        where comment_id = :commentId and is_deleted = false""")
+                .setParameter("delta", delta)
+                .setParameter("commentId", commentId)
+                .executeUpdate();
+        if (updated == 0) {
+            throw new EntityNotFoundException("Comment", commentId);
+        }
+        return ((Number) em.createNativeQuery("select last_insert_id()").getSingleResult()).intValue();
+    }
+
+    @Override
+    public int reconcileLikesCounts(int fromId, int toId) {
+        return em.createNativeQuery("""
+                        update comments c
+                        set likes_count = (select count(*) from comment_likes l where l.comment_id = c.comment_id)
+                        where c.comment_id between :fromId and :toId
+                        """)
+                .setParameter("fromId", fromId)
+                .setParameter("toId", toId)
+                .executeUpdate();
+    }
+
+    @Override
+    public int getMaxCommentId() {
+        return em.createQuery("select coalesce(max(c.id), 0) from Comment c", Integer.class)
+                .getSingleResult();
+    }
+
+    @Override
+    public List<UserSummaryDto> findLikers(int commentId, int afterUserId, int limit) {
+        return em.createQuery("""
+                        select new com.team3.forum.models.userDtos.UserSummaryDto(u.id, u.username)
+                        from Comment c
+                        join c.likedBy u
+                        where c.id = :commentId and u.id > :afterUserId
+                        order by u.id
+                        """, UserSummaryDto.class)
+                .setParameter("commentId", commentId)
+                .setParameter("afterUserId", afterUserId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Set<Integer> findLikedCommentIds(int userId, Collection<Integer> commentIds) {
+        if (commentIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(em.createQuery("""
+                        select c.id
+                        from Comment c
+                        join c.likedBy u
+                        where u.id = :userId and c.id in :commentIds""", Integer.class)
+                .setParameter("userId", userId)
+                .setParameter("commentIds", commentIds)
+                .getResultList());
+    }
+
+    @Override
+    public void refreshReplyCounts(Collection<Integer> commentIds) {
+        if (commentIds.isEmpty()) {
+            return;
+        }
+        em.createNativeQuery("""
+                        update comments c
+                        set reply_count = (select count(*) from comments r
+                                           where r.parent_id = c.comment_id and r.is_deleted = false)
+                        where c.comment_id in (:commentIds)
+                        """)
+                .setParameter("commentIds", commentIds)
+                .executeUpdate();
+    }
+
+    @Override
+    public List<ModerationTargetDto> findModerationTargets(Collection<Integer> commentIds) {
+        if (commentIds.isEmpty()) {
+            return List.of();
+        }
+        return em.createQuery(MODERATION_TARGET_SELECT + "where c.id in :commentIds", ModerationTargetDto.class)
+                .setParameter("commentIds", commentIds)
+                .getResultList();
+    }
+
+    @Override
+    public List<ModerationTargetDto> findModerationTargetsByUser(int userId) {
+        return em.createQuery(MODERATION_TARGET_SELECT + "where u.id = :userId", ModerationTargetDto.class)
+                .setParameter("userId", userId)
+                .getResultList();
+    }
+
+    @Override
+    public int updateDeleted(Collection<Integer> commentIds, boolean deleted, LocalDateTime deletedAt) {
+        if (commentIds.isEmpty()) {
+            return 0;
+        }
+        return em.createQuery("""
+                        update Comment c
+                        set c.isDeleted = :deleted, c.deletedAt = :deletedAt
+                        where c.id in :commentIds and c.isDeleted <> :deleted
+                        """)
+                .setParameter("deleted", deleted)
+                .setParameter("deletedAt", deletedAt)
+                .setParameter("commentIds", commentIds)
+                .executeUpdate();
+    }
+
     @Override
     public Comment findByIdIncludeDeleted(int id) {
         Comment result = em.find(Comment.class, id);
@@ -77,4 +327,13 @@ public class CommentRepositoryImpl implements CommentRepository {
         return em.createQuery("select count(c) from Comment c where c.isDeleted = false", Long.class)
                 .getSingleResult().intValue();
     }
-}
\ No newline at end of file
+
+    private void appendOrderBy(StringBuilder queryString, CommentSortField orderBy, SortDirection direction) {
+        queryString.append(" order by ")
+                .append(orderBy.getJpqlField())
+                .append(' ')
+                .append(direction.name())
+                .append(", c.id ")
+                .append(direction.name());
+    }
+}
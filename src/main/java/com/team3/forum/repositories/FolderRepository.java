@@ -1,9 +1,11 @@
 package com.team3.forum.repositories;
 
 import com.team3.forum.models.Folder;
+import com.team3.forum.models.folderDtos.FolderTreeRowDto;
 
-import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface FolderRepository {
     Folder save(Folder entity);
@@ -14,6 +16,8 @@ public interface FolderRepository {
 
     List<Folder> findAll();
 
+    List<FolderTreeRowDto> findTreeRows();
+
     void deleteById(int id);
 
     void delete(Folder entity);
@@ -22,9 +26,19 @@ public interface FolderRepository {
 
     List<Folder> getFoldersByParentFolder(Folder parentFolder);
 
+    List<Folder> findChildFoldersPage(Folder parentFolder, Integer excludedFolderId, int offset, int limit);
+
+    int countChildFolders(Folder parentFolder, Integer excludedFolderId);
+
     Folder findByParentFolderAndSlug(Folder parentFolder, String slug);
 
-    LocalDateTime getLastPostDate(Folder folder);
+    void addToClosure(int folderId, int parentId);
+
+    void moveInClosure(int folderId, int newParentId);
+
+    void removeFromClosure(int folderId);
+
+    boolean isInSubtree(int ancestorId, int folderId);
 
-    LocalDateTime getLastCommentDate(Folder folder);
+    Map<Integer, Integer> getPostCountsWithSubfolders(Collection<Integer> folderIds);
 }
@@ -2,12 +2,16 @@ package com.team3.forum.repositories;
 
 import com.team3.forum.exceptions.EntityNotFoundException;
 import com.team3.forum.models.Folder;
+import com.team3.forum.models.folderDtos.FolderTreeRowDto;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Repository
 public class FolderRepositoryImpl implements FolderRepository {
@@ -43,6 +47,18 @@ public class FolderRepositoryImpl implements FolderRepository {
         return em.createQuery("from Folder", Folder.class).getResultList();
     }
 
+    @Override
+    public List<FolderTreeRowDto> findTreeRows() {
+        return em.createQuery("""
+                        select new com.team3.forum.models.folderDtos.FolderTreeRowDto(
+                            f.id, p.id, f.slug, f.name, f.description)
+                        from Folder f
+                        left join f.parentFolder p
+                        order by f.name, f.id
+                        """, FolderTreeRowDto.class)
+                .getResultList();
+    }
+
     @Override
     public void deleteById(int id) {
         em.remove(findById(id));
@@ -58,7 +74,7 @@ public class FolderRepositoryImpl implements FolderRepository {
         return em.createQuery("""
                         from Folder f 
                             where f.slug = :slug
-                            order by f.name
+                            order by f.name, f.id
                         """, Folder.class)
                 .setParameter("slug", slug)
                 .getResultStream()
@@ -72,27 +88,47 @@ public class FolderRepositoryImpl implements FolderRepository {
             return em.createQuery("""
                             from Folder f 
                                 where f.parentFolder is null 
-                                order by f.name
+                                order by f.name, f.id
                             """, Folder.class)
                     .getResultList();
         } else {
             return em.createQuery("""
                             from Folder f 
                                 where f.parentFolder = :parentFolder 
-                                order by f.name
+                                order by f.name, f.id
                             """, Folder.class)
                     .setParameter("parentFolder", parentFolder)
                     .getResultList();
         }
     }
 
+    @Override
+    public List<Folder> findChildFoldersPage(Folder parentFolder, Integer excludedFolderId, int offset, int limit) {
+        TypedQuery<Folder> query = em.createQuery(
+                "from Folder f" + childFoldersFilter(parentFolder, excludedFolderId) + " order by f.name, f.id",
+                Folder.class);
+        setChildFoldersParameters(query, parentFolder, excludedFolderId);
+        return query.setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public int countChildFolders(Folder parentFolder, Integer excludedFolderId) {
+        TypedQuery<Long> query = em.createQuery(
+                "select count(f) from Folder f" + childFoldersFilter(parentFolder, excludedFolderId),
+                Long.class);
+        setChildFoldersParameters(query, parentFolder, excludedFolderId);
+        return query.getSingleResult().intValue();
+    }
+
     @Override
     public Folder findByParentFolderAndSlug(Folder parentFolder, String slug) {
         return em.createQuery("""
                                 from Folder f 
                                     where f.slug = :slug 
                                         and f.parentFolder = :parentFolder
-                                    order by f.name
+                                    order by f.name, f.id
                                 """
                         , Folder.class)
                 .setParameter("slug", slug)
@@ -103,28 +139,118 @@ public class FolderRepositoryImpl implements FolderRepository {
     }
 
     @Override
-    public LocalDateTime getLastPostDate(Folder folder) {
+    public void addToClosure(int folderId, int parentId) {
+        em.createNativeQuery("""
+                        insert into folder_closure (ancestor_id, descendant_id, depth)
+                        select folder_id, folder_id, 0
+                        from folders
+                        where folder_id = :folderId
+                        """)
+                .setParameter("folderId", folderId)
+                .executeUpdate();
+        em.createNativeQuery("""
+                        insert into folder_closure (ancestor_id, descendant_id, depth)
+                        select a.ancestor_id, f.folder_id, a.depth + 1
+                        from folder_closure a, folders f
+                        where a.descendant_id = :parentId
+                          and f.folder_id = :folderId
+                        """)
+                .setParameter("parentId", parentId)
+                .setParameter("folderId", folderId)
+                .executeUpdate();
+    }
+
+    @Override
+    public void moveInClosure(int folderId, int newParentId) {
+        List<Integer> subtree = em.createQuery(
+                        "select c.descendantId from FolderClosure c where c.ancestorId = :folderId", Integer.class)
+                .setParameter("folderId", folderId)
+                .getResultList();
+        List<Integer> oldAncestors = em.createQuery("""
+                        select c.ancestorId
+                        from FolderClosure c
+                        where c.descendantId = :folderId
+                          and c.ancestorId <> :folderId
+                        """, Integer.class)
+                .setParameter("folderId", folderId)
+                .getResultList();
+
+        // Detach the subtree from its old ancestors, then link it below every ancestor of the new parent.
+        if (!subtree.isEmpty() && !oldAncestors.isEmpty()) {
+            em.createQuery("""
+                            delete from FolderClosure c
+                            where c.descendantId in :subtree
+                              and c.ancestorId in :oldAncestors
+                            """)
+                    .setParameter("subtree", subtree)
+                    .setParameter("oldAncestors", oldAncestors)
+                    .executeUpdate();
+        }
+        em.createNativeQuery("""
+                        insert into folder_closure (ancestor_id, descendant_id, depth)
+                        select a.ancestor_id, d.descendant_id, a.depth + d.depth + 1
+                        from folder_closure a, folder_closure d
+                        where a.descendant_id = :parentId
+                          and d.ancestor_id = :folderId
+                        """)
+                .setParameter("parentId", newParentId)
+                .setParameter("folderId", folderId)
+                .executeUpdate();
+    }
+
+    @Override
+    public void removeFromClosure(int folderId) {
+        em.createQuery("delete from FolderClosure c where c.ancestorId = :folderId or c.descendantId = :folderId")
+                .setParameter("folderId", folderId)
+                .executeUpdate();
+    }
+
+    @Override
+    public boolean isInSubtree(int ancestorId, int folderId) {
         return em.createQuery("""
-                            select max(p.createdAt)
-                            from Post p
-                            where p.folder = :folder
-                              and p.isDeleted = false
-                        """, LocalDateTime.class)
-                .setParameter("folder", folder)
-                .getSingleResult();
+                        select count(c)
+                        from FolderClosure c
+                        where c.ancestorId = :ancestorId
+                          and c.descendantId = :folderId
+                        """, Long.class)
+                .setParameter("ancestorId", ancestorId)
+                .setParameter("folderId", folderId)
+                .getSingleResult() > 0;
     }
 
     @Override
-    public LocalDateTime getLastCommentDate(Folder folder) {
+    public Map<Integer, Integer> getPostCountsWithSubfolders(Collection<Integer> folderIds) {
+        if (folderIds.isEmpty()) {
+            return Map.of();
+        }
         return em.createQuery("""
-                            select max(c.createdAt)
-                            from Post p
-                                join p.comments c
-                            where p.folder = :folder
-                              and c.isDeleted = false
-                              and p.isDeleted = false
-                        """, LocalDateTime.class)
-                .setParameter("folder", folder)
-                .getSingleResult();
+                        select c.ancestorId, sum(s.postCount)
+                        from FolderClosure c, FolderStats s
+                        where s.folderId = c.descendantId
+                          and c.ancestorId in :folderIds
+                        group by c.ancestorId
+                        """, Object[].class)
+                .setParameter("folderIds", folderIds)
+                .getResultStream()
+                .collect(Collectors.toMap(row -> (Integer) row[0], row -> ((Long) row[1]).intValue()));
+    }
+
+    private String childFoldersFilter(Folder parentFolder, Integer excludedFolderId) {
+        StringBuilder filter = new StringBuilder(parentFolder == null
+                ? " where f.parentFolder is null"
+                : " where f.parentFolder = :parentFolder");
+        if (excludedFolderId != null) {
+            filter.append(" and f.id <> :excludedFolderId");
+        }
+        return filter.toString();
+    }
+
+    private void setChildFoldersParameters(TypedQuery<?> query, Folder parentFolder, Integer excludedFolderId) {
+        if (parentFolder != null) {
+            query.setParameter("parentFolder", parentFolder);
+        }
+        if (excludedFolderId != null) {
+            query.setParameter("excludedFolderId", excludedFolderId);
+        }
     }
 }
@@ -0,0 +1,23 @@
+package com.team3.forum.repositories;
+
+import com.team3.forum.models.FolderStats;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+
+public interface FolderStatsRepository {
+    Map<Integer, FolderStats> findByFolderIds(Collection<Integer> folderIds);
+
+    void create(int folderId);
+
+    void delete(int folderId);
+
+    void recordPost(int folderId, int postId, LocalDateTime createdAt);
+
+    void recordComment(int folderId, int postId, LocalDateTime createdAt);
+
+    void refresh(int folderId);
+
+    int rebuild();
+}
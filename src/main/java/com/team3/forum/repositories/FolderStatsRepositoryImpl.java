@@ -0,0 +1,119 @@
+package com.team3.forum.repositories;
+
+import com.team3.forum.models.FolderStats;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Repository
+public class FolderStatsRepositoryImpl implements FolderStatsRepository {
+
+    // Recomputes every column from posts and comments. The last activity post is the one with the
+    // newest post or comment timestamp.
+    private static final String RECOMPUTE = """
+            update folder_stats s
+            set post_count = (select count(*)
+                              from posts p
+                              where p.folder_id = s.folder_id
+                                and p.is_deleted = false),
+                last_post_at = (select max(p.created_at)
+                                from posts p
+                                where p.folder_id = s.folder_id
+                                  and p.is_deleted = false),
+                last_comment_at = (select max(c.created_at)
+                                   from comments c
+                                       join posts p on p.post_id = c.post_id
+                                   where p.folder_id = s.folder_id
+                                     and p.is_deleted = false
+                                     and c.is_deleted = false),
+                last_activity_post_id = (select p.post_id
+                                         from posts p
+                                             left join comments c on c.post_id = p.post_id and c.is_deleted = false
+                                         where p.folder_id = s.folder_id
+                                           and p.is_deleted = false
+                                         group by p.post_id, p.created_at
+                                         order by greatest(p.created_at, coalesce(max(c.created_at), p.created_at)) desc,
+                                                  p.post_id desc
+                                         limit 1)
+            """;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Override
+    public Map<Integer, FolderStats> findByFolderIds(Collection<Integer> folderIds) {
+        if (folderIds.isEmpty()) {
+            return Map.of();
+        }
+        return em.createQuery("from FolderStats s where s.folderId in :folderIds", FolderStats.class)
+                .setParameter("folderIds", folderIds)
+                .getResultStream()
+                .collect(Collectors.toMap(FolderStats::getFolderId, Function.identity()));
+    }
+
+    @Override
+    public void create(int folderId) {
+        em.persist(new FolderStats(folderId));
+    }
+
+    @Override
+    public void delete(int folderId) {
+        em.createQuery("delete from FolderStats s where s.folderId = :folderId")
+                .setParameter("folderId", folderId)
+                .executeUpdate();
+    }
+
+    @Override
+    public void recordPost(int folderId, int postId, LocalDateTime createdAt) {
+        em.createNativeQuery("""
+                        update folder_stats
+                        set post_count = post_count + 1,
+                            last_post_at = :createdAt,
+                            last_activity_post_id = :postId
+                        where folder_id = :folderId
+                        """)
+                .setParameter("createdAt", createdAt)
+                .setParameter("postId", postId)
+                .setParameter("folderId", folderId)
+                .executeUpdate();
+    }
+
+    @Override
+    public void recordComment(int folderId, int postId, LocalDateTime createdAt) {
+        em.createNativeQuery("""
+                        update folder_stats
+                        set last_comment_at = :createdAt,
+                            last_activity_post_id = :postId
+                        where folder_id = :folderId
+                        """)
+                .setParameter("createdAt", createdAt)
+                .setParameter("postId", postId)
+                .setParameter("folderId", folderId)
+                .executeUpdate();
+    }
+
+    @Override
+    public void refresh(int folderId) {
+        em.createNativeQuery(RECOMPUTE + " where s.folder_id = :folderId")
+                .setParameter("folderId", folderId)
+                .executeUpdate();
+    }
+
+    @Override
+    public int rebuild() {
+        em.createNativeQuery("""
+                        insert into folder_stats (folder_id, post_count)
+                        select f.folder_id, 0
+                        from folders f
+                        where not exists (select 1 from folder_stats s where s.folder_id = f.folder_id)
+                        """)
+                .executeUpdate();
+        return em.createNativeQuery(RECOMPUTE).executeUpdate();
+    }
+}
@@ -2,10 +2,18 @@ package com.team3.forum.repositories;
 
 import com.team3.forum.models.Folder;
 import com.team3.forum.models.Post;
+import com.team3.forum.models.Tag;
+import com.team3.forum.models.adminDtos.ModerationTargetDto;
 import com.team3.forum.models.enums.PostSortField;
 import com.team3.forum.models.enums.SortDirection;
+import com.team3.forum.models.postDtos.PostCursor;
+import com.team3.forum.models.postDtos.PostSummaryDto;
+import com.team3.forum.models.userDtos.UserSummaryDto;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface PostRepository {
     Post save(Post entity);
@@ -16,21 +24,73 @@ public interface PostRepository {
 
     List<Post> findAll();
 
+    List<PostSummaryDto> findAllSummaries();
+
+    List<PostSummaryDto> findSummariesByIds(Collection<Integer> ids);
+
+    List<PostSummaryDto> findSummariesByUser(int userId);
+
+    List<PostSummaryDto> findSummariesInFolder(Folder folder);
+
+    List<Post> findWithoutExcerpt(int limit);
+
+    List<Post> findAllForIndexing(int fromId, int toId);
+
+    List<Post> findForIndexing(Collection<Integer> postIds);
+
+    List<ModerationTargetDto> findModerationTargets(Collection<Integer> postIds);
+
+    List<ModerationTargetDto> findModerationTargetsByUser(int userId);
+
+    int updateDeleted(Collection<Integer> postIds, boolean deleted, LocalDateTime deletedAt);
+
     void deleteById(int id);
 
     void delete(Post entity);
 
     Post findByAndIsDeleted(int id);
 
-    List<Post> findPostsInFolderPaginated(int page, int size, Folder parent, PostSortField orderBy, SortDirection direction);
+    List<PostSummaryDto> findPostsInFolderPaginated(int page, int size, Folder parent, PostSortField orderBy, SortDirection direction);
+
+    List<PostSummaryDto> findPostsInFolderWithTagPaginated(int offset, int limit, String searchQuery, Collection<Integer> postIds, Folder parent, PostSortField orderBy, SortDirection direction, int tagId);
+
+    List<PostSummaryDto> findPostsInFolderWithTagByCursor(int limit, String searchQuery, Collection<Integer> postIds, Folder parent, int tagId, PostSortField orderBy, SortDirection direction, PostCursor cursor);
+
+    List<PostSummaryDto> findPostsInSubtreeWithTagPaginated(int offset, int limit, String searchQuery, Collection<Integer> postIds, Folder subtreeRoot, PostSortField orderBy, SortDirection direction, int tagId);
 
-    List<Post> findPostsInFolderWithTagPaginated(int page, int size, String searchQuery, Folder parent, PostSortField orderBy, SortDirection direction, int tagId);
+    List<PostSummaryDto> findPostsInSubtreeWithTagByCursor(int limit, String searchQuery, Collection<Integer> postIds, Folder subtreeRoot, int tagId, PostSortField orderBy, SortDirection direction, PostCursor cursor);
 
     int countPostsInFolderWithTag(Folder parent, int tagId);
 
     int countPostsInFolderWithTagAndSearch(Folder parent, int tagId, String searchQuery);
 
-    List<Post> findAllSortedByViewsLastDays(int limit, int days);
+    int countPostsInSubtreeWithTagAndSearch(Folder subtreeRoot, int tagId, String searchQuery);
 
     int getPostsCount();
+
+    Map<Integer, List<Tag>> getTagsForPosts(Collection<Integer> postIds);
+
+    void updateExcerpt(int postId, String excerpt);
+
+    boolean addLike(int postId, int userId);
+
+    boolean removeLike(int postId, int userId);
+
+    int getLikesCount(int postId);
+
+    boolean isLikedBy(int postId, int userId);
+
+    List<UserSummaryDto> findLikers(int postId, int afterUserId, int limit);
+
+    int updateLikesCount(int postId, int delta);
+
+    void updateCommentsCount(int postId, int delta);
+
+    void refreshViewsCount(Collection<Integer> postIds);
+
+    void refreshCommentsCount(Collection<Integer> postIds);
+
+    int reconcileCounters(int fromId, int toId);
+
+    int getMaxPostId();
 }
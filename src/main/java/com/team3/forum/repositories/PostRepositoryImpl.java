@@ -3,17 +3,43 @@ package com.team3.forum.repositories;
 import com.team3.forum.exceptions.EntityNotFoundException;
 import com.team3.forum.models.Folder;
 import com.team3.forum.models.Post;
+import com.team3.forum.models.Tag;
+import com.team3.forum.models.adminDtos.ModerationTargetDto;
 import com.team3.forum.models.enums.PostSortField;
 import com.team3.forum.models.enums.SortDirection;
+import com.team3.forum.models.postDtos.PostCursor;
+import com.team3.forum.models.postDtos.PostSummaryDto;
+import com.team3.forum.models.userDtos.UserSummaryDto;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Repository
 public class PostRepositoryImpl implements PostRepository {
+    private static final String SUMMARY_SELECT = """
+            select new com.team3.forum.models.postDtos.PostSummaryDto(
+                p.id, p.title, p.excerpt, u.id, u.username, f.id, f.name,
+                p.createdAt, p.updatedAt, p.deletedAt, p.isDeleted,
+                p.likesCount, p.commentsCount, p.viewsCount)
+            from Post p
+            join p.user u
+            join p.folder f
+            """;
+
+    private static final String MODERATION_TARGET_SELECT = """
+            select new com.team3.forum.models.adminDtos.ModerationTargetDto(p.id, p.isDeleted, f.id, u.id, u.role)
+            from Post p
+            join p.user u
+            left join p.folder f
+            """;
 
     @PersistenceContext
     private EntityManager em;
@@ -45,7 +71,113 @@ public class PostRepositoryImpl implements PostRepository {
 
     @Override
     public List<Post> findAll() {
-        return em.createQuery("from Post p where p.isDeleted = false", Post.class).getResultList();
+        return em.createQuery("from Post p join fetch p.user join fetch p.folder where p.isDeleted = false", Post.class)
+                .getResultList();
+    }
+
+    @Override
+    public List<PostSummaryDto> findAllSummaries() {
+        return em.createQuery(SUMMARY_SELECT + "where p.isDeleted = false order by p.createdAt desc, p.id desc",
+                        PostSummaryDto.class)
+                .getResultList();
+    }
+
+    @Override
+    public List<PostSummaryDto> findSummariesByIds(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return em.createQuery(SUMMARY_SELECT + "where p.isDeleted = false and p.id in :ids", PostSummaryDto.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    @Override
+    public List<PostSummaryDto> findSummariesByUser(int userId) {
+        return em.createQuery(SUMMARY_SELECT + "where u.id = :userId order by p.createdAt desc, p.id desc",
+                        PostSummaryDto.class)
+                .setParameter("userId", userId)
+                .getResultList();
+    }
+
+    @Override
+    public List<PostSummaryDto> findSummariesInFolder(Folder folder) {
+        return em.createQuery(SUMMARY_SELECT + "where p.folder = :folder order by p.createdAt desc, p.id desc",
+                        PostSummaryDto.class)
+                .setParameter("folder", folder)
+                .getResultList();
+    }
+
+    @Override
+    public List<Post> findWithoutExcerpt(int limit) {
+        return em.createQuery("from Post p where p.excerpt is null order by p.id", Post.class)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<Post> findAllForIndexing(int fromId, int toId) {
+        return em.createQuery("""
+                        select distinct p
+                        from Post p
+                        join fetch p.folder
+                        left join fetch p.tags
+                        where p.isDeleted = false
+                        and p.id between :fromId and :toId
+                        """, Post.class)
+                .setParameter("fromId", fromId)
+                .setParameter("toId", toId)
+                .getResultList();
+    }
+
+    @Override
+    public List<Post> findForIndexing(Collection<Integer> postIds) {
+        if (postIds.isEmpty()) {
+            return List.of();
+        }
+        return em.createQuery("""
+                        select distinct p
+                        from Post p
+                        join fetch p.folder
+                        left join fetch p.tags
+                        where p.isDeleted = false
+                        and p.id in :postIds
+                        """, Post.class)
+                .setParameter("postIds", postIds)
+                .getResultList();
+    }
+
+    @Override
+    public List<ModerationTargetDto> findModerationTargets(Collection<Integer> postIds) {
+        if (postIds.isEmpty()) {
+            return List.of();
+        }
+        return em.createQuery(MODERATION_TARGET_SELECT + "where p.id in :postIds", ModerationTargetDto.class)
+                .setParameter("postIds", postIds)
+                .getResultList();
+    }
+
+    @Override
+    public List<ModerationTargetDto> findModerationTargetsByUser(int userId) {
+        return em.createQuery(MODERATION_TARGET_SELECT + "where u.id = :userId", ModerationTargetDto.class)
+                .setParameter("userId", userId)
+                .getResultList();
+    }
+
+    @Override
+    public int updateDeleted(Collection<Integer> postIds, boolean deleted, LocalDateTime deletedAt) {
+        if (postIds.isEmpty()) {
+            return 0;
+        }
+        return em.createQuery("""
+                        update Post p
+                        set p.isDeleted = :deleted, p.deletedAt = :deletedAt
+                        where p.id in :postIds and p.isDeleted <> :deleted
+                        """)
+                .setParameter("deleted", deleted)
+                .setParameter("deletedAt", deletedAt)
+                .setParameter("postIds", postIds)
+                .executeUpdate();
     }
 
     @Override
@@ -72,28 +204,17 @@ public class PostRepositoryImpl implements PostRepository {
     }
 
     @Override
-    public List<Post> findPostsInFolderPaginated(int page,
-                                                 int size,
-                                                 Folder parent,
-                                                 PostSortField orderBy,
-                                                 SortDirection direction) {
-
-        StringBuilder queryString = new StringBuilder("from Post p where p.isDeleted = false");
-
-        if (parent != null) {
-            queryString.append(" and p.folder = :parent");
-        }
-
-        queryString.append(" order by ")
-                .append(orderBy.getJpqlField())
-                .append(' ')
-                .append(direction.name());
-
-        var query = em.createQuery(queryString.toString(), Post.class);
-
-        if (parent != null) {
-            query.setParameter("parent", parent);
-        }
+    public List<PostSummaryDto> findPostsInFolderPaginated(int page,
+                                                           int size,
+                                                           Folder parent,
+                                                           PostSortField orderBy,
+                                                           SortDirection direction) {
+        StringBuilder queryString = buildFilteredQuery(
+                SUMMARY_SELECT, parent, null, 0, null, null);
+        appendOrderBy(queryString, orderBy, direction);
+
+        var query = em.createQuery(queryString.toString(), PostSummaryDto.class);
+        bindFilters(query, parent, null, 0, null, null);
 
         return query
                 .setFirstResult((page - 1) * size)
@@ -102,130 +223,361 @@ public class PostRepositoryImpl implements PostRepository {
     }
 
     @Override
-    public List<Post> findPostsInFolderWithTagPaginated(int page,
-                                                        int size,
-                                                        String searchQuery,
-                                                        Folder parent,
-                                                        PostSortField orderBy,
-                                                        SortDirection direction,
-                                                        int tagId) {
-        StringBuilder queryString = new StringBuilder("select distinct p from Post p left join p.tags t where p.isDeleted = false");
+    public List<PostSummaryDto> findPostsInFolderWithTagPaginated(int offset,
+                                                                  int limit,
+                                                                  String searchQuery,
+                                                                  Collection<Integer> postIds,
+                                                                  Folder parent,
+                                                                  PostSortField orderBy,
+                                                                  SortDirection direction,
+                                                                  int tagId) {
+        return findPostsWithTagPaginated(offset, limit, searchQuery, postIds, parent, null, orderBy, direction, tagId);
+    }
+
+    @Override
+    public List<PostSummaryDto> findPostsInSubtreeWithTagPaginated(int offset,
+                                                                   int limit,
+                                                                   String searchQuery,
+                                                                   Collection<Integer> postIds,
+                                                                   Folder subtreeRoot,
+                                                                   PostSortField orderBy,
+                                                                   SortDirection direction,
+                                                                   int tagId) {
+        return findPostsWithTagPaginated(offset, limit, searchQuery, postIds, null, subtreeRoot, orderBy, direction, tagId);
+    }
 
-        if (parent != null) {
-            queryString.append(" and p.folder = :parent");
-        }
-        if (tagId != 0) {
-            queryString.append(" and t.id = :tagId");
-        }
-        if (searchQuery != null && !searchQuery.isBlank()) {
-            queryString.append(" and lower(p.title) like lower(:search)");
+    private List<PostSummaryDto> findPostsWithTagPaginated(int offset,
+                                                           int limit,
+                                                           String searchQuery,
+                                                           Collection<Integer> postIds,
+                                                           Folder parent,
+                                                           Folder subtreeRoot,
+                                                           PostSortField orderBy,
+                                                           SortDirection direction,
+                                                           int tagId) {
+        if (postIds != null && postIds.isEmpty()) {
+            return List.of();
         }
+        StringBuilder queryString = buildFilteredQuery(
+                SUMMARY_SELECT, parent, subtreeRoot, tagId, searchQuery, postIds);
+        appendOrderBy(queryString, orderBy, direction);
 
-        queryString.append(" order by ")
-                .append(orderBy.getJpqlField())
-                .append(' ')
-                .append(direction.name());
+        var query = em.createQuery(queryString.toString(), PostSummaryDto.class);
+        bindFilters(query, parent, subtreeRoot, tagId, searchQuery, postIds);
 
-        var query = em.createQuery(queryString.toString(), Post.class);
+        return query
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
 
-        if (tagId != 0) {
-            query.setParameter("tagId", tagId);
-        }
+    @Override
+    public List<PostSummaryDto> findPostsInFolderWithTagByCursor(int limit,
+                                                                 String searchQuery,
+                                                                 Collection<Integer> postIds,
+                                                                 Folder parent,
+                                                                 int tagId,
+                                                                 PostSortField orderBy,
+                                                                 SortDirection direction,
+                                                                 PostCursor cursor) {
+        return findPostsWithTagByCursor(limit, searchQuery, postIds, parent, null, tagId, orderBy, direction, cursor);
+    }
 
-        if (searchQuery != null && !searchQuery.isBlank()) {
-            query.setParameter("search", "%" + searchQuery.toLowerCase() + "%");
+    @Override
+    public List<PostSummaryDto> findPostsInSubtreeWithTagByCursor(int limit,
+                                                                  String searchQuery,
+                                                                  Collection<Integer> postIds,
+                                                                  Folder subtreeRoot,
+                                                                  int tagId,
+                                                                  PostSortField orderBy,
+                                                                  SortDirection direction,
+                                                                  PostCursor cursor) {
+        return findPostsWithTagByCursor(limit, searchQuery, postIds, null, subtreeRoot, tagId, orderBy, direction, cursor);
+    }
+
+    private List<PostSummaryDto> findPostsWithTagByCursor(int limit,
+                                                          String searchQuery,
+                                                          Collection<Integer> postIds,
+                                                          Folder parent,
+                                                          Folder subtreeRoot,
+                                                          int tagId,
+                                                          PostSortField orderBy,
+                                                          SortDirection direction,
+                                                          PostCursor cursor) {
+        if (postIds != null && postIds.isEmpty()) {
+            return List.of();
+        }
+        StringBuilder queryString = buildFilteredQuery(
+                SUMMARY_SELECT, parent, subtreeRoot, tagId, searchQuery, postIds);
+
+        // Walking backwards scans in the opposite order; the caller flips the rows back.
+        SortDirection scanDirection = cursor != null && cursor.backward() ? direction.reversed() : direction;
+        if (cursor != null) {
+            String comparison = scanDirection == SortDirection.ASC ? ">" : "<";
+            String sortKey = orderBy.getJpqlField();
+            queryString.append(" and (").append(sortKey).append(' ').append(comparison).append(" :cursorKey")
+                    .append(" or (").append(sortKey).append(" = :cursorKey and p.id ").append(comparison)
+                    .append(" :cursorId))");
         }
+        appendOrderBy(queryString, orderBy, scanDirection);
 
-        if (parent != null) {
-            query.setParameter("parent", parent);
+        var query = em.createQuery(queryString.toString(), PostSummaryDto.class);
+        bindFilters(query, parent, subtreeRoot, tagId, searchQuery, postIds);
+        if (cursor != null) {
+            query.setParameter("cursorKey", cursor.sortKey());
+            query.setParameter("cursorId", cursor.postId());
         }
 
         return query
-                .setFirstResult((page - 1) * size)
-                .setMaxResults(size)
+                .setMaxResults(limit)
                 .getResultList();
     }
 
     @Override
     public int countPostsInFolderWithTag(Folder parent, int tagId) {
-        StringBuilder queryString = new StringBuilder(
-                "select count(distinct p) from Post p left join p.tags t where p.isDeleted = false"
-        );
+        return countPostsInFolderWithTagAndSearch(parent, tagId, null);
+    }
 
-        if (parent != null) {
-            queryString.append(" and p.folder = :parent");
+    @Override
+    public int countPostsInFolderWithTagAndSearch(Folder parent, int tagId, String searchQuery) {
+        return countPostsWithTagAndSearch(parent, null, tagId, searchQuery);
+    }
+
+    @Override
+    public int countPostsInSubtreeWithTagAndSearch(Folder subtreeRoot, int tagId, String searchQuery) {
+        return countPostsWithTagAndSearch(null, subtreeRoot, tagId, searchQuery);
+    }
+
+    private int countPostsWithTagAndSearch(Folder parent, Folder subtreeRoot, int tagId, String searchQuery) {
+        StringBuilder queryString = buildFilteredQuery("select count(p) from Post p", parent, subtreeRoot, tagId, searchQuery, null);
+
+        var query = em.createQuery(queryString.toString(), Long.class);
+        bindFilters(query, parent, subtreeRoot, tagId, searchQuery, null);
+
+        return query.getSingleResult().intValue();
+    }
+
+    @Override
+    public int getPostsCount() {
+        return em.createQuery("select count(p) from Post p where p.isDeleted = false", Long.class)
+                .getSingleResult().intValue();
+    }
+
+    @Override
+    public Map<Integer, List<Tag>> getTagsForPosts(Collection<Integer> postIds) {
+        Map<Integer, List<Tag>> result = new HashMap<>();
+        if (postIds.isEmpty()) {
+            return result;
         }
-        if (tagId != 0) {
-            queryString.append(" and t.id = :tagId");
+        em.createQuery("""
+                        select p.id, t
+                        from Post p
+                        join p.tags t
+                        where p.id in :postIds
+                        order by t.name
+                        """, Object[].class)
+                .setParameter("postIds", postIds)
+                .getResultStream()
+                .forEach(row -> result.computeIfAbsent((Integer) row[0], id -> new ArrayList<>()).add((Tag) row[1]));
+        return result;
+    }
+
+    @Override
+    public void updateExcerpt(int postId, String excerpt) {
+        // A bulk update, so backfilling excerpts does not bump updatedAt.
+        em.createQuery("update Post p set p.excerpt = :excerpt where p.id = :postId")
+                .setParameter("excerpt", excerpt)
+                .setParameter("postId", postId)
+                .executeUpdate();
+    }
+
+    @Override
+    public boolean addLike(int postId, int userId) {
+        // Ignoring the duplicate key makes liking idempotent; the row count tells whether it was new.
+        return em.createNativeQuery("insert ignore into likes (user_id, post_id) values (:userId, :postId)")
+                .setParameter("userId", userId)
+                .setParameter("postId", postId)
+                .executeUpdate() == 1;
+    }
+
+    @Override
+    public boolean removeLike(int postId, int userId) {
+        return em.createNativeQuery("delete from likes where user_id = :userId and post_id = :postId")
+                .setParameter("userId", userId)
+                .setParameter("postId", postId)
+                .executeUpdate() == 1;
+    }
+
+    @Override
+    public int getLikesCount(int postId) {
+        return em.createQuery("select p.likesCount from Post p where p.isDeleted = false and p.id = :postId", Integer.class)
+                .setParameter("postId", postId)
+                .getResultStream()
+                .findFirst()
+                .orElseThrow(() -> new EntityNotFoundException("Post", postId));
+    }
+
+    @Override
+    public boolean isLikedBy(int postId, int userId) {
+        return ((Number) em.createNativeQuery("select count(*) from likes where user_id = :userId and post_id = :postId")
+                .setParameter("userId", userId)
+                .setParameter("postId", postId)
+                .getSingleResult()).intValue() > 0;
+    }
+
+    @Override
+    public List<UserSummaryDto> findLikers(int postId, int afterUserId, int limit) {
+        // Walks the post_id foreign key index of likes, which also carries user_id.
+        return em.createQuery("""
+                        select new com.team3.forum.models.userDtos.UserSummaryDto(u.id, u.username)
+                        from Post p
+                        join p.likedBy u
+                        where p.id = :postId and u.id > :afterUserId
+                        order by u.id
+                        """, UserSummaryDto.class)
+                .setParameter("postId", postId)
+                .setParameter("afterUserId", afterUserId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public int updateLikesCount(int postId, int delta) {
+        // last_insert_id(expr) hands the new value back on this connection, so reading it touches no table.
+        int updated = em.createNativeQuery("""
+                        update posts
+                        set likes_count = last_insert_id(greatest(likes_count + :delta, 0))
+                        where post_id = :postId and is_deleted = false""")
+                .setParameter("delta", delta)
+                .setParameter("postId", postId)
+                .executeUpdate();
+        if (updated == 0) {
+            throw new EntityNotFoundException("Post", postId);
         }
+        return ((Number) em.createNativeQuery("select last_insert_id()").getSingleResult()).intValue();
+    }
 
-        var query = em.createQuery(queryString.toString(), Long.class);
+    @Override
+    public void updateCommentsCount(int postId, int delta) {
+        updateCounter("comments_count", postId, delta);
+    }
 
-        if (parent != null) {
-            query.setParameter("parent", parent);
+    @Override
+    public void refreshViewsCount(Collection<Integer> postIds) {
+        if (postIds.isEmpty()) {
+            return;
         }
-        if (tagId != 0) {
-            query.setParameter("tagId", tagId);
+        em.createNativeQuery("""
+                        update posts p
+                        set views_count = (select count(*) from posts_users_views v where v.post_id = p.post_id)
+                        where p.post_id in (:postIds)
+                        """)
+                .setParameter("postIds", postIds)
+                .executeUpdate();
+    }
+
+    @Override
+    public void refreshCommentsCount(Collection<Integer> postIds) {
+        if (postIds.isEmpty()) {
+            return;
         }
+        em.createNativeQuery("""
+                        update posts p
+                        set comments_count = (select count(*) from comments c
+                                              where c.post_id = p.post_id and c.is_deleted = false)
+                        where p.post_id in (:postIds)
+                        """)
+                .setParameter("postIds", postIds)
+                .executeUpdate();
+    }
 
-        return query.getSingleResult().intValue();
+    @Override
+    public int reconcileCounters(int fromId, int toId) {
+        return em.createNativeQuery("""
+                        update posts p
+                        set likes_count = (select count(*) from likes l where l.post_id = p.post_id),
+                            comments_count = (select count(*) from comments c
+                                              where c.post_id = p.post_id and c.is_deleted = false),
+                            views_count = (select count(*) from posts_users_views v where v.post_id = p.post_id)
+                        where p.post_id between :fromId and :toId
+                        """)
+                .setParameter("fromId", fromId)
+                .setParameter("toId", toId)
+                .executeUpdate();
     }
 
     @Override
-    public int countPostsInFolderWithTagAndSearch(Folder parent, int tagId, String searchQuery) {
-        StringBuilder queryString = new StringBuilder(
-                "select count(distinct p) from Post p left join p.tags t where p.isDeleted = false"
-        );
+    public int getMaxPostId() {
+        return em.createQuery("select coalesce(max(p.id), 0) from Post p", Integer.class)
+                .getSingleResult();
+    }
+
+    private void updateCounter(String column, int postId, int delta) {
+        em.createNativeQuery("update posts set " + column + " = greatest(" + column + " + :delta, 0) where post_id = :postId")
+                .setParameter("delta", delta)
+                .setParameter("postId", postId)
+                .executeUpdate();
+    }
 
+    private StringBuilder buildFilteredQuery(String select,
+                                             Folder parent,
+                                             Folder subtreeRoot,
+                                             int tagId,
+                                             String searchQuery,
+                                             Collection<Integer> postIds) {
+        StringBuilder queryString = new StringBuilder(select);
+        // The closure holds one row per ancestor of a folder, so joining on the root keeps posts unique
+        // and walks the (ancestor_id, descendant_id) key instead of binding the subtree's folder ids.
+        if (subtreeRoot != null) {
+            queryString.append(" join FolderClosure fc on fc.descendantId = p.folder.id");
+        }
+        // A post carries each tag at most once, so an inner join needs no distinct.
+        if (tagId != 0) {
+            queryString.append(" join p.tags t");
+        }
+        queryString.append(" where p.isDeleted = false");
         if (parent != null) {
             queryString.append(" and p.folder = :parent");
         }
+        if (subtreeRoot != null) {
+            queryString.append(" and fc.ancestorId = :subtreeRootId");
+        }
         if (tagId != 0) {
             queryString.append(" and t.id = :tagId");
         }
         if (searchQuery != null && !searchQuery.isBlank()) {
             queryString.append(" and lower(p.title) like lower(:search)");
         }
+        if (postIds != null) {
+            queryString.append(" and p.id in :postIds");
+        }
+        return queryString;
+    }
 
-        var query = em.createQuery(queryString.toString(), Long.class);
-
+    private void bindFilters(Query query, Folder parent, Folder subtreeRoot, int tagId, String searchQuery, Collection<Integer> postIds) {
         if (parent != null) {
             query.setParameter("parent", parent);
         }
+        if (subtreeRoot != null) {
+            query.setParameter("subtreeRootId", subtreeRoot.getId());
+        }
         if (tagId != 0) {
             query.setParameter("tagId", tagId);
         }
         if (searchQuery != null && !searchQuery.isBlank()) {
             query.setParameter("search", "%" + searchQuery.toLowerCase() + "%");
         }
-
-        return query.getSingleResult().intValue();
-    }
-
-    @Override
-    public List<Post> findAllSortedByViewsLastDays(int limit, int days) {
-        LocalDate since = LocalDate.now().minusDays(days);
-
-        String query = """
-                select p
-                from Post p
-                left join PostView pv
-                    on pv.post = p
-                    and pv.viewDate >= :since
-                where p.isDeleted = false
-                group by p
-                order by count(pv) desc
-                """;
-
-        return em.createQuery(query, Post.class)
-                .setParameter("since", since)
-                .setMaxResults(limit)
-                .getResultList();
+        if (postIds != null) {
+            query.setParameter("postIds", postIds);
+        }
     }
 
-    @Override
-    public int getPostsCount() {
-        return em.createQuery("select count(p) from Post p where p.isDeleted = false", Long.class)
-                .getSingleResult().intValue();
+    private void appendOrderBy(StringBuilder queryString, PostSortField orderBy, SortDirection direction) {
+        queryString.append(" order by ")
+                .append(orderBy.getJpqlField())
+                .append(' ')
+                .append(direction.name())
+                .append(", p.id ")
+                .append(direction.name());
     }
 }
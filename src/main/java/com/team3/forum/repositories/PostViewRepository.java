@@ -1,11 +1,18 @@
 package com.team3.forum.repositories;
 
+import com.team3.forum.models.PostViewDaily;
+import com.team3.forum.models.postDtos.DailyPostViewDto;
+
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 
 public interface PostViewRepository {
-    void registerView(int postId, int userId);
+    int insertIgnore(List<DailyPostViewDto> views);
 
     long getTotalViewsForPost(int postId);
 
-    boolean existsForDate(int postId, int userId, LocalDate viewDate);
+    void refreshDailyViews(Collection<Integer> postIds, LocalDate viewDate);
+
+    List<PostViewDaily> findDailyViewsSince(LocalDate since);
 }
@@ -1,13 +1,14 @@
 package com.team3.forum.repositories;
 
-import com.team3.forum.models.Post;
-import com.team3.forum.models.PostView;
-import com.team3.forum.models.User;
+import com.team3.forum.models.PostViewDaily;
+import com.team3.forum.models.postDtos.DailyPostViewDto;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
 public class PostViewRepositoryImpl implements PostViewRepository {
@@ -16,17 +17,26 @@ public class PostViewRepositoryImpl implements PostViewRepository {
     EntityManager em;
 
     @Override
-    public void registerView(int postId, int userId) {
-        Post postRef = em.getReference(Post.class, postId);
-        User userRef = em.getReference(User.class, userId);
+    public int insertIgnore(List<DailyPostViewDto> views) {
+        if (views.isEmpty()) {
+            return 0;
+        }
+        StringBuilder sql = new StringBuilder("INSERT IGNORE INTO posts_users_views (post_id, user_id, view_date) VALUES ");
+        for (int i = 0; i < views.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(:post").append(i).append(", :user").append(i).append(", :date").append(i).append(')');
+        }
 
-        PostView view = PostView
-                .builder()
-                .post(postRef)
-                .user(userRef)
-                .build();
-
-        em.persist(view);
+        var query = em.createNativeQuery(sql.toString());
+        for (int i = 0; i < views.size(); i++) {
+            DailyPostViewDto view = views.get(i);
+            query.setParameter("post" + i, view.postId());
+            query.setParameter("user" + i, view.userId());
+            query.setParameter("date" + i, view.viewDate());
+        }
+        return query.executeUpdate();
     }
 
     @Override
@@ -42,16 +52,33 @@ public class PostViewRepositoryImpl implements PostViewRepository {
     }
 
     @Override
-    public boolean existsForDate(int postId, int userId, LocalDate viewDate) {
-        return em.createQuery("""
-                        select count(pv) from PostView pv
-                            where pv.post.id = :postId
-                            and pv.user.id = :userId
-                            and pv.viewDate = :viewDate
-                        """, Long.class)
-                .setParameter("postId", postId)
-                .setParameter("userId", userId)
+    public void refreshDailyViews(Collection<Integer> postIds, LocalDate viewDate) {
+        if (postIds.isEmpty()) {
+            return;
+        }
+        em.createNativeQuery("""
+                        INSERT INTO post_view_daily (post_id, view_date, views)
+                        SELECT post_id, view_date, COUNT(*)
+                        FROM posts_users_views
+                        WHERE view_date = :viewDate
+                        AND post_id IN (:postIds)
+                        GROUP BY post_id, view_date
+                        ON DUPLICATE KEY UPDATE views = VALUES(views)
+                        """)
                 .setParameter("viewDate", viewDate)
-                .getSingleResult() > 0;
+                .setParameter("postIds", postIds)
+                .executeUpdate();
+    }
+
+    @Override
+    public List<PostViewDaily> findDailyViewsSince(LocalDate since) {
+        return em.createQuery("""
+                        SELECT d
+                        FROM PostViewDaily d
+                        WHERE d.viewDate >= :since
+                        AND d.postId IN (SELECT p.id FROM Post p WHERE p.isDeleted = false)
+                        """, PostViewDaily.class)
+                .setParameter("since", since)
+                .getResultList();
     }
 }
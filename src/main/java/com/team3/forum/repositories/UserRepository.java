@@ -19,6 +19,8 @@ public interface UserRepository {
 
     User findByUsername(String username);
 
+    void updatePassword(int id, String password);
+
     boolean existsByEmail(String email);
 
     User findByEmail(String email);
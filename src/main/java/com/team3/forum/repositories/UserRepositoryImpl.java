@@ -83,6 +83,14 @@ public class UserRepositoryImpl implements UserRepository {
         }
     }
 
+    @Override
+    public void updatePassword(int id, String password) {
+        em.createQuery("update User u set u.password = :password where u.id = :id")
+                .setParameter("password", password)
+                .setParameter("id", id)
+                .executeUpdate();
+    }
+
     @Override
     public boolean existsByEmail(String email) {
         Long count = em.createQuery(
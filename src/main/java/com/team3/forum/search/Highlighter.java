@@ -0,0 +1,73 @@
+package com.team3.forum.search;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.List;
+
+/**
+ * Produces HTML-escaped excerpts with query matches wrapped in {@code <mark>}.
+ */
+public class Highlighter {
+    private static final String ELLIPSIS = "…";
+
+    public static String highlight(String text, SearchQuery query, int maxLength) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        List<TextAnalyzer.Token> matches = TextAnalyzer.tokenize(text).stream()
+                .filter(token -> query.clauses().stream().anyMatch(clause -> clause.matches(token.term())))
+                .toList();
+
+        int start = 0;
+        int end = text.length();
+        if (end > maxLength) {
+            // Open the window a little before the first match so that it reads in context.
+            if (!matches.isEmpty()) {
+                int firstMatch = matches.get(0).start();
+                start = wordStart(text, Math.max(0, firstMatch - maxLength / 4), firstMatch);
+            }
+            end = wordEnd(text, Math.min(text.length(), start + maxLength), start);
+        }
+
+        StringBuilder result = new StringBuilder();
+        if (start > 0) {
+            result.append(ELLIPSIS);
+        }
+        int cursor = start;
+        for (TextAnalyzer.Token match : matches) {
+            if (match.start() < cursor || match.end() > end) {
+                continue;
+            }
+            result.append(escape(text.substring(cursor, match.start())))
+                    .append("<mark>")
+                    .append(escape(text.substring(match.start(), match.end())))
+                    .append("</mark>");
+            cursor = match.end();
+        }
+        result.append(escape(text.substring(cursor, end)));
+        if (end < text.length()) {
+            result.append(ELLIPSIS);
+        }
+        return result.toString();
+    }
+
+    private static int wordStart(String text, int index, int limit) {
+        if (index == 0) {
+            return 0;
+        }
+        int space = text.indexOf(' ', index);
+        return space < 0 || space >= limit ? index : space + 1;
+    }
+
+    private static int wordEnd(String text, int index, int limit) {
+        if (index >= text.length()) {
+            return text.length();
+        }
+        int space = text.lastIndexOf(' ', index);
+        return space <= limit ? index : space;
+    }
+
+    private static String escape(String text) {
+        return HtmlUtils.htmlEscape(text.replaceAll("\\s+", " "));
+    }
+}
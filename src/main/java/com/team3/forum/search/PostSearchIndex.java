@@ -0,0 +1,299 @@
+package com.team3.forum.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over post titles, tag names and content, ranked with BM25.
+ * <p>
+ * Fields share one position space, separated by gaps so that phrases never span two fields, and a
+ * term's frequency is weighted by the field it occurs in. Reads run concurrently; writes take an
+ * exclusive lock, but the tokenizing happens before the lock is taken.
+ */
+public class PostSearchIndex {
+    static final float TITLE_WEIGHT = 3f;
+    static final float TAG_WEIGHT = 2f;
+    static final float CONTENT_WEIGHT = 1f;
+    /**
+     * A prefix clause matches at most this many distinct terms: those found in the most posts, ties
+     * broken alphabetically. Only the rarest completions of a very short prefix are left out.
+     */
+    static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private static final int FIELD_GAP = 100;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Map<Integer, Posting>> postings = new TreeMap<>();
+    private final Map<Integer, IndexedDocument> documents = new HashMap<>();
+    private double totalLength;
+
+    public void add(SearchDocument document) {
+        Map<String, Posting> terms = analyze(document);
+        float length = 0;
+        for (Posting posting : terms.values()) {
+            length += posting.frequency();
+        }
+        IndexedDocument indexed = new IndexedDocument(document, length, terms.keySet());
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(document.postId());
+            documents.put(document.postId(), indexed);
+            totalLength += length;
+            terms.forEach((term, posting) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(document.postId(), posting));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int postId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public SearchDocument getDocument(int postId) {
+        lock.readLock().lock();
+        try {
+            IndexedDocument indexed = documents.get(postId);
+            return indexed == null ? null : indexed.source();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param folderIds folders to search in, or null for all of them
+     * @param tagId     tag the posts must carry, or 0 for any
+     * @param limit     maximum number of hits to return; the total is counted regardless
+     */
+    public SearchResult search(SearchQuery query, Set<Integer> folderIds, int tagId, int limit) {
+        if (query.isEmpty()) {
+            return SearchResult.empty();
+        }
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty()) {
+                return SearchResult.empty();
+            }
+            double averageLength = totalLength / documents.size();
+
+            // Rare clauses first keep the candidate set small for the ones that follow.
+            List<SearchQuery.Clause> clauses = new ArrayList<>(query.clauses());
+            clauses.sort(Comparator.comparingInt(this::estimateMatches));
+
+            Map<Integer, Double> scores = null;
+            for (SearchQuery.Clause clause : clauses) {
+                Map<Integer, Double> clauseScores = evaluate(clause, scores, averageLength);
+                if (scores == null) {
+                    clauseScores.keySet().removeIf(postId -> !accepts(documents.get(postId), folderIds, tagId));
+                } else {
+                    Map<Integer, Double> previous = scores;
+                    clauseScores.replaceAll((postId, score) -> score + previous.get(postId));
+                }
+                scores = clauseScores;
+                if (scores.isEmpty()) {
+                    return SearchResult.empty();
+                }
+            }
+
+            List<SearchHit> hits = scores.entrySet().stream()
+                    .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.<Integer, Double>comparingByKey().reversed()))
+                    .limit(limit)
+                    .map(entry -> new SearchHit(entry.getKey(), entry.getValue()))
+                    .toList();
+            return new SearchResult(hits, scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Integer, Double> evaluate(SearchQuery.Clause clause, Map<Integer, Double> candidates, double averageLength) {
+        if (clause.isPhrase()) {
+            return evaluatePhrase(clause.terms(), candidates, averageLength);
+        }
+        Map<Integer, Double> scores = new HashMap<>();
+        for (Map.Entry<String, Map<Integer, Posting>> entry : expand(clause)) {
+            Map<Integer, Posting> termPostings = entry.getValue();
+            for (Map.Entry<Integer, Posting> posting : termPostings.entrySet()) {
+                int postId = posting.getKey();
+                if (candidates != null && !candidates.containsKey(postId)) {
+                    continue;
+                }
+                double score = score(posting.getValue(), termPostings.size(), postId, averageLength);
+                // Prefix expansions of the same clause count once, by their best match.
+                scores.merge(postId, score, Math::max);
+            }
+        }
+        return scores;
+    }
+
+    private Map<Integer, Double> evaluatePhrase(List<String> terms, Map<Integer, Double> candidates, double averageLength) {
+        List<Map<Integer, Posting>> termPostings = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            Map<Integer, Posting> found = postings.get(term);
+            if (found == null) {
+                return new HashMap<>();
+            }
+            termPostings.add(found);
+        }
+        Map<Integer, Posting> rarest = termPostings.stream().min(Comparator.comparingInt(Map::size)).orElseThrow();
+
+        Map<Integer, Double> scores = new HashMap<>();
+        for (int postId : rarest.keySet()) {
+            if (candidates != null && !candidates.containsKey(postId)) {
+                continue;
+            }
+            List<Posting> docPostings = new ArrayList<>(terms.size());
+            for (Map<Integer, Posting> found : termPostings) {
+                Posting posting = found.get(postId);
+                if (posting == null) {
+                    break;
+                }
+                docPostings.add(posting);
+            }
+            if (docPostings.size() == terms.size() && containsPhrase(docPostings)) {
+                double score = 0;
+                for (int i = 0; i < docPostings.size(); i++) {
+                    score += score(docPostings.get(i), termPostings.get(i).size(), postId, averageLength);
+                }
+                scores.put(postId, score);
+            }
+        }
+        return scores;
+    }
+
+    private static boolean containsPhrase(List<Posting> docPostings) {
+        for (int start : docPostings.get(0).positions()) {
+            boolean matches = true;
+            for (int offset = 1; offset < docPostings.size() && matches; offset++) {
+                matches = Arrays.binarySearch(docPostings.get(offset).positions(), start + offset) >= 0;
+            }
+            if (matches) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Collection<Map.Entry<String, Map<Integer, Posting>>> expand(SearchQuery.Clause clause) {
+        String term = clause.terms().get(0);
+        if (!clause.prefix()) {
+            Map<Integer, Posting> found = postings.get(term);
+            return found == null ? List.of() : List.of(Map.entry(term, found));
+        }
+        Collection<Map.Entry<String, Map<Integer, Posting>>> expansions =
+                postings.subMap(term, true, term + Character.MAX_VALUE, true).entrySet();
+        if (expansions.size() <= MAX_PREFIX_EXPANSIONS) {
+            return expansions;
+        }
+        // The sort is stable, so terms found in equally many posts keep their alphabetical order.
+        return expansions.stream()
+                .sorted(Comparator.comparingInt((Map.Entry<String, Map<Integer, Posting>> entry) -> entry.getValue().size())
+                        .reversed())
+                .limit(MAX_PREFIX_EXPANSIONS)
+                .toList();
+    }
+
+    private int estimateMatches(SearchQuery.Clause clause) {
+        if (clause.prefix()) {
+            return Integer.MAX_VALUE;
+        }
+        return clause.terms().stream()
+                .mapToInt(term -> postings.getOrDefault(term, Map.of()).size())
+                .min()
+                .orElse(0);
+    }
+
+    private double score(Posting posting, int documentFrequency, int postId, double averageLength) {
+        int documentCount = documents.size();
+        double idf = Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        double length = documents.get(postId).length();
+        double frequency = posting.frequency();
+        return idf * frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+    }
+
+    private static boolean accepts(IndexedDocument document, Set<Integer> folderIds, int tagId) {
+        SearchDocument source = document.source();
+        return (folderIds == null || folderIds.contains(source.folderId()))
+                && (tagId == 0 || source.tagIds().contains(tagId));
+    }
+
+    private void removeLocked(int postId) {
+        IndexedDocument existing = documents.remove(postId);
+        if (existing == null) {
+            return;
+        }
+        totalLength -= existing.length();
+        for (String term : existing.terms()) {
+            Map<Integer, Posting> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(postId);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static Map<String, Posting> analyze(SearchDocument document) {
+        Map<String, PostingBuilder> builders = new HashMap<>();
+        int position = addField(builders, document.title(), TITLE_WEIGHT, 0);
+        for (String tagName : document.tagNames()) {
+            position = addField(builders, tagName, TAG_WEIGHT, position + FIELD_GAP);
+        }
+        addField(builders, document.content(), CONTENT_WEIGHT, position + FIELD_GAP);
+
+        Map<String, Posting> terms = new HashMap<>(builders.size());
+        builders.forEach((term, builder) -> terms.put(term, builder.build()));
+        return terms;
+    }
+
+    private static int addField(Map<String, PostingBuilder> builders, String text, float weight, int position) {
+        for (TextAnalyzer.Token token : TextAnalyzer.tokenize(text)) {
+            builders.computeIfAbsent(token.term(), term -> new PostingBuilder()).add(position++, weight);
+        }
+        return position;
+    }
+
+    private record Posting(float frequency, int[] positions) {
+    }
+
+    private record IndexedDocument(SearchDocument source, float length, Set<String> terms) {
+    }
+
+    private static class PostingBuilder {
+        private float frequency;
+        private int[] positions = new int[4];
+        private int count;
+
+        void add(int position, float weight) {
+            if (count == positions.length) {
+                positions = Arrays.copyOf(positions, count * 2);
+            }
+            positions[count++] = position;
+            frequency += weight;
+        }
+
+        Posting build() {
+            return new Posting(frequency, Arrays.copyOf(positions, count));
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.team3.forum.search;
+
+import java.util.List;
+import java.util.Set;
+
+public record SearchDocument(int postId,
+                             int folderId,
+                             Set<Integer> tagIds,
+                             String title,
+                             String content,
+                             List<String> tagNames) {
+}
@@ -0,0 +1,4 @@
+package com.team3.forum.search;
+
+public record SearchHit(int postId, double score) {
+}
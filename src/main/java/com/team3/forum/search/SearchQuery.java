@@ -0,0 +1,71 @@
+package com.team3.forum.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parsed search query. Every clause must match: bare words match the term, {@code word*} matches
+ * terms starting with it and {@code "quoted words"} must appear next to each other in one field.
+ */
+public record SearchQuery(List<Clause> clauses) {
+    static final int MIN_PREFIX_LENGTH = 2;
+
+    public static SearchQuery parse(String raw) {
+        Set<Clause> clauses = new LinkedHashSet<>();
+        if (raw == null) {
+            return new SearchQuery(List.of());
+        }
+        int i = 0;
+        int length = raw.length();
+        while (i < length) {
+            char c = raw.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '"') {
+                int end = raw.indexOf('"', i + 1);
+                if (end < 0) {
+                    end = length;
+                }
+                addClause(clauses, TextAnalyzer.terms(raw.substring(i + 1, end)), false);
+                i = end + 1;
+            } else {
+                int end = i;
+                while (end < length && !Character.isWhitespace(raw.charAt(end)) && raw.charAt(end) != '"') {
+                    end++;
+                }
+                String word = raw.substring(i, end);
+                List<String> terms = TextAnalyzer.terms(word);
+                boolean prefix = word.endsWith("*") && terms.size() == 1 && terms.get(0).length() >= MIN_PREFIX_LENGTH;
+                addClause(clauses, terms, prefix);
+                i = end;
+            }
+        }
+        return new SearchQuery(List.copyOf(clauses));
+    }
+
+    public boolean isEmpty() {
+        return clauses.isEmpty();
+    }
+
+    private static void addClause(Set<Clause> clauses, List<String> terms, boolean prefix) {
+        if (!terms.isEmpty()) {
+            clauses.add(new Clause(new ArrayList<>(terms), prefix));
+        }
+    }
+
+    public record Clause(List<String> terms, boolean prefix) {
+
+        public boolean isPhrase() {
+            return terms.size() > 1;
+        }
+
+        boolean matches(String term) {
+            if (prefix) {
+                return term.startsWith(terms.get(0));
+            }
+            return terms.contains(term);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.team3.forum.search;
+
+import java.util.List;
+
+public record SearchResult(List<SearchHit> hits, int totalHits) {
+
+    public static SearchResult empty() {
+        return new SearchResult(List.of(), 0);
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -17,7 +18,7 @@ import java.util.Collection;
 import java.util.List;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -28,7 +29,7 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     @Override
     @Transactional
-    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+    public CustomUserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user;
         try {
             user = userRepository.findByUsername(username);
@@ -54,6 +55,29 @@ public class CustomUserDetailsService implements UserDetailsService {
         );
     }
 
+    /**
+     * Stores a rehashed password after a successful login, when the stored hash uses an outdated
+     * encoding or work factor.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        CustomUserDetails details = (CustomUserDetails) user;
+        userRepository.updatePassword(details.getId(), newPassword);
+        return new CustomUserDetails(
+                details.getUsername(),
+                newPassword,
+                details.isEnabled(),
+                details.isAccountNonExpired(),
+                details.isCredentialsNonExpired(),
+                details.isAccountNonLocked(),
+                details.getAuthorities(),
+                details.getId(),
+                details.getEmail(),
+                details.getRole()
+        );
+    }
+
     private Collection<? extends GrantedAuthority> getAuthorities(User user) {
         List<GrantedAuthority> authorities = new ArrayList<>();
 
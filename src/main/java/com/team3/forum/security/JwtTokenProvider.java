@@ -2,6 +2,8 @@ package com.team3.forum.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -9,16 +11,47 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Issues and verifies the signed tokens behind both the API and the cookie login. Tokens that
+ * verified recently are remembered by digest until they expire, so a client sending the same token
+ * on every request pays for the signature check once.
+ */
+@Slf4j
 @Component
 public class JwtTokenProvider {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private final String jwtSecret;
+    private final long jwtExpirationMs;
+    private final int maxVerifiedTokens;
+    private final Clock clock;
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
 
-    @Value("${jwt.expiration}")
-    private long jwtExpirationMs;
+    private volatile Signing signing;
+
+    @Autowired
+    public JwtTokenProvider(@Value("${jwt.secret}") String jwtSecret,
+                            @Value("${jwt.expiration}") long jwtExpirationMs,
+                            @Value("${forum.security.token-cache.max-entries:10000}") int maxVerifiedTokens) {
+        this(jwtSecret, jwtExpirationMs, maxVerifiedTokens, Clock.systemUTC());
+    }
+
+    JwtTokenProvider(String jwtSecret, long jwtExpirationMs, int maxVerifiedTokens, Clock clock) {
+        this.jwtSecret = jwtSecret;
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.maxVerifiedTokens = maxVerifiedTokens;
+        this.clock = clock;
+    }
 
     public String generateToken(Authentication authentication) {
         UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
@@ -26,48 +59,96 @@ public class JwtTokenProvider {
     }
 
     public String generateTokenFromUsername(String username) {
-        Date now = new Date();
+        Date now = Date.from(clock.instant());
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
         return Jwts.builder()
                 .subject(username)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signing().key())
                 .compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Returns the claims of a token with a valid signature that has not expired, or empty for any other token.
+     */
+    public Optional<Claims> verifyToken(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        Instant now = clock.instant();
+        String digest = digest(token);
+        VerifiedToken cached = verifiedTokens.get(digest);
+        if (cached != null) {
+            if (cached.expiresAt().isAfter(now)) {
+                return Optional.of(cached.claims());
+            }
+            verifiedTokens.remove(digest, cached);
+        }
+
+        Claims claims;
+        try {
+            claims = signing().parser().parseSignedClaims(token).getPayload();
+        } catch (ExpiredJwtException e) {
+            log.debug("JWT token is expired: {}", e.getMessage());
+            return Optional.empty();
+        } catch (JwtException | IllegalArgumentException e) {
+            log.warn("Rejected JWT token: {}", e.getMessage());
+            return Optional.empty();
+        }
 
-        return claims.getSubject();
+        // Tokens without an expiry are still accepted, but never remembered.
+        if (claims.getExpiration() != null) {
+            makeRoom(now);
+            verifiedTokens.put(digest, new VerifiedToken(claims, claims.getExpiration().toInstant()));
+        }
+        return Optional.of(claims);
     }
 
-    public boolean validateToken(String token) {
+    int getVerifiedTokenCount() {
+        return verifiedTokens.size();
+    }
+
+    private void makeRoom(Instant now) {
+        if (verifiedTokens.size() < maxVerifiedTokens) {
+            return;
+        }
+        verifiedTokens.values().removeIf(entry -> !entry.expiresAt().isAfter(now));
+        Iterator<String> keys = verifiedTokens.keySet().iterator();
+        while (verifiedTokens.size() >= maxVerifiedTokens && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private Signing signing() {
+        Signing current = signing;
+        if (current == null) {
+            // Built on first use rather than at startup, so a weak secret only fails token operations.
+            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+            JwtParser parser = Jwts.parser()
+                    .verifyWith(key)
+                    .clock(() -> Date.from(clock.instant()))
+                    .build();
+            current = new Signing(key, parser);
+            signing = current;
+        }
+        return current;
+    }
+
+    private static String digest(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (MalformedJwtException e) {
-            System.err.println("Invalid JWT token: " + e.getMessage());
-        } catch (ExpiredJwtException e) {
-            System.err.println("JWT token is expired: " + e.getMessage());
-        } catch (UnsupportedJwtException e) {
-            System.err.println("JWT token is unsupported: " + e.getMessage());
-        } catch (IllegalArgumentException e) {
-            System.err.println("JWT claims string is empty: " + e.getMessage());
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
-        return false;
     }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private record Signing(SecretKey key, JwtParser parser) {
+    }
+
+    private record VerifiedToken(Claims claims, Instant expiresAt) {
     }
 }
@@ -0,0 +1,106 @@
+package com.team3.forum.security;
+
+import com.team3.forum.models.adminDtos.CacheStatsDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Principals of recently authenticated users by username, so that a request carrying a valid token
+ * costs a map lookup instead of a users query. Entries expire after a TTL; changes to a user's role,
+ * lock or deletion state evict them right away through {@link #evict(int)}.
+ */
+@Component
+public class UserDetailsCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Clock clock;
+
+    @Autowired
+    public UserDetailsCache(@Value("${forum.security.user-cache.ttl-seconds:60}") long ttlSeconds,
+                            @Value("${forum.security.user-cache.max-entries:10000}") int maxEntries) {
+        this(Duration.ofSeconds(ttlSeconds), maxEntries, Clock.systemUTC());
+    }
+
+    UserDetailsCache(Duration ttl, int maxEntries, Clock clock) {
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    public CustomUserDetails get(String username, Function<String, CustomUserDetails> loader) {
+        Instant now = clock.instant();
+        Entry cached = entries.get(username);
+        if (cached != null && cached.expiresAt().isAfter(now)) {
+            hits.increment();
+            return cached.details();
+        }
+        misses.increment();
+
+        long seen = generation.get();
+        CustomUserDetails details = loader.apply(username);
+        // An eviction that raced with the load may not be reflected in the details, so do not keep them.
+        if (generation.get() == seen) {
+            makeRoom(now);
+            entries.put(username, new Entry(details, now.plus(ttl)));
+        }
+        return details;
+    }
+
+    public void evict(int userId) {
+        generation.incrementAndGet();
+        entries.values().removeIf(entry -> entry.details().getId() == userId);
+    }
+
+    public void evictAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    public CacheStatsDto getCacheStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        return CacheStatsDto.builder()
+                .name("user-details")
+                .hits(hitCount)
+                .misses(missCount)
+                .evictions(evictions.sum())
+                .entries(entries.size())
+                .hitRate(hitCount + missCount == 0 ? 0 : (double) hitCount / (hitCount + missCount))
+                .build();
+    }
+
+    private void makeRoom(Instant now) {
+        if (entries.size() < maxEntries) {
+            return;
+        }
+        int before = entries.size();
+        entries.values().removeIf(entry -> !entry.expiresAt().isAfter(now));
+        // Still full of live entries: drop arbitrary ones rather than track recency on every hit.
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() >= maxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+        evictions.add(Math.max(0, before - entries.size()));
+    }
+
+    private record Entry(CustomUserDetails details, Instant expiresAt) {
+    }
+}
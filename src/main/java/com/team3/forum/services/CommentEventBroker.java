@@ -0,0 +1,321 @@
+package com.team3.forum.services;
+
+import com.team3.forum.models.commentDtos.CommentEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-process pub/sub for comment changes, with one channel per post. Every subscriber gets a
+ * bounded queue that a small sender pool drains into its {@link SseEmitter}; a subscriber whose
+ * queue overflows is disconnected, so a slow client never holds up publishing. A write that is
+ * still blocked after the send timeout gets its subscriber disconnected by
+ * {@link #expireStalledSends()}, which completes the emitter from the scheduler rather than from
+ * the sender pool that the stalled writes occupy. Each channel keeps its latest events so that a
+ * reconnecting client can resume from its Last-Event-ID.
+ * <p>
+ * All changes to a channel, including the allocation of event ids, happen inside
+ * {@link ConcurrentHashMap#compute} for its post, which keeps publishing, subscribing and eviction
+ * of idle channels from interleaving. Emitters are only completed once that compute has returned.
+ */
+@Slf4j
+@Component
+public class CommentEventBroker {
+
+    public static final String RESET_EVENT = "reset";
+
+    private final Map<Integer, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Executor sender;
+    private final Clock clock;
+    private final long timeoutMs;
+    private final int bufferSize;
+    private final int replaySize;
+    private final long retentionMs;
+    private final long sendTimeoutMs;
+
+    @Autowired
+    public CommentEventBroker(@Value("${forum.comments.stream.timeout-ms:1800000}") long timeoutMs,
+                              @Value("${forum.comments.stream.buffer-size:64}") int bufferSize,
+                              @Value("${forum.comments.stream.replay-size:200}") int replaySize,
+                              @Value("${forum.comments.stream.retention-ms:120000}") long retentionMs,
+                              @Value("${forum.comments.stream.send-timeout-ms:10000}") long sendTimeoutMs,
+                              @Value("${forum.comments.stream.sender-threads:4}") int senderThreads) {
+        this(timeoutMs, bufferSize, replaySize, retentionMs, sendTimeoutMs, Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "comment-stream-sender");
+            thread.setDaemon(true);
+            return thread;
+        }), Clock.systemUTC());
+    }
+
+    CommentEventBroker(long timeoutMs, int bufferSize, int replaySize, long retentionMs, long sendTimeoutMs,
+                       Executor sender, Clock clock) {
+        this.timeoutMs = timeoutMs;
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.retentionMs = retentionMs;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.sender = sender;
+        this.clock = clock;
+    }
+
+    /**
+     * Opens a stream of the comment events of a post. With a lastEventId the retained events after
+     * it are sent first; when some of them are no longer retained the client gets a reset event
+     * and should reload the comments instead.
+     */
+    public SseEmitter subscribe(int postId, String lastEventId) {
+        SseEmitter emitter = newEmitter();
+        Subscriber subscriber = new Subscriber(postId, emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+
+        Long resumeAfter = parseEventId(lastEventId);
+        channels.compute(postId, (id, channel) -> {
+            if (channel == null) {
+                channel = new Channel(sequence.get());
+            }
+            if (resumeAfter != null) {
+                channel.replay(subscriber, resumeAfter);
+            }
+            if (!subscriber.closed.get()) {
+                channel.subscribers.add(subscriber);
+            }
+            return channel;
+        });
+        if (subscriber.closed.get()) {
+            subscriber.disconnect();
+        }
+        return emitter;
+    }
+
+    public void publish(CommentEvent event) {
+        List<Subscriber> dropped = new ArrayList<>();
+        channels.computeIfPresent(event.postId(), (postId, channel) -> {
+            // Taking the id inside the compute keeps each channel's events in id order.
+            channel.publish(new Published(sequence.incrementAndGet(), event), dropped);
+            return channel;
+        });
+        dropped.forEach(Subscriber::disconnect);
+    }
+
+    @Scheduled(fixedDelayString = "${forum.comments.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        long now = clock.millis();
+        List<Subscriber> dropped = new ArrayList<>();
+        for (Integer postId : channels.keySet()) {
+            channels.computeIfPresent(postId, (id, channel) -> {
+                channel.offerAll(() -> SseEmitter.event().comment("ping"), dropped);
+                return channel.subscribers.isEmpty() && now - channel.lastActivity > retentionMs ? null : channel;
+            });
+        }
+        dropped.forEach(Subscriber::disconnect);
+    }
+
+    @Scheduled(fixedDelayString = "${forum.comments.stream.send-check-ms:1000}")
+    public void expireStalledSends() {
+        long startedBefore = clock.millis() - sendTimeoutMs;
+        List<Subscriber> stalled = new ArrayList<>();
+        for (Integer postId : channels.keySet()) {
+            channels.computeIfPresent(postId, (id, channel) -> {
+                channel.subscribers.removeIf(subscriber -> subscriber.isSendingSince(startedBefore) && stalled.add(subscriber));
+                return channel;
+            });
+        }
+        for (Subscriber subscriber : stalled) {
+            log.debug("Dropping comment stream subscriber of post {}: send blocked for over {} ms",
+                    subscriber.postId, sendTimeoutMs);
+            subscriber.disconnect();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        channels.values().forEach(channel -> List.copyOf(channel.subscribers).forEach(subscriber -> subscriber.emitter.complete()));
+        channels.clear();
+        if (sender instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    int getSubscriberCount(int postId) {
+        Channel channel = channels.get(postId);
+        return channel == null ? 0 : channel.subscribers.size();
+    }
+
+    int getChannelCount() {
+        return channels.size();
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        channels.computeIfPresent(subscriber.postId, (id, channel) -> {
+            channel.subscribers.remove(subscriber);
+            channel.lastActivity = clock.millis();
+            return channel;
+        });
+    }
+
+    private static Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder toSse(Published published) {
+        return SseEmitter.event()
+                .id(String.valueOf(published.id()))
+                .name(published.event().type().eventName())
+                .data(published.event());
+    }
+
+    private record Published(long id, CommentEvent event) {
+    }
+
+    private final class Channel {
+        private final List<Subscriber> subscribers = new ArrayList<>();
+        private final Deque<Published> recent = new ArrayDeque<>();
+        // Every event after this id is still in recent.
+        private long retainedAfter;
+        private long lastActivity;
+
+        private Channel(long retainedAfter) {
+            this.retainedAfter = retainedAfter;
+            this.lastActivity = clock.millis();
+        }
+
+        private void publish(Published published, List<Subscriber> dropped) {
+            recent.addLast(published);
+            if (recent.size() > replaySize) {
+                retainedAfter = recent.removeFirst().id();
+            }
+            lastActivity = clock.millis();
+            offerAll(() -> toSse(published), dropped);
+        }
+
+        private void offerAll(Supplier<SseEmitter.SseEventBuilder> event, List<Subscriber> dropped) {
+            subscribers.removeIf(subscriber -> !subscriber.offer(event) && dropped.add(subscriber));
+        }
+
+        private void replay(Subscriber subscriber, long lastEventId) {
+            if (lastEventId < retainedAfter) {
+                subscriber.offer(() -> SseEmitter.event().name(RESET_EVENT).data(""));
+                return;
+            }
+            for (Published published : recent) {
+                if (published.id() > lastEventId) {
+                    subscriber.offer(() -> toSse(published));
+                }
+            }
+        }
+    }
+
+    private final class Subscriber {
+        private final int postId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Supplier<SseEmitter.SseEventBuilder>> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // When the send in progress started, or 0 while no send is running.
+        private volatile long sendStartedAt;
+
+        private Subscriber(int postId, SseEmitter emitter) {
+            this.postId = postId;
+            this.emitter = emitter;
+        }
+
+        /**
+         * Queues an event without blocking. Returns false when the subscriber is closed or too far
+         * behind; the caller then disconnects it once it has left the channel's compute.
+         */
+        private boolean offer(Supplier<SseEmitter.SseEventBuilder> event) {
+            if (closed.get()) {
+                return false;
+            }
+            if (!queue.offer(event)) {
+                log.debug("Dropping comment stream subscriber of post {}: {} events pending", postId, bufferSize);
+                closed.set(true);
+                return false;
+            }
+            scheduleDrain();
+            return true;
+        }
+
+        private boolean isSendingSince(long startedBefore) {
+            long startedAt = sendStartedAt;
+            return startedAt != 0 && startedAt <= startedBefore;
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Supplier<SseEmitter.SseEventBuilder> event;
+                while (!closed.get() && (event = queue.poll()) != null) {
+                    sendStartedAt = clock.millis();
+                    emitter.send(event.get());
+                    sendStartedAt = 0;
+                }
+            } catch (IOException e) {
+                // The client went away; the completion callbacks do the cleanup.
+                closed.set(true);
+                emitter.completeWithError(e);
+            } catch (IllegalStateException e) {
+                // The emitter is already complete.
+                closed.set(true);
+            } finally {
+                sendStartedAt = 0;
+                draining.set(false);
+            }
+            if (!closed.get() && !queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void disconnect() {
+            closed.set(true);
+            queue.clear();
+            emitter.complete();
+        }
+
+        private void close() {
+            closed.set(true);
+            queue.clear();
+            unsubscribe(this);
+        }
+    }
+}
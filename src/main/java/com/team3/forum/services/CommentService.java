@@ -2,13 +2,19 @@ package com.team3.forum.services;
 
 import com.team3.forum.models.Comment;
 import com.team3.forum.models.commentDtos.CommentCreationDto;
+import com.team3.forum.models.commentDtos.CommentPage;
+import com.team3.forum.models.commentDtos.CommentReplyPage;
 import com.team3.forum.models.commentDtos.CommentResponseDto;
 import com.team3.forum.models.commentDtos.CommentUpdateDto;
+import com.team3.forum.models.likeDtos.LikersPage;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentService {
     Comment createComment(CommentCreationDto dto, int postId, int userId);
+    Comment createReply(CommentCreationDto dto, int postId, int parentId, int userId);
     Comment updateComment(int commentId, CommentUpdateDto dto, int userId);
     Comment findById(int commentId);
     List<Comment> findAllByPostId(int postId);
@@ -17,9 +23,14 @@ public interface CommentService {
     void delete(Comment comment);
     Comment restoreById(int commentId, int userId);
     int getLikes(int commentId);
-    void likeComment(int commentId, int userId);
-    void unlikeComment(int commentId, int userId);
-    List<Comment> findAllByPostIdWithOrdering(int postId, String orderBy, String direction);
+    int likeComment(int commentId, int userId);
+    int unlikeComment(int commentId, int userId);
+    LikersPage getLikers(int postId, int commentId, String cursor, int size);
+    CommentPage getCommentsPage(int postId, String orderBy, String direction, int page, int size, String cursor,
+                                int replyLimit, Integer viewerId);
+    CommentReplyPage getReplies(int postId, int commentId, String cursor, int size, Integer viewerId);
+    SseEmitter streamComments(int postId, String lastEventId);
     int getCommentCount();
-    CommentResponseDto buildCommentResponseDto(Comment comment);
+    CommentResponseDto buildCommentResponseDto(Comment comment, Integer viewerId);
+    List<CommentResponseDto> buildCommentResponseDtos(Collection<Comment> comments, Integer viewerId);
 }
\ No newline at end of file
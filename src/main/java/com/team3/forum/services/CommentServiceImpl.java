@@ -5,23 +5,43 @@ import com.team3.forum.exceptions.DuplicateEntityException;
 import com.team3.forum.exceptions.EntityNotFoundException;
 import com.team3.forum.exceptions.EntityUpdateConflictException;
 import com.team3.forum.helpers.CommentMapper;
+import com.team3.forum.helpers.CursorCodec;
+import com.team3.forum.helpers.TransactionCallbacks;
 import com.team3.forum.models.Comment;
 import com.team3.forum.models.Post;
 import com.team3.forum.models.User;
 import com.team3.forum.models.commentDtos.CommentCreationDto;
+import com.team3.forum.models.commentDtos.CommentCursor;
+import com.team3.forum.models.commentDtos.CommentEvent;
+import com.team3.forum.models.commentDtos.CommentPage;
+import com.team3.forum.models.commentDtos.CommentReplyPage;
 import com.team3.forum.models.commentDtos.CommentResponseDto;
 import com.team3.forum.models.commentDtos.CommentUpdateDto;
+import com.team3.forum.models.enums.CommentEventType;
+import com.team3.forum.models.enums.CommentSortField;
 import com.team3.forum.models.enums.Role;
+import com.team3.forum.models.enums.SortDirection;
+import com.team3.forum.models.likeDtos.LikerCursor;
+import com.team3.forum.models.likeDtos.LikersPage;
+import com.team3.forum.models.userDtos.UserSummaryDto;
 import com.team3.forum.repositories.CommentRepository;
+import com.team3.forum.repositories.FolderStatsRepository;
 import com.team3.forum.repositories.PostRepository;
 import com.team3.forum.repositories.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,21 +51,33 @@ public class CommentServiceImpl implements CommentService {
     public static final String NOT_LIKED_ERROR = "This comment is not liked by this user.";
     public static final String EDIT_AUTHORIZATION_ERROR = "You cannot edit this comment.";
     public static final String DELETE_AUTHORIZATION_ERROR = "You cannot delete this comment.";
+    public static final int MAX_COMMENTS_PAGE_SIZE = 100;
+    public static final int MAX_REPLY_DEPTH = 8;
+    public static final int MAX_REPLIES_PER_THREAD = 20;
+    public static final String REPLY_DEPTH_ERROR =
+            "Replies cannot be nested more than " + MAX_REPLY_DEPTH + " levels deep.";
+    private static final String PATH_SEGMENT_FORMAT = "%010d";
 
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final CommentMapper commentMapper;
+    private final FolderStatsRepository folderStatsRepository;
+    private final CommentEventBroker commentEventBroker;
 
     @Autowired
     public CommentServiceImpl(CommentRepository commentRepository,
                               PostRepository postRepository,
                               UserRepository userRepository,
-                              CommentMapper commentMapper) {
+                              CommentMapper commentMapper,
+                              FolderStatsRepository folderStatsRepository,
+                              CommentEventBroker commentEventBroker) {
         this.commentRepository = commentRepository;
         this.postRepository = postRepository;
         this.userRepository = userRepository;
         this.commentMapper = commentMapper;
+        this.folderStatsRepository = folderStatsRepository;
+        this.commentEventBroker = commentEventBroker;
     }
 
     @Override
@@ -57,15 +89,37 @@ public class CommentServiceImpl implements CommentService {
             throw new EntityNotFoundException("Post", postId);
         }
 
-        Comment comment = new Comment();
-        comment.setPost(post);
-        comment.setUser(user);
-        comment.setContent(dto.getContent());
-        comment.setCreatedAt(LocalDateTime.now());
-        comment.setUpdatedAt(LocalDateTime.now());
-        comment.setDeleted(false);
+        // The path is built from the generated id, so it is filled in after the insert.
+        Comment created = commentRepository.save(newComment(dto, post, user));
+        created.setRootId(created.getId());
+        created.setPath(pathSegment(created.getId()));
+        postRepository.updateCommentsCount(postId, 1);
+        folderStatsRepository.recordComment(post.getFolder().getId(), postId, created.getCreatedAt());
+        publish(CommentEventType.CREATED, created);
+        return created;
+    }
 
-        return commentRepository.save(comment);
+    @Override
+    @Transactional
+    public Comment createReply(CommentCreationDto dto, int postId, int parentId, int userId) {
+        User user = userRepository.findById(userId);
+        Post post = postRepository.findById(postId);
+        Comment parent = findInPost(post, parentId);
+        if (parent.getDepth() >= MAX_REPLY_DEPTH) {
+            throw new EntityUpdateConflictException(REPLY_DEPTH_ERROR);
+        }
+
+        Comment reply = newComment(dto, post, user);
+        reply.setParentId(parent.getId());
+        reply.setRootId(parent.getRootId());
+        reply.setDepth(parent.getDepth() + 1);
+        Comment created = commentRepository.save(reply);
+        created.setPath(parent.getPath() + "." + pathSegment(created.getId()));
+        commentRepository.updateReplyCount(parent.getId(), 1);
+        postRepository.updateCommentsCount(postId, 1);
+        folderStatsRepository.recordComment(post.getFolder().getId(), postId, created.getCreatedAt());
+        publish(CommentEventType.CREATED, created);
+        return created;
     }
 
     @Override
@@ -79,7 +133,9 @@ public class CommentServiceImpl implements CommentService {
         verifyModeratorOrOwner(comment, user, new AuthorizationException(EDIT_AUTHORIZATION_ERROR));
         comment.setContent(dto.getContent());
         comment.setUpdatedAt(LocalDateTime.now());
-        return commentRepository.save(comment);
+        Comment updated = commentRepository.save(comment);
+        publish(CommentEventType.EDITED, updated);
+        return updated;
     }
 
     @Override
@@ -122,6 +178,12 @@ public class CommentServiceImpl implements CommentService {
         comment.setDeleted(true);
         comment.setDeletedAt(LocalDateTime.now());
         commentRepository.save(comment);
+        if (comment.getParentId() != null) {
+            commentRepository.updateReplyCount(comment.getParentId(), -1);
+        }
+        postRepository.updateCommentsCount(comment.getPost().getId(), -1);
+        folderStatsRepository.refresh(comment.getPost().getFolder().getId());
+        publish(CommentEventType.DELETED, comment);
     }
 
     @Override
@@ -134,79 +196,109 @@ public class CommentServiceImpl implements CommentService {
     @Transactional
     public Comment restoreById(int commentId, int userId) {
         User user = userRepository.findById(userId);
-        Comment comment = commentRepository.findById(commentId);
-        if (comment == null) {
-            throw new EntityNotFoundException("Comment", commentId);
-        }
+        Comment comment = commentRepository.findByIdIncludeDeleted(commentId);
         verifyModeratorOrOwner(comment, user, new AuthorizationException(DELETE_AUTHORIZATION_ERROR));
         if (!comment.isDeleted()) {
             throw new EntityUpdateConflictException(String.format("Comment with id %d is not deleted.", commentId));
         }
         comment.setDeleted(false);
         comment.setDeletedAt(null);
-        return commentRepository.save(comment);
+        Comment restored = commentRepository.save(comment);
+        if (comment.getParentId() != null) {
+            commentRepository.updateReplyCount(comment.getParentId(), 1);
+        }
+        postRepository.updateCommentsCount(comment.getPost().getId(), 1);
+        folderStatsRepository.refresh(comment.getPost().getFolder().getId());
+        publish(CommentEventType.RESTORED, restored);
+        return restored;
     }
 
     @Override
     @Transactional(readOnly = true)
     public int getLikes(int commentId) {
-        Comment comment = commentRepository.findById(commentId);
-        if (comment == null || comment.isDeleted()) {
-            throw new EntityNotFoundException("Comment", commentId);
-        }
-        return comment.getLikedBy().size();
+        return commentRepository.getLikesCount(commentId);
     }
 
     @Override
     @Transactional
-    public void likeComment(int commentId, int userId) {
-        User user = userRepository.findById(userId);
-        Comment comment = commentRepository.findById(commentId);
-        if (comment == null || comment.isDeleted()) {
-            throw new EntityNotFoundException("Comment", commentId);
-        }
-        if (comment.getLikedBy().contains(user)) {
+    public int likeComment(int commentId, int userId) {
+        // Counter first, as in PostServiceImpl.likePost: it fails for a missing comment and the
+        // exception below rolls it back for a duplicate like.
+        int likesCount = commentRepository.updateLikesCount(commentId, 1);
+        if (!commentRepository.addLike(commentId, userId)) {
             throw new DuplicateEntityException(ALREADY_LIKED_ERROR);
         }
-        comment.getLikedBy().add(user);
-        commentRepository.save(comment);
+        return likesCount;
     }
 
     @Override
     @Transactional
-    public void unlikeComment(int commentId, int userId) {
-        User user = userRepository.findById(userId);
-        Comment comment = commentRepository.findById(commentId);
-        if (comment == null || comment.isDeleted()) {
-            throw new EntityNotFoundException("Comment", commentId);
-        }
-        if (!comment.getLikedBy().contains(user)) {
+    public int unlikeComment(int commentId, int userId) {
+        int likesCount = commentRepository.updateLikesCount(commentId, -1);
+        if (!commentRepository.removeLike(commentId, userId)) {
             throw new EntityNotFoundException(NOT_LIKED_ERROR);
         }
-        comment.getLikedBy().remove(user);
-        commentRepository.save(comment);
+        return likesCount;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Comment> findAllByPostIdWithOrdering(int postId, String orderBy, String direction) {
-        List<Comment> comments = commentRepository.findByPostId(postId);
-        Comparator<Comment> comparator;
-        switch (orderBy.toLowerCase()) {
-            case "likes":
-                comparator = Comparator.comparingInt(comment -> comment.getLikedBy().size());
-                break;
-            case "created_at":
-            default:
-                comparator = Comparator.comparing(Comment::getCreatedAt);
-                break;
-        }
-        if ("desc".equalsIgnoreCase(direction)) {
-            comparator = comparator.reversed();
+    public LikersPage getLikers(int postId, int commentId, String cursor, int size) {
+        Comment comment = findInPost(postRepository.findById(postId), commentId);
+        int pageSize = Math.max(1, Math.min(size, MAX_COMMENTS_PAGE_SIZE));
+        int afterUserId = LikerCursor.decode(cursor).map(LikerCursor::userId).orElse(0);
+        List<UserSummaryDto> likers = new ArrayList<>(commentRepository.findLikers(comment.getId(), afterUserId, pageSize + 1));
+        boolean hasNext = likers.size() > pageSize;
+        if (hasNext) {
+            likers.subList(pageSize, likers.size()).clear();
         }
-        return comments.stream()
-                .sorted(comparator)
-                .collect(Collectors.toList());
+        return LikersPage.builder()
+                .likesCount(comment.getLikesCount())
+                .items(likers)
+                .size(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? new LikerCursor(likers.get(likers.size() - 1).getUserId()).encode() : null)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CommentPage getCommentsPage(int postId, String orderBy, String direction, int page, int size, String cursor,
+                                       int replyLimit, Integer viewerId) {
+        postRepository.findById(postId);
+        int pageSize = Math.max(1, Math.min(size, MAX_COMMENTS_PAGE_SIZE));
+        int totalComments = commentRepository.countTopLevelByPostId(postId);
+        int repliesPerThread = Math.max(0, Math.min(replyLimit, MAX_REPLIES_PER_THREAD));
+        int totalPages = Math.max(1, ((totalComments - 1) / pageSize) + 1);
+
+        CommentCursor position = CommentCursor.decode(cursor).orElse(null);
+        if (position != null) {
+            // One extra row tells whether there is another page in the direction of travel.
+            List<Comment> comments = new ArrayList<>(
+                    commentRepository.findPageByPostIdAfterCursor(postId, pageSize + 1, position));
+            boolean hasMore = comments.size() > pageSize;
+            if (hasMore) {
+                comments.remove(pageSize);
+            }
+            if (!comments.isEmpty()) {
+                if (position.backward()) {
+                    Collections.reverse(comments);
+                }
+                int cursorPage = position.backward() && !hasMore ? 1 : Math.min(position.page(), totalPages);
+                return buildCommentPage(comments, repliesPerThread, viewerId, cursorPage, pageSize, totalComments, totalPages,
+                        !position.backward() || hasMore,
+                        position.backward() || hasMore,
+                        position.sortField(), position.direction());
+            }
+        }
+
+        CommentSortField sortField = getSortField(orderBy);
+        SortDirection sortDirection = getSortDirection(direction);
+        int currentPage = Math.max(1, Math.min(page, totalPages));
+        List<Comment> comments = totalComments == 0 ? List.of()
+                : commentRepository.findPageByPostId(postId, sortField, sortDirection, (currentPage - 1) * pageSize, pageSize);
+        return buildCommentPage(comments, repliesPerThread, viewerId, currentPage, pageSize, totalComments, totalPages,
+                currentPage > 1, currentPage < totalPages, sortField, sortDirection);
     }
 
     @Override
@@ -216,8 +308,168 @@ public class CommentServiceImpl implements CommentService {
 
     @Override
     @Transactional(readOnly = true)
-    public CommentResponseDto buildCommentResponseDto(Comment comment) {
-        return commentMapper.toResponseDto(comment, null);
+    public CommentResponseDto buildCommentResponseDto(Comment comment, Integer viewerId) {
+        return buildCommentResponseDtos(List.of(comment), viewerId).get(0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CommentResponseDto> buildCommentResponseDtos(Collection<Comment> comments, Integer viewerId) {
+        List<Integer> commentIds = comments.stream().map(Comment::getId).toList();
+        Set<Integer> likedByViewer = viewerId == null ? Set.of()
+                : commentRepository.findLikedCommentIds(viewerId, commentIds);
+        return comments.stream()
+                .map(comment -> commentMapper.toResponseDto(comment,
+                        comment.getLikesCount(),
+                        likedByViewer.contains(comment.getId())))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CommentReplyPage getReplies(int postId, int commentId, String cursor, int size, Integer viewerId) {
+        Comment parent = findInPost(postRepository.findById(postId), commentId);
+        int pageSize = Math.max(1, Math.min(size, MAX_COMMENTS_PAGE_SIZE));
+        List<Comment> replies = new ArrayList<>(
+                commentRepository.findReplies(parent, CursorCodec.decode(cursor, 1, parts -> parts[0]).orElse(null), pageSize + 1));
+        boolean hasNext = replies.size() > pageSize;
+        if (hasNext) {
+            replies.remove(pageSize);
+        }
+
+        return CommentReplyPage.builder()
+                .parentId(parent.getId())
+                .items(buildCommentResponseDtos(replies, viewerId))
+                .size(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? CursorCodec.encode(replies.get(replies.size() - 1).getPath()) : null)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SseEmitter streamComments(int postId, String lastEventId) {
+        postRepository.findById(postId);
+        return commentEventBroker.subscribe(postId, lastEventId);
+    }
+
+    private CommentPage buildCommentPage(List<Comment> comments,
+                                         int repliesPerThread,
+                                         Integer viewerId,
+                                         int page,
+                                         int pageSize,
+                                         int totalComments,
+                                         int totalPages,
+                                         boolean hasPrevious,
+                                         boolean hasNext,
+                                         CommentSortField sortField,
+                                         SortDirection sortDirection) {
+        // Fetching one reply more than shown tells whether a thread has more to load.
+        List<Comment> replies = repliesPerThread == 0 ? List.of()
+                : commentRepository.findFirstReplies(comments.stream().map(Comment::getId).toList(), repliesPerThread + 1);
+        List<Comment> loaded = new ArrayList<>(comments);
+        loaded.addAll(replies);
+        List<CommentResponseDto> dtos = buildCommentResponseDtos(loaded, viewerId);
+        List<CommentResponseDto> items = dtos.subList(0, comments.size());
+        if (repliesPerThread > 0) {
+            attachReplies(items, replies, dtos.subList(comments.size(), dtos.size()), repliesPerThread);
+        }
+        int fromItem = items.isEmpty() ? 0 : (page - 1) * pageSize + 1;
+        int toItem = items.isEmpty() ? 0 : fromItem + items.size() - 1;
+
+        String prevCursor = null;
+        String nextCursor = null;
+        if (!items.isEmpty()) {
+            if (hasPrevious) {
+                prevCursor = CommentCursor.before(items.get(0), sortField, sortDirection, Math.max(page - 1, 1)).encode();
+            }
+            if (hasNext) {
+                nextCursor = CommentCursor.after(items.get(items.size() - 1), sortField, sortDirection, page + 1).encode();
+            }
+        }
+
+        return CommentPage.builder()
+                .items(items)
+                .page(page)
+                .size(pageSize)
+                .totalItems(totalComments)
+                .totalPages(totalPages)
+                .hasPrevious(hasPrevious)
+                .hasNext(hasNext)
+                .fromItem(fromItem)
+                .toItem(toItem)
+                .orderBy(sortField.name().toLowerCase())
+                .direction(sortDirection.name().toLowerCase())
+                .prevCursor(prevCursor)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Hangs the replies loaded for a page under their thread roots. Replies arrive in path order,
+     * which is the depth-first order they are shown in.
+     */
+    private void attachReplies(List<CommentResponseDto> roots,
+                               List<Comment> replies,
+                               List<CommentResponseDto> replyDtos,
+                               int repliesPerThread) {
+        Map<Integer, List<CommentResponseDto>> repliesByRoot = new HashMap<>();
+        for (int i = 0; i < replies.size(); i++) {
+            repliesByRoot.computeIfAbsent(replies.get(i).getRootId(), id -> new ArrayList<>()).add(replyDtos.get(i));
+        }
+        for (CommentResponseDto root : roots) {
+            List<CommentResponseDto> thread = repliesByRoot.getOrDefault(root.getId(), List.of());
+            root.setHasMoreReplies(thread.size() > repliesPerThread);
+            root.setReplies(thread.size() > repliesPerThread ? thread.subList(0, repliesPerThread) : thread);
+        }
+    }
+
+    /**
+     * Pushes the change to live subscribers once it is committed. The event is built right away,
+     * while the comment is still attached.
+     */
+    private void publish(CommentEventType type, Comment comment) {
+        CommentEvent event = commentMapper.toEvent(type, comment);
+        TransactionCallbacks.afterCommit(() -> commentEventBroker.publish(event));
+    }
+
+    private Comment newComment(CommentCreationDto dto, Post post, User user) {
+        Comment comment = new Comment();
+        comment.setPost(post);
+        comment.setUser(user);
+        comment.setContent(dto.getContent());
+        comment.setCreatedAt(LocalDateTime.now());
+        comment.setUpdatedAt(LocalDateTime.now());
+        comment.setDeleted(false);
+        return comment;
+    }
+
+    private Comment findInPost(Post post, int commentId) {
+        Comment comment = commentRepository.findById(commentId);
+        if (comment.getPost().getId() != post.getId()) {
+            throw new EntityNotFoundException("Comment", commentId);
+        }
+        return comment;
+    }
+
+    private static String pathSegment(int commentId) {
+        return String.format(PATH_SEGMENT_FORMAT, commentId);
+    }
+
+    private CommentSortField getSortField(String orderBy) {
+        try {
+            return CommentSortField.valueOf(orderBy.toUpperCase());
+        } catch (IllegalArgumentException ignored) {
+            return CommentSortField.CREATED_AT;
+        }
+    }
+
+    private SortDirection getSortDirection(String direction) {
+        try {
+            return SortDirection.valueOf(direction.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return SortDirection.DESC;
+        }
     }
 
     private void verifyModeratorOrOwner(Comment comment, User requester, RuntimeException error) {
@@ -7,6 +7,7 @@ import com.team3.forum.models.folderDtos.FolderResponseDto;
 import com.team3.forum.models.folderDtos.FolderUpdateDto;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface FolderService {
@@ -30,7 +31,13 @@ public interface FolderService {
 
     Folder getFolderByPath(List<String> slugs);
 
-    List<Folder> getSiblingFolders(Folder folder);
+    List<Folder> getSiblingFolders(Folder folder, int page, int pageSize);
+
+    int countSiblingFolders(Folder folder);
+
+    List<Folder> getChildFolders(Folder folder, int page, int pageSize);
+
+    int countChildFolders(Folder folder);
 
     LocalDateTime getLastActivity(Folder folder);
 
@@ -38,4 +45,6 @@ public interface FolderService {
 
     FolderResponseDto buildFolderResponseDto(Folder folder);
 
+    List<FolderResponseDto> buildFolderResponseDtos(Collection<Folder> folders);
+
 }
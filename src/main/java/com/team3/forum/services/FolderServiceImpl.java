@@ -7,12 +7,15 @@ import com.team3.forum.exceptions.FolderNotEmptyException;
 import com.team3.forum.external.client.ExternalMetaDataClient;
 import com.team3.forum.helpers.FolderMapper;
 import com.team3.forum.helpers.TimeAgo;
+import com.team3.forum.helpers.TransactionCallbacks;
 import com.team3.forum.models.Folder;
+import com.team3.forum.models.FolderStats;
 import com.team3.forum.models.MediaMetaData;
 import com.team3.forum.models.Post;
 import com.team3.forum.models.User;
 import com.team3.forum.models.folderDtos.*;
 import com.team3.forum.repositories.FolderRepository;
+import com.team3.forum.repositories.FolderStatsRepository;
 import com.team3.forum.repositories.MediaMetaDataRepository;
 import com.team3.forum.repositories.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,9 +24,13 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -34,6 +41,7 @@ public class FolderServiceImpl implements FolderService {
     public static final String EDIT_AUTHORIZATION_ERROR = "You cannot edit this folder.";
     public static final String DELETE_AUTHORIZATION_ERROR = "You cannot delete this folder.";
     public static final String CREATE_UNIQUE_SLUG_ERROR = "The slug must be unique among sibling folders.";
+    public static final String MOVE_INTO_SUBTREE_ERROR = "A folder cannot be moved into itself or one of its subfolders.";
 
 
     private final FolderRepository folderRepository;
@@ -41,14 +49,18 @@ public class FolderServiceImpl implements FolderService {
     private final FolderMapper folderMapper;
     private final ExternalMetaDataClient externalMetaDataClient;
     private final MediaMetaDataRepository mediaMetaDataRepository;
+    private final FolderTreeCache folderTreeCache;
+    private final FolderStatsRepository folderStatsRepository;
 
     @Autowired
-    public FolderServiceImpl(FolderRepository folderRepository, UserRepository userRepository, FolderMapper folderMapper, ExternalMetaDataClient externalMetaDataClient, MediaMetaDataRepository mediaMetaDataRepository) {
+    public FolderServiceImpl(FolderRepository folderRepository, UserRepository userRepository, FolderMapper folderMapper, ExternalMetaDataClient externalMetaDataClient, MediaMetaDataRepository mediaMetaDataRepository, FolderTreeCache folderTreeCache, FolderStatsRepository folderStatsRepository) {
         this.folderRepository = folderRepository;
         this.userRepository = userRepository;
         this.folderMapper = folderMapper;
         this.externalMetaDataClient = externalMetaDataClient;
         this.mediaMetaDataRepository = mediaMetaDataRepository;
+        this.folderTreeCache = folderTreeCache;
+        this.folderStatsRepository = folderStatsRepository;
     }
 
     @Override
@@ -74,7 +86,10 @@ public class FolderServiceImpl implements FolderService {
                 || !persistent.getChildFolders().isEmpty()) {
             throw new FolderNotEmptyException(id);
         }
+        folderStatsRepository.delete(persistent.getId());
+        folderRepository.removeFromClosure(persistent.getId());
         folderRepository.delete(persistent);
+        TransactionCallbacks.afterCommit(folderTreeCache::invalidate);
     }
 
     @Override
@@ -96,7 +111,11 @@ public class FolderServiceImpl implements FolderService {
             externalMetaDataClient.syncMetaData(folder);
         }
 
-        return folderRepository.save(folder);
+        TransactionCallbacks.afterCommit(folderTreeCache::invalidate);
+        Folder created = folderRepository.save(folder);
+        folderRepository.addToClosure(created.getId(), parent.getId());
+        folderStatsRepository.create(created.getId());
+        return created;
     }
 
     @Override
@@ -121,7 +140,11 @@ public class FolderServiceImpl implements FolderService {
             externalMetaDataClient.syncMetaData(folder);
         }
 
-        return folderRepository.save(folder);
+        TransactionCallbacks.afterCommit(folderTreeCache::invalidate);
+        Folder created = folderRepository.save(folder);
+        folderRepository.addToClosure(created.getId(), parent.getId());
+        folderStatsRepository.create(created.getId());
+        return created;
     }
 
     @Override
@@ -152,13 +175,27 @@ public class FolderServiceImpl implements FolderService {
         folder.setDescription(folderUpdateDto.getDescription());
         folder.setImdbId(folderUpdateDto.getImdbId());
 
+        Integer newParentId = folderUpdateDto.getParentFolderId();
+        boolean moved = newParentId != null && newParentId != folder.getParentFolder().getId();
+        if (moved) {
+            if (folderRepository.isInSubtree(folder.getId(), newParentId)) {
+                throw new EntityUpdateConflictException(MOVE_INTO_SUBTREE_ERROR);
+            }
+            folder.setParentFolder(findById(newParentId));
+        }
+
         validateUniqueSlug(folder.getParentFolder(), folder);
 
         if (folder.getImdbId() != null) {
             externalMetaDataClient.syncMetaData(folder);
         }
 
-        return folderRepository.save(folder);
+        TransactionCallbacks.afterCommit(folderTreeCache::invalidate);
+        Folder updated = folderRepository.save(folder);
+        if (moved) {
+            folderRepository.moveInClosure(updated.getId(), newParentId);
+        }
+        return updated;
     }
 
     @Override
@@ -181,69 +218,77 @@ public class FolderServiceImpl implements FolderService {
             throw new EntityNotFoundException("Empty path");
         }
 
-        Folder current = folderRepository.findBySlug(slugs.get(0));
-        Folder parent;
-        if (current.getParentFolder() != null) {
-            throw new EntityNotFoundException("Incorrect path: " + slugs);
-        }
+        FolderTree.Node node = folderTreeCache.get().resolve(slugs)
+                .orElseThrow(() -> new EntityNotFoundException("Incorrect path: " + slugs));
+        return folderRepository.findById(node.id());
+    }
 
-        for (int i = 1; i < slugs.size(); i++) {
-            String slug = slugs.get(i);
-            parent = current;
-            current = folderRepository.findByParentFolderAndSlug(parent, slug);
-        }
-        return current;
+    @Override
+    @Transactional(readOnly = true)
+    public List<Folder> getSiblingFolders(Folder folder, int page, int pageSize) {
+        return folderRepository.findChildFoldersPage(folder.getParentFolder(), folder.getId(),
+                (Math.max(page, 1) - 1) * pageSize, pageSize);
     }
 
     @Override
-    public List<Folder> getSiblingFolders(Folder folder) {
-        List<Folder> folders = folderRepository.getFoldersByParentFolder(folder.getParentFolder());
-        folders.remove(folder);
-        return folders;
+    @Transactional(readOnly = true)
+    public int countSiblingFolders(Folder folder) {
+        return folderRepository.countChildFolders(folder.getParentFolder(), folder.getId());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public LocalDateTime getLastActivity(Folder folder) {
-        Folder persistent = folderRepository.findById(folder.getId());
-        LocalDateTime lastPost = folderRepository.getLastPostDate(persistent);
-        LocalDateTime lastComment = folderRepository.getLastCommentDate(persistent);
-        if (lastPost == null) {
-            return lastComment;
-        }
-        if (lastComment == null) {
-            return lastPost;
-        }
-        if (lastPost.isAfter(lastComment)) {
-            return lastPost;
-        } else {
-            return lastComment;
-        }
+    public List<Folder> getChildFolders(Folder folder, int page, int pageSize) {
+        return folderRepository.findChildFoldersPage(folder, null, (Math.max(page, 1) - 1) * pageSize, pageSize);
     }
 
     @Override
-    public List<String> buildSlugPath(Folder folder) {
-        List<String> slugs = new ArrayList<>();
+    @Transactional(readOnly = true)
+    public int countChildFolders(Folder folder) {
+        return folderRepository.countChildFolders(folder, null);
+    }
 
-        Folder current = folder;
-        while (current != null) {
-            slugs.add(current.getSlug());
-            current = current.getParentFolder();
-        }
+    @Override
+    @Transactional(readOnly = true)
+    public LocalDateTime getLastActivity(Folder folder) {
+        return findStats(folder.getId()).getLastActivityAt();
+    }
 
-        Collections.reverse(slugs);
-        return slugs;
+    @Override
+    public List<String> buildSlugPath(Folder folder) {
+        return findNode(folder).slugPath();
     }
 
+    @Override
     @Transactional(readOnly = true)
     public FolderResponseDto buildFolderResponseDto(Folder folder) {
-        Folder persistent = folderRepository.findById(folder.getId());
-        MediaMetaData metaData = null;
-        if (folder.getImdbId() != null) {
-            metaData = mediaMetaDataRepository.findById(folder.getImdbId())
-                    .orElse(null);
+        return buildFolderResponseDtos(List.of(folder)).get(0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FolderResponseDto> buildFolderResponseDtos(Collection<Folder> folders) {
+        if (folders.isEmpty()) {
+            return List.of();
         }
-        return folderMapper.toResponseDto(folder, buildFolderCalculatedStatsDto(persistent), metaData);
+        Set<Integer> folderIds = folders.stream().map(Folder::getId).collect(Collectors.toSet());
+        Map<Integer, FolderStats> stats = folderStatsRepository.findByFolderIds(folderIds);
+        Map<Integer, Integer> subtreeCounts = folderRepository.getPostCountsWithSubfolders(folderIds);
+        Set<String> imdbIds = folders.stream()
+                .map(Folder::getImdbId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, MediaMetaData> metaData = imdbIds.isEmpty() ? Map.of()
+                : mediaMetaDataRepository.findAllById(imdbIds).stream()
+                .collect(Collectors.toMap(MediaMetaData::getImdbId, Function.identity()));
+
+        return folders.stream()
+                .map(folder -> folderMapper.toResponseDto(folder,
+                        buildFolderCalculatedStatsDto(folder,
+                                stats.getOrDefault(folder.getId(), new FolderStats(folder.getId())),
+                                subtreeCounts.getOrDefault(folder.getId(), 0)),
+                        folder.getImdbId() == null ? null : metaData.get(folder.getImdbId())))
+                .toList();
     }
 
     private void validateUniqueSlug(Folder parent, Folder child) {
@@ -258,40 +303,45 @@ public class FolderServiceImpl implements FolderService {
         }
     }
 
-    private FolderCalculatedStatsDto buildFolderCalculatedStatsDto(Folder folder) {
-        LocalDateTime lastActivity = getLastActivity(folder);
+    private FolderCalculatedStatsDto buildFolderCalculatedStatsDto(Folder folder, FolderStats stats, int postCountWithSubfolders) {
+        LocalDateTime lastActivity = stats.getLastActivityAt();
         String lastActivityString = lastActivity != null ? TimeAgo.toTimeAgo(lastActivity) : "";
+        FolderTree.Node node = findNode(folder);
         return FolderCalculatedStatsDto.builder()
-                .postCount(folder.getPosts().size())
-                .folderCount(folder.getChildFolders().size())
+                .postCount(stats.getPostCount())
+                .folderCount(node.childIds().size())
                 .lastActivity(lastActivityString)
-                .path(buildPath(folder, ""))
-                .pathFolders(buildPathFolders(folder, new ArrayList<>()))
-                .postCountWithSubfolders(getFolderPostsCount(folder))
+                .lastActivityPostId(stats.getLastActivityPostId())
+                .path(node.path())
+                .pathFolders(node.breadcrumbs().stream().map(folderMapper::toPathDto).toList())
+                .postCountWithSubfolders(postCountWithSubfolders)
                 .build();
     }
 
-    private String buildPath(Folder folder, String path) {
-        StringBuilder sb = new StringBuilder();
-        if (folder.getParentFolder() != null) {
-            sb.append(buildPath(folder.getParentFolder(), path)).append("/");
-        }
-        return sb.append(path).append(folder.getSlug()).toString();
+    private FolderStats findStats(int folderId) {
+        return folderStatsRepository.findByFolderIds(List.of(folderId))
+                .getOrDefault(folderId, new FolderStats(folderId));
     }
 
-    private List<FolderPathDto> buildPathFolders(Folder folder, List<FolderPathDto> result) {
-        if (folder.getParentFolder() != null) {
-            buildPathFolders(folder.getParentFolder(), result);
+    /**
+     * The folder's node in the cached tree. A folder changed or created in the current transaction
+     * is not in the tree yet, so its node is derived from the entity and its parent's node instead.
+     */
+    private FolderTree.Node findNode(Folder folder) {
+        FolderTree.Node node = folderTreeCache.get().find(folder.getId()).orElse(null);
+        Folder parent = folder.getParentFolder();
+        Integer parentId = parent == null ? null : parent.getId();
+        if (node != null
+                && Objects.equals(node.parentId(), parentId)
+                && Objects.equals(node.slug(), folder.getSlug())
+                && Objects.equals(node.name(), folder.getName())
+                && Objects.equals(node.description(), folder.getDescription())) {
+            return node;
         }
-        result.add(folderMapper.toPathDto(folder));
-        return result;
-    }
-
-    private int getFolderPostsCount(Folder folder) {
-        int sum = folder.getPosts().size();
-        for (Folder child : folder.getChildFolders()) {
-            sum += getFolderPostsCount(child);
+        List<Integer> childIds = node == null ? List.of() : node.childIds();
+        if (parent == null) {
+            return FolderTree.Node.root(folder.getId(), folder.getSlug(), folder.getName(), folder.getDescription(), childIds);
         }
-        return sum;
+        return findNode(parent).child(folder.getId(), folder.getSlug(), folder.getName(), folder.getDescription(), childIds);
     }
 }
@@ -0,0 +1,157 @@
+package com.team3.forum.services;
+
+import com.team3.forum.models.folderDtos.FolderTreeRowDto;
+
+import java.util.*;
+
+/**
+ * Immutable snapshot of the folder hierarchy. Every node carries its slug path, full path and
+ * ancestors, computed once when the snapshot is built, so resolving a path or rendering breadcrumbs
+ * is a few map lookups. Roots and children keep the order of the rows they were built from, which
+ * the repository sorts by name and id like its other folder listings, so a cached listing matches a
+ * database-backed one. Folders that cannot be reached from a root folder are left out.
+ */
+public final class FolderTree {
+
+    public record Node(int id,
+                       Integer parentId,
+                       String slug,
+                       String name,
+                       String description,
+                       int depth,
+                       String path,
+                       List<String> slugPath,
+                       List<Node> ancestors,
+                       List<Integer> childIds) {
+
+        /**
+         * Node for a folder below this one that is not part of the snapshot yet, or whose own
+         * fields have changed since the snapshot was taken.
+         */
+        public Node child(int id, String slug, String name, String description, List<Integer> childIds) {
+            List<String> childSlugPath = new ArrayList<>(slugPath);
+            childSlugPath.add(slug);
+            List<Node> childAncestors = new ArrayList<>(ancestors);
+            childAncestors.add(this);
+            return new Node(id, this.id, slug, name, description, depth + 1, path + "/" + slug,
+                    List.copyOf(childSlugPath), List.copyOf(childAncestors), List.copyOf(childIds));
+        }
+
+        public static Node root(int id, String slug, String name, String description, List<Integer> childIds) {
+            return new Node(id, null, slug, name, description, 0, slug,
+                    List.of(slug), List.of(), List.copyOf(childIds));
+        }
+
+        /**
+         * The ancestors followed by this node, from the root down.
+         */
+        public List<Node> breadcrumbs() {
+            List<Node> breadcrumbs = new ArrayList<>(ancestors);
+            breadcrumbs.add(this);
+            return breadcrumbs;
+        }
+    }
+
+    private static final FolderTree EMPTY = new FolderTree(Map.of(), Map.of(), List.of());
+
+    private final Map<Integer, Node> nodesById;
+    private final Map<String, Node> nodesByPath;
+    private final List<Node> roots;
+
+    private FolderTree(Map<Integer, Node> nodesById, Map<String, Node> nodesByPath, List<Node> roots) {
+        this.nodesById = nodesById;
+        this.nodesByPath = nodesByPath;
+        this.roots = roots;
+    }
+
+    public static FolderTree empty() {
+        return EMPTY;
+    }
+
+    public static FolderTree build(Collection<FolderTreeRowDto> rows) {
+        Map<Integer, List<FolderTreeRowDto>> childrenByParent = new HashMap<>();
+        List<FolderTreeRowDto> rootRows = new ArrayList<>();
+        for (FolderTreeRowDto row : rows) {
+            if (row.parentId() == null) {
+                rootRows.add(row);
+            } else {
+                childrenByParent.computeIfAbsent(row.parentId(), id -> new ArrayList<>()).add(row);
+            }
+        }
+
+        Map<Integer, Node> nodesById = new HashMap<>();
+        Map<String, Node> nodesByPath = new HashMap<>();
+        List<Node> roots = new ArrayList<>();
+        Deque<Node> queue = new ArrayDeque<>();
+        for (FolderTreeRowDto row : rootRows) {
+            Node root = Node.root(row.id(), row.slug(), row.name(), row.description(),
+                    childIds(childrenByParent, row.id()));
+            roots.add(root);
+            queue.add(root);
+        }
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            if (nodesById.putIfAbsent(node.id(), node) != null) {
+                continue;
+            }
+            nodesByPath.putIfAbsent(node.path(), node);
+            for (FolderTreeRowDto row : childrenByParent.getOrDefault(node.id(), List.of())) {
+                queue.add(node.child(row.id(), row.slug(), row.name(), row.description(),
+                        childIds(childrenByParent, row.id())));
+            }
+        }
+        return new FolderTree(Map.copyOf(nodesById), Map.copyOf(nodesByPath), List.copyOf(roots));
+    }
+
+    public Optional<Node> find(int id) {
+        return Optional.ofNullable(nodesById.get(id));
+    }
+
+    /**
+     * Node at the given slug path, or empty when any segment does not exist.
+     */
+    public Optional<Node> resolve(List<String> slugs) {
+        if (slugs.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(nodesByPath.get(String.join("/", slugs)));
+    }
+
+    public List<Node> roots() {
+        return roots;
+    }
+
+    public List<Node> children(int id) {
+        Node node = nodesById.get(id);
+        if (node == null) {
+            return List.of();
+        }
+        return node.childIds().stream().map(nodesById::get).toList();
+    }
+
+    /**
+     * Ids of the folder and all folders below it, or an empty set when the folder is unknown.
+     */
+    public Set<Integer> subtreeIds(int id) {
+        Set<Integer> subtree = new HashSet<>();
+        if (!nodesById.containsKey(id)) {
+            return subtree;
+        }
+        Deque<Integer> queue = new ArrayDeque<>(List.of(id));
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            if (subtree.add(current)) {
+                queue.addAll(nodesById.get(current).childIds());
+            }
+        }
+        return subtree;
+    }
+
+    public int size() {
+        return nodesById.size();
+    }
+
+    private static List<Integer> childIds(Map<Integer, List<FolderTreeRowDto>> childrenByParent, int id) {
+        return childrenByParent.getOrDefault(id, List.of()).stream().map(FolderTreeRowDto::id).toList();
+    }
+}
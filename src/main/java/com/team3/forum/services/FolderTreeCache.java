@@ -0,0 +1,51 @@
+package com.team3.forum.services;
+
+import com.team3.forum.repositories.FolderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Holds the current {@link FolderTree}. The tree is loaded with a single query on first use and
+ * dropped by {@link FolderServiceImpl} after every committed folder change, so the next reader
+ * loads a fresh one.
+ */
+@Slf4j
+@Component
+public class FolderTreeCache {
+
+    private final FolderRepository folderRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile FolderTree tree;
+
+    @Autowired
+    public FolderTreeCache(FolderRepository folderRepository, PlatformTransactionManager transactionManager) {
+        this.folderRepository = folderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        // Load committed data only, never uncommitted folder changes of the caller's transaction.
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public FolderTree get() {
+        FolderTree current = tree;
+        return current != null ? current : load();
+    }
+
+    public synchronized void invalidate() {
+        tree = null;
+    }
+
+    private synchronized FolderTree load() {
+        if (tree == null) {
+            FolderTree loaded = transactionTemplate.execute(status -> FolderTree.build(folderRepository.findTreeRows()));
+            tree = loaded != null ? loaded : FolderTree.empty();
+            log.debug("Loaded folder tree with {} folders", tree.size());
+        }
+        return tree;
+    }
+}
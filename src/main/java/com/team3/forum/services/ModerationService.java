@@ -0,0 +1,15 @@
+package com.team3.forum.services;
+
+import com.team3.forum.models.adminDtos.BulkModerationResultDto;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ModerationService {
+    BulkModerationResultDto deletePosts(Collection<Integer> postIds, int requesterId);
+    BulkModerationResultDto restorePosts(Collection<Integer> postIds, int requesterId);
+    BulkModerationResultDto deleteComments(Collection<Integer> commentIds, int requesterId);
+    BulkModerationResultDto restoreComments(Collection<Integer> commentIds, int requesterId);
+    List<BulkModerationResultDto> deleteUserContent(int userId, int requesterId);
+    List<BulkModerationResultDto> restoreUserContent(int userId, int requesterId);
+}
@@ -0,0 +1,261 @@
+package com.team3.forum.services;
+
+import com.team3.forum.exceptions.AuthorizationException;
+import com.team3.forum.helpers.TransactionCallbacks;
+import com.team3.forum.models.User;
+import com.team3.forum.models.adminDtos.BulkModerationResultDto;
+import com.team3.forum.models.adminDtos.ModerationTargetDto;
+import com.team3.forum.models.commentDtos.CommentEvent;
+import com.team3.forum.models.enums.CommentEventType;
+import com.team3.forum.models.enums.ModerationOutcome;
+import com.team3.forum.models.enums.Role;
+import com.team3.forum.repositories.CommentRepository;
+import com.team3.forum.repositories.FolderStatsRepository;
+import com.team3.forum.repositories.PostRepository;
+import com.team3.forum.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Soft-deletes and restores posts and comments in bulk. Targets are loaded and checked in one pass and
+ * changed with set-based updates of at most {@link #CHUNK_SIZE} ids, after which the derived counters
+ * are recomputed once per affected post, parent comment and folder.
+ */
+@Service
+@Transactional
+public class ModerationServiceImpl implements ModerationService {
+    public static final String MODERATION_AUTHORIZATION_ERROR = "Only moderators can moderate content in bulk.";
+    public static final String USER_CONTENT_AUTHORIZATION_ERROR = "You cannot moderate the content of this user.";
+    public static final int CHUNK_SIZE = 500;
+
+    private final UserRepository userRepository;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final FolderStatsRepository folderStatsRepository;
+    private final PostSearchService postSearchService;
+    private final PostCountCache postCountCache;
+    private final CommentEventBroker commentEventBroker;
+
+    @Autowired
+    public ModerationServiceImpl(UserRepository userRepository,
+                                 PostRepository postRepository,
+                                 CommentRepository commentRepository,
+                                 FolderStatsRepository folderStatsRepository,
+                                 PostSearchService postSearchService,
+                                 PostCountCache postCountCache,
+                                 CommentEventBroker commentEventBroker) {
+        this.userRepository = userRepository;
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.folderStatsRepository = folderStatsRepository;
+        this.postSearchService = postSearchService;
+        this.postCountCache = postCountCache;
+        this.commentEventBroker = commentEventBroker;
+    }
+
+    @Override
+    public BulkModerationResultDto deletePosts(Collection<Integer> postIds, int requesterId) {
+        User requester = findModerator(requesterId);
+        List<Integer> ids = postIds.stream().distinct().toList();
+        return moderatePosts(ids, loadTargets(ids, postRepository::findModerationTargets), requester, true);
+    }
+
+    @Override
+    public BulkModerationResultDto restorePosts(Collection<Integer> postIds, int requesterId) {
+        User requester = findModerator(requesterId);
+        List<Integer> ids = postIds.stream().distinct().toList();
+        return moderatePosts(ids, loadTargets(ids, postRepository::findModerationTargets), requester, false);
+    }
+
+    @Override
+    public BulkModerationResultDto deleteComments(Collection<Integer> commentIds, int requesterId) {
+        User requester = findModerator(requesterId);
+        List<Integer> ids = commentIds.stream().distinct().toList();
+        return moderateComments(ids, loadTargets(ids, commentRepository::findModerationTargets), requester, true);
+    }
+
+    @Override
+    public BulkModerationResultDto restoreComments(Collection<Integer> commentIds, int requesterId) {
+        User requester = findModerator(requesterId);
+        List<Integer> ids = commentIds.stream().distinct().toList();
+        return moderateComments(ids, loadTargets(ids, commentRepository::findModerationTargets), requester, false);
+    }
+
+    @Override
+    public List<BulkModerationResultDto> deleteUserContent(int userId, int requesterId) {
+        return moderateUserContent(userId, requesterId, true);
+    }
+
+    @Override
+    public List<BulkModerationResultDto> restoreUserContent(int userId, int requesterId) {
+        return moderateUserContent(userId, requesterId, false);
+    }
+
+    private List<BulkModerationResultDto> moderateUserContent(int userId, int requesterId, boolean delete) {
+        User requester = findModerator(requesterId);
+        User author = userRepository.findById(userId);
+        if (!canModerate(requester, author.getRole())) {
+            throw new AuthorizationException(USER_CONTENT_AUTHORIZATION_ERROR);
+        }
+        // Only items that are not already in the requested state are reported.
+        List<ModerationTargetDto> posts = postRepository.findModerationTargetsByUser(userId).stream()
+                .filter(target -> target.deleted() != delete)
+                .toList();
+        List<ModerationTargetDto> comments = commentRepository.findModerationTargetsByUser(userId).stream()
+                .filter(target -> target.deleted() != delete)
+                .toList();
+        return List.of(
+                moderatePosts(ids(posts), posts, requester, delete),
+                moderateComments(ids(comments), comments, requester, delete));
+    }
+
+    private BulkModerationResultDto moderatePosts(List<Integer> ids,
+                                                  List<ModerationTargetDto> targets,
+                                                  User requester,
+                                                  boolean delete) {
+        Map<Integer, ModerationOutcome> results = resolve(ids, targets, requester, delete);
+        List<ModerationTargetDto> changing = changing(targets, results, delete);
+        int changed = update(ids(changing), delete, postRepository::updateDeleted);
+        if (changing.isEmpty()) {
+            return result("posts", ids, changed, results);
+        }
+        refreshFolderStats(changing);
+        TransactionCallbacks.afterCommit(postCountCache::invalidateAll);
+        if (delete) {
+            changing.forEach(target -> postSearchService.removePost(target.id()));
+        } else {
+            forEachChunk(ids(changing), chunk -> postRepository.findForIndexing(chunk).forEach(postSearchService::indexPost));
+        }
+        return result("posts", ids, changed, results);
+    }
+
+    private BulkModerationResultDto moderateComments(List<Integer> ids,
+                                                     List<ModerationTargetDto> targets,
+                                                     User requester,
+                                                     boolean delete) {
+        Map<Integer, ModerationOutcome> results = resolve(ids, targets, requester, delete);
+        List<ModerationTargetDto> changing = changing(targets, results, delete);
+        int changed = update(ids(changing), delete, commentRepository::updateDeleted);
+        if (changing.isEmpty()) {
+            return result("comments", ids, changed, results);
+        }
+        forEachChunk(distinct(changing, ModerationTargetDto::postId), postRepository::refreshCommentsCount);
+        forEachChunk(distinct(changing, ModerationTargetDto::parentId), commentRepository::refreshReplyCounts);
+        refreshFolderStats(changing);
+        publish(changing, delete ? CommentEventType.DELETED : CommentEventType.RESTORED);
+        return result("comments", ids, changed, results);
+    }
+
+    private User findModerator(int requesterId) {
+        User requester = userRepository.findById(requesterId);
+        if (!requester.isModerator()) {
+            throw new AuthorizationException(MODERATION_AUTHORIZATION_ERROR);
+        }
+        return requester;
+    }
+
+    // Same rule as single-item moderation: moderators act on regular users' content, admins on anyone's.
+    private boolean canModerate(User requester, Role authorRole) {
+        return requester.isAdmin() || authorRole == Role.USER;
+    }
+
+    private Map<Integer, ModerationOutcome> resolve(List<Integer> ids,
+                                                    List<ModerationTargetDto> targets,
+                                                    User requester,
+                                                    boolean delete) {
+        Map<Integer, ModerationOutcome> results = new LinkedHashMap<>();
+        ids.forEach(id -> results.put(id, ModerationOutcome.NOT_FOUND));
+        for (ModerationTargetDto target : targets) {
+            ModerationOutcome outcome;
+            if (target.userId() != requester.getId() && !canModerate(requester, target.authorRole())) {
+                outcome = ModerationOutcome.FORBIDDEN;
+            } else if (target.deleted() == delete) {
+                outcome = delete ? ModerationOutcome.ALREADY_DELETED : ModerationOutcome.NOT_DELETED;
+            } else {
+                outcome = delete ? ModerationOutcome.DELETED : ModerationOutcome.RESTORED;
+            }
+            results.put(target.id(), outcome);
+        }
+        return results;
+    }
+
+    private List<ModerationTargetDto> changing(List<ModerationTargetDto> targets,
+                                               Map<Integer, ModerationOutcome> results,
+                                               boolean delete) {
+        ModerationOutcome outcome = delete ? ModerationOutcome.DELETED : ModerationOutcome.RESTORED;
+        return targets.stream()
+                .filter(target -> results.get(target.id()) == outcome)
+                .toList();
+    }
+
+    private int update(List<Integer> ids, boolean delete, BulkUpdate bulkUpdate) {
+        LocalDateTime deletedAt = delete ? LocalDateTime.now() : null;
+        int changed = 0;
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            changed += bulkUpdate.apply(ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size())), delete, deletedAt);
+        }
+        return changed;
+    }
+
+    private void refreshFolderStats(List<ModerationTargetDto> changing) {
+        distinct(changing, ModerationTargetDto::folderId).forEach(folderStatsRepository::refresh);
+    }
+
+    private void publish(List<ModerationTargetDto> changing, CommentEventType type) {
+        List<CommentEvent> events = changing.stream()
+                .map(target -> new CommentEvent(type, target.postId(), target.id(), target.parentId(),
+                        target.userId(), null, null, null, null))
+                .toList();
+        TransactionCallbacks.afterCommit(() -> events.forEach(commentEventBroker::publish));
+    }
+
+    private BulkModerationResultDto result(String target,
+                                           List<Integer> ids,
+                                           int changed,
+                                           Map<Integer, ModerationOutcome> results) {
+        return BulkModerationResultDto.builder()
+                .target(target)
+                .requested(ids.size())
+                .changed(changed)
+                .results(results)
+                .build();
+    }
+
+    private static List<ModerationTargetDto> loadTargets(List<Integer> ids,
+                                                         Function<List<Integer>, List<ModerationTargetDto>> loader) {
+        List<ModerationTargetDto> targets = new ArrayList<>(ids.size());
+        forEachChunk(ids, chunk -> targets.addAll(loader.apply(chunk)));
+        return targets;
+    }
+
+    private static <T> void forEachChunk(List<T> items, Consumer<List<T>> action) {
+        for (int from = 0; from < items.size(); from += CHUNK_SIZE) {
+            action.accept(items.subList(from, Math.min(from + CHUNK_SIZE, items.size())));
+        }
+    }
+
+    private static List<Integer> ids(List<ModerationTargetDto> targets) {
+        return targets.stream().map(ModerationTargetDto::id).toList();
+    }
+
+    private static List<Integer> distinct(List<ModerationTargetDto> targets,
+                                          Function<ModerationTargetDto, Integer> key) {
+        return targets.stream().map(key).filter(Objects::nonNull).distinct().toList();
+    }
+
+    @FunctionalInterface
+    private interface BulkUpdate {
+        int apply(List<Integer> ids, boolean deleted, LocalDateTime deletedAt);
+    }
+}
@@ -0,0 +1,70 @@
+package com.team3.forum.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * Post totals per (folder, tag) for the unfiltered listings. Folder id 0 stands for all posts and
+ * tag id 0 for any tag. Entries are dropped when posts in the folder change and expire after a TTL
+ * as a safety net for writes that bypass {@link PostServiceImpl}.
+ */
+@Component
+public class PostCountCache {
+
+    private final Map<Key, Entry> counts = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Duration ttl;
+    private final Clock clock;
+
+    @Autowired
+    public PostCountCache(@Value("${forum.posts.count-cache.ttl-seconds:300}") long ttlSeconds) {
+        this(Duration.ofSeconds(ttlSeconds), Clock.systemUTC());
+    }
+
+    PostCountCache(Duration ttl, Clock clock) {
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    public int get(int folderId, int tagId, IntSupplier loader) {
+        Key key = new Key(folderId, tagId);
+        Instant now = clock.instant();
+        Entry cached = counts.get(key);
+        if (cached != null && cached.expiresAt().isAfter(now)) {
+            return cached.count();
+        }
+
+        long seen = generation.get();
+        int count = loader.getAsInt();
+        // An invalidation that raced with the load may not be reflected in the count, so do not keep it.
+        if (generation.get() == seen) {
+            counts.put(key, new Entry(count, now.plus(ttl)));
+        }
+        return count;
+    }
+
+    public void invalidateFolder(int folderId) {
+        generation.incrementAndGet();
+        counts.keySet().removeIf(key -> key.folderId() == folderId || key.folderId() == 0);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        counts.clear();
+    }
+
+    private record Key(int folderId, int tagId) {
+    }
+
+    private record Entry(int count, Instant expiresAt) {
+    }
+}
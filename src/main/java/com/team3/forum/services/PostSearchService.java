@@ -0,0 +1,26 @@
+package com.team3.forum.services;
+
+import com.team3.forum.models.Folder;
+import com.team3.forum.models.Post;
+import com.team3.forum.search.Highlight;
+import com.team3.forum.search.SearchResult;
+
+import java.util.Optional;
+
+public interface PostSearchService {
+    boolean isReady();
+
+    Optional<SearchResult> findMatches(String query, Folder folder, int tagId);
+
+    Optional<SearchResult> findMatchesInSubtree(String query, Folder subtreeRoot, int tagId);
+
+    SearchResult search(String query, Integer folderId, int offset, int limit);
+
+    Highlight highlight(int postId, String query);
+
+    void indexPost(Post post);
+
+    void removePost(int postId);
+
+    void rebuild();
+}
@@ -0,0 +1,218 @@
+package com.team3.forum.services;
+
+import com.team3.forum.exceptions.EntityNotFoundException;
+import com.team3.forum.helpers.TransactionCallbacks;
+import com.team3.forum.models.Folder;
+import com.team3.forum.models.Post;
+import com.team3.forum.models.Tag;
+import com.team3.forum.repositories.PostRepository;
+import com.team3.forum.search.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Owns the in-process {@link PostSearchIndex}. The index is built in parallel once the application
+ * is up and then kept current by {@link PostServiceImpl}, whose changes are applied after commit.
+ * Changes that arrive while a build is running are replayed onto the new index before it is swapped in.
+ */
+@Slf4j
+@Service
+public class PostSearchServiceImpl implements PostSearchService {
+    private static final int SNIPPET_LENGTH = 200;
+
+    private final PostRepository postRepository;
+    private final FolderTreeCache folderTreeCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxHits;
+    private final int batchSize;
+    private final int threads;
+
+    private final Object lock = new Object();
+    private final List<Consumer<PostSearchIndex>> pending = new ArrayList<>();
+    private boolean building;
+    private volatile PostSearchIndex index;
+
+    @Autowired
+    public PostSearchServiceImpl(PostRepository postRepository,
+                                 FolderTreeCache folderTreeCache,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${forum.search.max-hits:1000}") int maxHits,
+                                 @Value("${forum.search.build-batch-size:1000}") int batchSize,
+                                 @Value("${forum.search.build-threads:4}") int threads) {
+        this.postRepository = postRepository;
+        this.folderTreeCache = folderTreeCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.maxHits = maxHits;
+        this.batchSize = batchSize;
+        this.threads = Math.max(threads, 1);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Override
+    public boolean isReady() {
+        return index != null;
+    }
+
+    /**
+     * The best-ranked matches, at most forum.search.max-hits of them, with the total number of
+     * matches; empty while the index is still being built.
+     */
+    @Override
+    public Optional<SearchResult> findMatches(String query, Folder folder, int tagId) {
+        PostSearchIndex current = index;
+        if (current == null) {
+            return Optional.empty();
+        }
+        Set<Integer> folderIds = folder == null ? null : Set.of(folder.getId());
+        return Optional.of(current.search(SearchQuery.parse(query), folderIds, tagId, maxHits));
+    }
+
+    @Override
+    public Optional<SearchResult> findMatchesInSubtree(String query, Folder subtreeRoot, int tagId) {
+        PostSearchIndex current = index;
+        if (current == null) {
+            return Optional.empty();
+        }
+        // A folder created in the running transaction is not in the cached tree yet and has no subfolders.
+        Set<Integer> folderIds = folderTreeCache.get().subtreeIds(subtreeRoot.getId());
+        if (folderIds.isEmpty()) {
+            folderIds = Set.of(subtreeRoot.getId());
+        }
+        return Optional.of(current.search(SearchQuery.parse(query), folderIds, tagId, maxHits));
+    }
+
+    @Override
+    public SearchResult search(String query, Integer folderId, int offset, int limit) {
+        Set<Integer> folderIds = folderId == null ? null : getSubtreeFolderIds(folderId);
+        PostSearchIndex current = index;
+        if (current == null) {
+            return SearchResult.empty();
+        }
+        SearchResult result = current.search(SearchQuery.parse(query), folderIds, 0, offset + limit);
+        List<SearchHit> hits = result.hits();
+        return new SearchResult(hits.subList(Math.min(offset, hits.size()), hits.size()), result.totalHits());
+    }
+
+    @Override
+    public Highlight highlight(int postId, String query) {
+        PostSearchIndex current = index;
+        SearchDocument document = current == null ? null : current.getDocument(postId);
+        if (document == null) {
+            return new Highlight("", "");
+        }
+        SearchQuery parsed = SearchQuery.parse(query);
+        return new Highlight(
+                Highlighter.highlight(document.title(), parsed, SNIPPET_LENGTH),
+                Highlighter.highlight(document.content(), parsed, SNIPPET_LENGTH));
+    }
+
+    @Override
+    public void indexPost(Post post) {
+        if (post.isDeleted()) {
+            removePost(post.getId());
+            return;
+        }
+        // Captured now, while the tags can still be loaded, and applied once the change is visible.
+        SearchDocument document = toDocument(post);
+        TransactionCallbacks.afterCommit(() -> apply(target -> target.add(document)));
+    }
+
+    @Override
+    public void removePost(int postId) {
+        TransactionCallbacks.afterCommit(() -> apply(target -> target.remove(postId)));
+    }
+
+    @Override
+    public void rebuild() {
+        synchronized (lock) {
+            if (building) {
+                return;
+            }
+            building = true;
+            pending.clear();
+        }
+        PostSearchIndex fresh = new PostSearchIndex();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            int maxId = transactionTemplate.execute(status -> postRepository.getMaxPostId());
+            List<Future<?>> batches = new ArrayList<>();
+            for (int fromId = 1; fromId <= maxId; fromId += batchSize) {
+                int from = fromId;
+                int to = fromId + batchSize - 1;
+                batches.add(executor.submit(() -> transactionTemplate.execute(status ->
+                                postRepository.findAllForIndexing(from, to).stream()
+                                        .map(PostSearchServiceImpl::toDocument)
+                                        .toList())
+                        .forEach(fresh::add)));
+            }
+            for (Future<?> batch : batches) {
+                batch.get();
+            }
+            synchronized (lock) {
+                pending.forEach(change -> change.accept(fresh));
+                index = fresh;
+            }
+            log.info("Search index built with {} posts", fresh.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RuntimeException e) {
+            log.warn("Failed to build the search index: {}", e.getMessage());
+        } finally {
+            executor.shutdownNow();
+            synchronized (lock) {
+                building = false;
+                pending.clear();
+            }
+        }
+    }
+
+    private void apply(Consumer<PostSearchIndex> change) {
+        synchronized (lock) {
+            if (building) {
+                pending.add(change);
+            }
+            if (index != null) {
+                change.accept(index);
+            }
+        }
+    }
+
+    private Set<Integer> getSubtreeFolderIds(int folderId) {
+        Set<Integer> subtree = folderTreeCache.get().subtreeIds(folderId);
+        if (subtree.isEmpty()) {
+            throw new EntityNotFoundException("Folder", folderId);
+        }
+        return subtree;
+    }
+
+    private static SearchDocument toDocument(Post post) {
+        return new SearchDocument(
+                post.getId(),
+                post.getFolder() == null ? 0 : post.getFolder().getId(),
+                post.getTags().stream().map(Tag::getId).collect(Collectors.toUnmodifiableSet()),
+                post.getTitle(),
+                post.getContent(),
+                post.getTags().stream().map(Tag::getName).toList());
+    }
+}
@@ -2,16 +2,28 @@ package com.team3.forum.services;
 
 import com.team3.forum.models.Folder;
 import com.team3.forum.models.Post;
+import com.team3.forum.models.likeDtos.LikersPage;
 import com.team3.forum.models.postDtos.PostCreationDto;
 import com.team3.forum.models.postDtos.PostPage;
 import com.team3.forum.models.postDtos.PostResponseDto;
+import com.team3.forum.models.postDtos.PostSearchPage;
+import com.team3.forum.models.postDtos.PostSummaryDto;
 import com.team3.forum.models.postDtos.PostUpdateDto;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface PostService {
     List<Post> findAll();
 
+    List<PostSummaryDto> findAllSummaries();
+
+    List<PostSummaryDto> findSummariesByIds(Collection<Integer> ids);
+
+    List<PostSummaryDto> findSummariesByUser(int userId);
+
+    List<PostSummaryDto> findSummariesInFolder(Folder folder);
+
     Post findById(int id);
 
     Post findByIdIncludeDeleted(int id, int requesterId);
@@ -26,21 +38,29 @@ public interface PostService {
 
     int getLikes(int postId);
 
-    void likePost(int postId, int userId);
+    int likePost(int postId, int userId);
 
-    void unlikePost(int postId, int userId);
+    int unlikePost(int postId, int userId);
+
+    LikersPage getLikers(int postId, String cursor, int size);
 
     void registerView(int postId, int userId);
 
     long getPostViews(int postId);
 
-    List<Post> getPostsInFolderPaginated(Folder folder, int page, String orderBy, String direction);
+    List<PostSummaryDto> getPostsInFolderPaginated(Folder folder, int page, String orderBy, String direction);
+
+    PostPage getPostsInFolderPaginated(Folder folder, int page, String searchQuery, String orderBy, String direction, int tagId, boolean includeTotal);
+
+    PostPage getPostsInFolderPaginated(Folder folder, boolean includeSubfolders, int page, String searchQuery, String orderBy, String direction, int tagId, boolean includeTotal);
+
+    PostPage getPostsInFolderByCursor(Folder folder, String cursor, String searchQuery, String orderBy, String direction, int tagId, boolean includeTotal);
 
-    PostPage getPostsInFolderPaginated(Folder folder, int page, String searchQuery, String orderBy, String direction, int tagId);
+    PostPage getPostsInFolderByCursor(Folder folder, boolean includeSubfolders, String cursor, String searchQuery, String orderBy, String direction, int tagId, boolean includeTotal);
 
-    List<Post> getTrendingPosts();
+    PostSearchPage searchPosts(String query, Integer folderId, int page);
 
     int getPostsCount();
 
-    PostResponseDto buildPostResponseDto(Post post);
+    PostResponseDto buildPostResponseDto(Post post, Integer viewerId);
 }
@@ -3,10 +3,10 @@ package com.team3.forum.services;
 import com.team3.forum.exceptions.AuthorizationException;
 import com.team3.forum.exceptions.DuplicateEntityException;
 import com.team3.forum.exceptions.EntityNotFoundException;
-import com.team3.forum.helpers.CommentMapper;
+import com.team3.forum.helpers.MarkdownService;
 import com.team3.forum.helpers.PostMapper;
 import com.team3.forum.helpers.TimeAgo;
-import com.team3.forum.helpers.UserMapper;
+import com.team3.forum.helpers.TransactionCallbacks;
 import com.team3.forum.models.Folder;
 import com.team3.forum.models.Post;
 import com.team3.forum.models.Tag;
@@ -14,17 +14,29 @@ import com.team3.forum.models.User;
 import com.team3.forum.models.enums.PostSortField;
 import com.team3.forum.models.enums.Role;
 import com.team3.forum.models.enums.SortDirection;
+import com.team3.forum.models.likeDtos.LikerCursor;
+import com.team3.forum.models.likeDtos.LikersPage;
 import com.team3.forum.models.postDtos.*;
 import com.team3.forum.models.tagDtos.TagResponseDto;
+import com.team3.forum.models.userDtos.UserSummaryDto;
 import com.team3.forum.repositories.*;
+import com.team3.forum.search.Highlight;
+import com.team3.forum.search.SearchHit;
+import com.team3.forum.search.SearchResult;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -35,15 +47,20 @@ public class PostServiceImpl implements PostService {
     public static final String DELETE_AUTHORIZATION_ERROR = "You cannot delete this post.";
     public static final String RESTORE_AUTHORIZATION_ERROR = "You cannot restore this post.";
     public static final int POSTS_PAGE_SIZE = 10;
+    public static final int EXCERPT_LENGTH = 280;
+    public static final int MAX_LIKERS_PAGE_SIZE = 100;
 
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final FolderRepository folderRepository;
     private final PostViewRepository postViewRepository;
     private final PostMapper postMapper;
-    private final CommentMapper commentMapper;
-    private final UserMapper userMapper;
     private final TagRepository tagRepository;
+    private final PostViewRecorder postViewRecorder;
+    private final PostCountCache postCountCache;
+    private final PostSearchService postSearchService;
+    private final MarkdownService markdownService;
+    private final FolderStatsRepository folderStatsRepository;
 
     @Autowired
     public PostServiceImpl(PostRepository postRepository,
@@ -51,17 +68,23 @@ public class PostServiceImpl implements PostService {
                            FolderRepository folderRepository,
                            PostViewRepository postViewRepository,
                            PostMapper postMapper,
-                           CommentMapper commentMapper,
-                           UserMapper userMapper,
-                           TagRepository tagRepository) {
+                           TagRepository tagRepository,
+                           PostViewRecorder postViewRecorder,
+                           PostCountCache postCountCache,
+                           PostSearchService postSearchService,
+                           MarkdownService markdownService,
+                           FolderStatsRepository folderStatsRepository) {
         this.postRepository = postRepository;
         this.userRepository = userRepository;
         this.folderRepository = folderRepository;
         this.postViewRepository = postViewRepository;
         this.postMapper = postMapper;
-        this.commentMapper = commentMapper;
-        this.userMapper = userMapper;
         this.tagRepository = tagRepository;
+        this.postViewRecorder = postViewRecorder;
+        this.postCountCache = postCountCache;
+        this.postSearchService = postSearchService;
+        this.markdownService = markdownService;
+        this.folderStatsRepository = folderStatsRepository;
     }
 
     @Override
@@ -70,6 +93,30 @@ public class PostServiceImpl implements PostService {
         return postRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<PostSummaryDto> findAllSummaries() {
+        return withTags(postRepository.findAllSummaries());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PostSummaryDto> findSummariesByIds(Collection<Integer> ids) {
+        return withTags(postRepository.findSummariesByIds(ids));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PostSummaryDto> findSummariesByUser(int userId) {
+        return withTags(postRepository.findSummariesByUser(userId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PostSummaryDto> findSummariesInFolder(Folder folder) {
+        return withTags(postRepository.findSummariesInFolder(folder));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Post findById(int id) {
@@ -105,6 +152,9 @@ public class PostServiceImpl implements PostService {
         persistent.setDeleted(true);
         persistent.setDeletedAt(LocalDateTime.now());
         postRepository.save(persistent);
+        refreshFolderStats(persistent);
+        invalidatePostCounts(persistent);
+        postSearchService.removePost(persistent.getId());
     }
 
     @Override
@@ -121,7 +171,11 @@ public class PostServiceImpl implements PostService {
 
         persistent.setDeleted(false);
         persistent.setDeletedAt(null);
-        return postRepository.save(persistent);
+        invalidatePostCounts(persistent);
+        Post restored = postRepository.save(persistent);
+        refreshFolderStats(restored);
+        postSearchService.indexPost(restored);
+        return restored;
     }
 
     @Override
@@ -129,9 +183,15 @@ public class PostServiceImpl implements PostService {
         Post post = postMapper.toEntity(postCreationDto);
         post.setFolder(folderRepository.findById(postCreationDto.getFolderId()));
         post.setUser(userRepository.findById(userId));
+        post.setExcerpt(markdownService.toExcerpt(post.getContent(), EXCERPT_LENGTH));
         List<String> tagsToAdd = List.of(postCreationDto.getTag1(), postCreationDto.getTag2(), postCreationDto.getTag3());
         setTags(post, tagsToAdd);
-        return postRepository.save(post);
+        invalidatePostCounts(post);
+        Post created = postRepository.save(post);
+        folderStatsRepository.recordPost(created.getFolder().getId(), created.getId(),
+                created.getCreatedAt() != null ? created.getCreatedAt() : LocalDateTime.now());
+        postSearchService.indexPost(created);
+        return created;
     }
 
     @Override
@@ -145,99 +205,197 @@ public class PostServiceImpl implements PostService {
 
         persistent.setTitle(postUpdateDto.getTitle());
         persistent.setContent(postUpdateDto.getContent());
+        persistent.setExcerpt(markdownService.toExcerpt(postUpdateDto.getContent(), EXCERPT_LENGTH));
         persistent.setTags(new HashSet<>());
         List<String> tagsToAdd = List.of(postUpdateDto.getTag1(), postUpdateDto.getTag2(), postUpdateDto.getTag3());
         setTags(persistent, tagsToAdd);
+        invalidatePostCounts(persistent);
 
-        return postRepository.save(persistent);
+        Post updated = postRepository.save(persistent);
+        postSearchService.indexPost(updated);
+        return updated;
     }
 
     @Override
     @Transactional(readOnly = true)
     public int getLikes(int postId) {
-        Post post = postRepository.findById(postId);
-        return post.getLikedBy().size();
+        return postRepository.getLikesCount(postId);
     }
 
     @Override
-    public void likePost(int postId, int userId) {
-        Post post = postRepository.findById(postId);
-        User user = userRepository.findById(userId);
-
-        if (post.getLikedBy().contains(user)) {
+    public int likePost(int postId, int userId) {
+        // The counter goes first: it fails for a missing post, which the insert ignore would not, and
+        // the exception below rolls it back again for a duplicate like.
+        int likesCount = postRepository.updateLikesCount(postId, 1);
+        if (!postRepository.addLike(postId, userId)) {
             throw new DuplicateEntityException(ALREADY_LIKED_ERROR);
         }
-
-        post.getLikedBy().add(user);
-        user.getLikedPosts().add(post);
-
-        postRepository.save(post);
+        return likesCount;
     }
 
     @Override
-    public void unlikePost(int postId, int userId) {
-        Post post = postRepository.findById(postId);
-        User user = userRepository.findById(userId);
-
-        if (!post.getLikedBy().contains(user)) {
+    public int unlikePost(int postId, int userId) {
+        int likesCount = postRepository.updateLikesCount(postId, -1);
+        if (!postRepository.removeLike(postId, userId)) {
             throw new EntityNotFoundException(NOT_LIKED_ERROR);
         }
+        return likesCount;
+    }
 
-        post.getLikedBy().remove(user);
-        user.getLikedPosts().remove(post);
-
-        postRepository.save(post);
+    @Override
+    @Transactional(readOnly = true)
+    public LikersPage getLikers(int postId, String cursor, int size) {
+        int likesCount = postRepository.getLikesCount(postId);
+        int pageSize = Math.max(1, Math.min(size, MAX_LIKERS_PAGE_SIZE));
+        int afterUserId = LikerCursor.decode(cursor).map(LikerCursor::userId).orElse(0);
+        List<UserSummaryDto> likers = new ArrayList<>(postRepository.findLikers(postId, afterUserId, pageSize + 1));
+        boolean hasNext = likers.size() > pageSize;
+        if (hasNext) {
+            likers.subList(pageSize, likers.size()).clear();
+        }
+        return LikersPage.builder()
+                .likesCount(likesCount)
+                .items(likers)
+                .size(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? new LikerCursor(likers.get(likers.size() - 1).getUserId()).encode() : null)
+                .build();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Post> getPostsInFolderPaginated(Folder folder, int page, String orderBy, String direction) {
+    public List<PostSummaryDto> getPostsInFolderPaginated(Folder folder, int page, String orderBy, String direction) {
         PostSortField sortField = getSortField(orderBy);
         SortDirection sortDirection = getSortDirection(direction);
         if (page < 1) {
             page = 1;
         }
-        return postRepository.findPostsInFolderPaginated(page, POSTS_PAGE_SIZE, folder, sortField, sortDirection);
+        return withTags(postRepository.findPostsInFolderPaginated(page, POSTS_PAGE_SIZE, folder, sortField, sortDirection));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PostPage getPostsInFolderPaginated(Folder folder, int page, String searchQuery, String orderBy, String direction, int tagId) {
+    public PostPage getPostsInFolderPaginated(Folder folder, int page, String searchQuery, String orderBy, String direction, int tagId, boolean includeTotal) {
+        return getPostsInFolderPaginated(folder, false, page, searchQuery, orderBy, direction, tagId, includeTotal);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PostPage getPostsInFolderPaginated(Folder folder, boolean includeSubfolders, int page, String searchQuery, String orderBy, String direction, int tagId, boolean includeTotal) {
+        return getPostsPaginated(new PostScope(folder, includeSubfolders && folder != null),
+                page, searchQuery, orderBy, direction, tagId, includeTotal);
+    }
+
+    private PostPage getPostsPaginated(PostScope scope, int page, String searchQuery, String orderBy, String direction, int tagId, boolean includeTotal) {
         PostSortField sortField = getSortField(orderBy);
         SortDirection sortDirection = getSortDirection(direction);
         if (page < 1) {
             page = 1;
         }
-        int totalPosts = postRepository.countPostsInFolderWithTagAndSearch(folder, tagId, searchQuery);
-        int searchPage = Math.min((totalPosts - 1) / POSTS_PAGE_SIZE + 1, page);
+        SearchResult matches = findSearchMatches(searchQuery, scope, tagId);
+        List<Integer> matchingIds = matches == null ? null : postIds(matches);
+        String likeQuery = matches == null ? searchQuery : null;
+        Integer totalPosts = matchingIds != null ? Integer.valueOf(matchingIds.size())
+                : includeTotal ? Integer.valueOf(countPosts(scope, tagId, searchQuery)) : null;
+        if (totalPosts != null) {
+            page = Math.min(page, ((totalPosts - 1) / POSTS_PAGE_SIZE) + 1);
+        }
 
-        List<Post> posts = postRepository.findPostsInFolderWithTagPaginated(
-                searchPage, POSTS_PAGE_SIZE, searchQuery, folder, sortField, sortDirection, tagId);
+        // One extra row tells whether there is a next page without counting.
+        int offset = (page - 1) * POSTS_PAGE_SIZE;
+        List<PostSummaryDto> posts = new ArrayList<>(scope.subtree()
+                ? postRepository.findPostsInSubtreeWithTagPaginated(
+                offset, POSTS_PAGE_SIZE + 1, likeQuery, matchingIds, scope.folder(), sortField, sortDirection, tagId)
+                : postRepository.findPostsInFolderWithTagPaginated(
+                offset, POSTS_PAGE_SIZE + 1, likeQuery, matchingIds, scope.folder(), sortField, sortDirection, tagId));
+        boolean hasNext = posts.size() > POSTS_PAGE_SIZE;
+        if (hasNext) {
+            posts.remove(POSTS_PAGE_SIZE);
+        }
 
-        List<PostResponseDto> postResponseDtos = posts.stream().map(this::buildPostResponseDto).toList();
+        return buildPostPage(posts, page, totalPosts, page > 1, hasNext,
+                sortField, sortDirection, searchQuery, tagId, matches);
+    }
 
-        int totalPages = ((totalPosts - 1) / POSTS_PAGE_SIZE) + 1;
-        page = Math.min(page, totalPages);
-        int fromItem = Math.min((page - 1) * POSTS_PAGE_SIZE + 1, totalPosts);
-        int toItem = Math.min(totalPosts, page * POSTS_PAGE_SIZE);
+    @Override
+    @Transactional(readOnly = true)
+    public PostPage getPostsInFolderByCursor(Folder folder, String cursor, String searchQuery, String orderBy, String direction, int tagId, boolean includeTotal) {
+        return getPostsInFolderByCursor(folder, false, cursor, searchQuery, orderBy, direction, tagId, includeTotal);
+    }
 
-        return PostPage.builder()
-                .items(postResponseDtos)
-                .fromItem(fromItem)
-                .toItem(toItem)
-                .page(page)
-                .size(POSTS_PAGE_SIZE)
-                .totalItems(totalPosts)
-                .totalPages(totalPages)
-                .searchQuery(searchQuery)
-                .tagId(tagId)
-                .build();
+    @Override
+    @Transactional(readOnly = true)
+    public PostPage getPostsInFolderByCursor(Folder folder, boolean includeSubfolders, String cursor, String searchQuery, String orderBy, String direction, int tagId, boolean includeTotal) {
+        PostScope scope = new PostScope(folder, includeSubfolders && folder != null);
+        PostCursor position = PostCursor.decode(cursor).orElse(null);
+        if (position == null) {
+            return getPostsPaginated(scope, 1, searchQuery, orderBy, direction, tagId, includeTotal);
+        }
+
+        SearchResult matches = findSearchMatches(searchQuery, scope, tagId);
+        List<Integer> matchingIds = matches == null ? null : postIds(matches);
+        String likeQuery = matches == null ? searchQuery : null;
+        List<PostSummaryDto> posts = new ArrayList<>(scope.subtree()
+                ? postRepository.findPostsInSubtreeWithTagByCursor(POSTS_PAGE_SIZE + 1, likeQuery, matchingIds,
+                scope.folder(), tagId, position.sortField(), position.direction(), position)
+                : postRepository.findPostsInFolderWithTagByCursor(POSTS_PAGE_SIZE + 1, likeQuery, matchingIds,
+                scope.folder(), tagId, position.sortField(), position.direction(), position));
+        boolean hasMore = posts.size() > POSTS_PAGE_SIZE;
+        if (hasMore) {
+            posts.remove(POSTS_PAGE_SIZE);
+        }
+        if (posts.isEmpty()) {
+            return getPostsPaginated(scope, 1, searchQuery, orderBy, direction, tagId, includeTotal);
+        }
+        if (position.backward()) {
+            Collections.reverse(posts);
+        }
+
+        Integer totalPosts = matchingIds != null ? Integer.valueOf(matchingIds.size())
+                : includeTotal ? Integer.valueOf(countPosts(scope, tagId, searchQuery)) : null;
+        int page = position.backward() && !hasMore ? 1 : position.page();
+        if (totalPosts != null) {
+            page = Math.min(page, ((totalPosts - 1) / POSTS_PAGE_SIZE) + 1);
+        }
+
+        return buildPostPage(posts, page, totalPosts,
+                !position.backward() || hasMore,
+                position.backward() || hasMore,
+                position.sortField(), position.direction(), searchQuery, tagId, matches);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Post> getTrendingPosts() {
-        return postRepository.findAllSortedByViewsLastDays(5, 7);
+    public PostSearchPage searchPosts(String query, Integer folderId, int page) {
+        if (page < 1) {
+            page = 1;
+        }
+        SearchResult result = postSearchService.search(query, folderId, (page - 1) * POSTS_PAGE_SIZE, POSTS_PAGE_SIZE);
+        Map<Integer, PostSummaryDto> posts = findSummariesByIds(postIds(result)).stream()
+                .collect(Collectors.toMap(PostSummaryDto::getId, Function.identity()));
+
+        List<PostSearchHitDto> items = result.hits().stream()
+                .filter(hit -> posts.containsKey(hit.postId()))
+                .map(hit -> {
+                    Highlight highlight = postSearchService.highlight(hit.postId(), query);
+                    return PostSearchHitDto.builder()
+                            .post(posts.get(hit.postId()))
+                            .score(hit.score())
+                            .titleHighlight(highlight.title())
+                            .snippet(highlight.snippet())
+                            .build();
+                })
+                .toList();
+
+        return PostSearchPage.builder()
+                .query(query)
+                .items(items)
+                .page(page)
+                .size(POSTS_PAGE_SIZE)
+                .totalHits(result.totalHits())
+                .totalPages(((result.totalHits() - 1) / POSTS_PAGE_SIZE) + 1)
+                .indexReady(postSearchService.isReady())
+                .build();
     }
 
     @Override
@@ -247,9 +405,9 @@ public class PostServiceImpl implements PostService {
 
     @Override
     @Transactional(readOnly = true)
-    public PostResponseDto buildPostResponseDto(Post post) {
+    public PostResponseDto buildPostResponseDto(Post post, Integer viewerId) {
         Post persistent = findByIdIncludeDeleted(post.getId(), post.getUser().getId());
-        return postMapper.toResponseDto(persistent, buildPostCalculatedStatsDto(persistent));
+        return postMapper.toResponseDto(persistent, buildPostCalculatedStatsDto(persistent, viewerId));
     }
 
     private void setTags(Post post, List<String> tags) {
@@ -288,11 +446,9 @@ public class PostServiceImpl implements PostService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void registerView(int postId, int userId) {
-        LocalDate now = LocalDateTime.now().toLocalDate();
-        if (!postViewRepository.existsForDate(postId, userId, now)) {
-            postViewRepository.registerView(postId, userId);
-        }
+        postViewRecorder.record(postId, userId);
     }
 
     @Override
@@ -301,7 +457,104 @@ public class PostServiceImpl implements PostService {
 
     }
 
+    private PostPage buildPostPage(List<PostSummaryDto> posts,
+                                   int page,
+                                   Integer totalPosts,
+                                   boolean hasPrevious,
+                                   boolean hasNext,
+                                   PostSortField sortField,
+                                   SortDirection sortDirection,
+                                   String searchQuery,
+                                   int tagId,
+                                   SearchResult matches) {
+        Integer totalPages = totalPosts == null ? null : ((totalPosts - 1) / POSTS_PAGE_SIZE) + 1;
+        int fromItem = posts.isEmpty() ? 0 : (page - 1) * POSTS_PAGE_SIZE + 1;
+        int toItem = posts.isEmpty() ? 0 : fromItem + posts.size() - 1;
+
+        String prevCursor = null;
+        String nextCursor = null;
+        if (!posts.isEmpty()) {
+            if (hasPrevious) {
+                prevCursor = PostCursor.before(posts.get(0), sortField, sortDirection, Math.max(page - 1, 1)).encode();
+            }
+            if (hasNext) {
+                nextCursor = PostCursor.after(posts.get(posts.size() - 1), sortField, sortDirection, page + 1).encode();
+            }
+        }
+
+        return PostPage.builder()
+                .items(withTags(posts))
+                .fromItem(fromItem)
+                .toItem(toItem)
+                .page(page)
+                .size(POSTS_PAGE_SIZE)
+                .totalItems(totalPosts)
+                .totalPages(totalPages)
+                .hasPrevious(hasPrevious)
+                .hasNext(hasNext)
+                .searchQuery(searchQuery)
+                .totalSearchHits(matches == null ? null : matches.totalHits())
+                .moreSearchHits(matches != null && matches.totalHits() > matches.hits().size())
+                .tagId(tagId)
+                .prevCursor(prevCursor)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * The search index's best matches for the query, or null when there is no query or the index is
+     * still being built, in which case the title filter has to be used instead. A listing pages over
+     * these matches only; when the index found more, the page says so rather than falling back.
+     */
+    private SearchResult findSearchMatches(String searchQuery, PostScope scope, int tagId) {
+        if (searchQuery == null || searchQuery.isBlank()) {
+            return null;
+        }
+        return (scope.subtree()
+                ? postSearchService.findMatchesInSubtree(searchQuery, scope.folder(), tagId)
+                : postSearchService.findMatches(searchQuery, scope.folder(), tagId))
+                .orElse(null);
+    }
+
+    private static List<Integer> postIds(SearchResult result) {
+        return result.hits().stream().map(SearchHit::postId).toList();
+    }
+
+    private int countPosts(PostScope scope, int tagId, String searchQuery) {
+        if (scope.subtree()) {
+            // Subtree totals are not cached: a post change only invalidates its own folder's entries.
+            return postRepository.countPostsInSubtreeWithTagAndSearch(scope.folder(), tagId, searchQuery);
+        }
+        Folder folder = scope.folder();
+        if (searchQuery != null && !searchQuery.isBlank()) {
+            return postRepository.countPostsInFolderWithTagAndSearch(folder, tagId, searchQuery);
+        }
+        return postCountCache.get(folder == null ? 0 : folder.getId(), tagId,
+                () -> postRepository.countPostsInFolderWithTag(folder, tagId));
+    }
+
+    /**
+     * The folders a listing covers: a single folder (or all posts when it is null), or, when subtree
+     * is set, that folder and everything below it.
+     */
+    private record PostScope(Folder folder, boolean subtree) {
+    }
+
+    private void refreshFolderStats(Post post) {
+        if (post.getFolder() != null) {
+            folderStatsRepository.refresh(post.getFolder().getId());
+        }
+    }
+
+    private void invalidatePostCounts(Post post) {
+        int folderId = post.getFolder() == null ? 0 : post.getFolder().getId();
+        TransactionCallbacks.afterCommit(() -> postCountCache.invalidateFolder(folderId));
+    }
+
     private PostSortField getSortField(String orderBy) {
+        if ("most_commented".equalsIgnoreCase(orderBy)) {
+            return PostSortField.COMMENTS_COUNT;
+        }
         try {
             return PostSortField.valueOf(orderBy.toUpperCase());
         } catch (IllegalArgumentException ignored) {
@@ -317,24 +570,34 @@ public class PostServiceImpl implements PostService {
         }
     }
 
-    private PostCalculatedStatsDto buildPostCalculatedStatsDto(Post post) {
+    private List<PostSummaryDto> withTags(List<PostSummaryDto> posts) {
+        if (posts.isEmpty()) {
+            return posts;
+        }
+        Map<Integer, List<Tag>> tags = postRepository.getTagsForPosts(posts.stream().map(PostSummaryDto::getId).toList());
+        posts.forEach(post -> post.setTags(toTagResponseDtos(tags.getOrDefault(post.getId(), List.of()))));
+        return posts;
+    }
+
+    private PostCalculatedStatsDto buildPostCalculatedStatsDto(Post post, Integer viewerId) {
         return PostCalculatedStatsDto.builder()
                 .creator(post.getUser().getUsername())
                 .userId(post.getUser().getId())
-                .commentsCount(post.getComments().size())
+                .commentsCount(post.getCommentsCount())
                 .views(getPostViews(post.getId()))
-                .comments(post.getComments().stream()
-                        .filter(c -> !c.isDeleted()).map(commentMapper::convertToDto).toList()
-                )
+                .likesCount(post.getLikesCount())
+                .likedByMe(viewerId != null && postRepository.isLikedBy(post.getId(), viewerId))
                 .createdAtString(TimeAgo.toTimeAgo(post.getCreatedAt()))
                 .updatedAtString(TimeAgo.toTimeAgo(post.getUpdatedAt()))
                 .deletedAtString(TimeAgo.toTimeAgo(post.getDeletedAt()))
                 .folderName(post.getFolder().getName())
-                .likedBy(post.getLikedBy().stream().map(userMapper::toResponseDto).toList())
-                .tags(post.getTags().stream()
-                        .map(tag -> TagResponseDto.builder().id(tag.getId()).name(tag.getName()).build())
-                        .toList()
-                )
+                .tags(toTagResponseDtos(post.getTags()))
                 .build();
     }
+
+    private List<TagResponseDto> toTagResponseDtos(Collection<Tag> tags) {
+        return tags.stream()
+                .map(tag -> TagResponseDto.builder().id(tag.getId()).name(tag.getName()).build())
+                .toList();
+    }
 }
@@ -0,0 +1,183 @@
+package com.team3.forum.services;
+
+import com.team3.forum.models.postDtos.DailyPostViewDto;
+import com.team3.forum.repositories.PostRepository;
+import com.team3.forum.repositories.PostViewRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Write-behind recorder for daily post views. Views are deduplicated in memory per day and
+ * written in batches by {@link #flush()}, together with the per-day rollup in post_view_daily,
+ * so recording a view never touches the database.
+ */
+@Slf4j
+@Component
+public class PostViewRecorder {
+
+    private final PostViewRepository postViewRepository;
+    private final PostRepository postRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int batchSize;
+    private final int maxPending;
+
+    private final AtomicReference<DailyViews> today;
+    private final ConcurrentLinkedQueue<DailyPostViewDto> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    @Autowired
+    public PostViewRecorder(PostViewRepository postViewRepository,
+                            PostRepository postRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${forum.views.flush-batch-size:500}") int batchSize,
+                            @Value("${forum.views.max-pending:100000}") int maxPending) {
+        this(postViewRepository, postRepository, transactionManager, batchSize, maxPending, Clock.systemDefaultZone());
+    }
+
+    PostViewRecorder(PostViewRepository postViewRepository,
+                     PostRepository postRepository,
+                     PlatformTransactionManager transactionManager,
+                     int batchSize,
+                     int maxPending,
+                     Clock clock) {
+        this.postViewRepository = postViewRepository;
+        this.postRepository = postRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        this.clock = clock;
+        this.today = new AtomicReference<>(new DailyViews(LocalDate.now(clock)));
+    }
+
+    public boolean record(int postId, int userId) {
+        DailyViews current = currentDay();
+        long key = key(postId, userId);
+        if (!current.seen().add(key)) {
+            return false;
+        }
+        if (pendingCount.incrementAndGet() > maxPending) {
+            pendingCount.decrementAndGet();
+            current.seen().remove(key);
+            log.warn("Dropping view of post {}: {} views are already waiting to be flushed", postId, maxPending);
+            return false;
+        }
+        pending.add(new DailyPostViewDto(postId, userId, current.day()));
+        return true;
+    }
+
+    @Scheduled(cron = "0 0 0 * * *")
+    public void rotate() {
+        currentDay();
+    }
+
+    @Scheduled(fixedDelayString = "${forum.views.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        List<DailyPostViewDto> batch = new ArrayList<>(batchSize);
+        DailyPostViewDto view;
+        while ((view = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            batch.add(view);
+            if (batch.size() == batchSize) {
+                if (!write(batch)) {
+                    requeue(batch);
+                    return;
+                }
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty() && !write(batch)) {
+            requeue(batch);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    private boolean write(List<DailyPostViewDto> batch) {
+        Map<LocalDate, Set<Integer>> postIdsByDay = new HashMap<>();
+        batch.forEach(view -> postIdsByDay.computeIfAbsent(view.viewDate(), day -> new HashSet<>()).add(view.postId()));
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                postViewRepository.insertIgnore(batch);
+                Set<Integer> postIds = new HashSet<>();
+                postIdsByDay.forEach((day, ids) -> {
+                    postViewRepository.refreshDailyViews(ids, day);
+                    postIds.addAll(ids);
+                });
+                postRepository.refreshViewsCount(postIds);
+            });
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush {} post views: {}", batch.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Puts the views of a failed write back for the next flush. Views that no longer fit under the
+     * pending limit are forgotten instead, so that the next view of the same post by the same user
+     * today records them again.
+     */
+    private void requeue(List<DailyPostViewDto> batch) {
+        DailyViews current = today.get();
+        for (DailyPostViewDto view : batch) {
+            if (pendingCount.incrementAndGet() <= maxPending) {
+                pending.add(view);
+            } else {
+                pendingCount.decrementAndGet();
+                if (current.day().equals(view.viewDate())) {
+                    current.seen().remove(key(view.postId(), view.userId()));
+                }
+            }
+        }
+    }
+
+    private static long key(int postId, int userId) {
+        return ((long) postId << 32) | (userId & 0xffffffffL);
+    }
+
+    private DailyViews currentDay() {
+        LocalDate now = LocalDate.now(clock);
+        DailyViews current = today.get();
+        while (!current.day().equals(now)) {
+            DailyViews next = new DailyViews(now);
+            if (today.compareAndSet(current, next)) {
+                return next;
+            }
+            current = today.get();
+        }
+        return current;
+    }
+
+    private record DailyViews(LocalDate day, Set<Long> seen) {
+        DailyViews(LocalDate day) {
+            this(day, ConcurrentHashMap.newKeySet());
+        }
+    }
+}
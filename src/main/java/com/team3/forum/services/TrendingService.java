@@ -0,0 +1,10 @@
+package com.team3.forum.services;
+
+import com.team3.forum.models.enums.TrendingWindow;
+import com.team3.forum.models.postDtos.TrendingSnapshot;
+
+public interface TrendingService {
+    TrendingSnapshot getSnapshot(TrendingWindow window);
+
+    void refresh();
+}
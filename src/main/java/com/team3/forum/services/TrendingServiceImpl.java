@@ -0,0 +1,153 @@
+package com.team3.forum.services;
+
+import com.team3.forum.models.PostViewDaily;
+import com.team3.forum.models.enums.TrendingWindow;
+import com.team3.forum.models.postDtos.PostSummaryDto;
+import com.team3.forum.models.postDtos.TrendingSnapshot;
+import com.team3.forum.repositories.PostViewRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps an immutable top-N snapshot of trending posts per {@link TrendingWindow}. Scores are the
+ * daily view rollups weighted by exponential decay, and the snapshots are recomputed on a schedule
+ * and swapped in as a whole so readers never see a partially built ranking.
+ */
+@Slf4j
+@Service
+public class TrendingServiceImpl implements TrendingService {
+
+    private final PostViewRepository postViewRepository;
+    private final PostService postService;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int size;
+    private final Map<TrendingWindow, Double> halfLifeHours;
+
+    private volatile Map<TrendingWindow, TrendingSnapshot> snapshots = Map.of();
+
+    @Autowired
+    public TrendingServiceImpl(PostViewRepository postViewRepository,
+                               PostService postService,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${forum.trending.size:10}") int size,
+                               @Value("${forum.trending.half-life-hours.24h:6}") double dayHalfLife,
+                               @Value("${forum.trending.half-life-hours.7d:48}") double weekHalfLife,
+                               @Value("${forum.trending.half-life-hours.30d:168}") double monthHalfLife) {
+        this(postViewRepository, postService, transactionManager, size,
+                Map.of(TrendingWindow.DAY, dayHalfLife,
+                        TrendingWindow.WEEK, weekHalfLife,
+                        TrendingWindow.MONTH, monthHalfLife),
+                Clock.systemDefaultZone());
+    }
+
+    TrendingServiceImpl(PostViewRepository postViewRepository,
+                        PostService postService,
+                        PlatformTransactionManager transactionManager,
+                        int size,
+                        Map<TrendingWindow, Double> halfLifeHours,
+                        Clock clock) {
+        this.postViewRepository = postViewRepository;
+        this.postService = postService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.size = size;
+        this.halfLifeHours = halfLifeHours;
+        this.clock = clock;
+    }
+
+    @Override
+    public TrendingSnapshot getSnapshot(TrendingWindow window) {
+        TrendingSnapshot snapshot = snapshots.get(window);
+        return snapshot != null ? snapshot : new TrendingSnapshot(window.getLabel(), null, List.of());
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${forum.trending.refresh-interval-ms:300000}")
+    public void refresh() {
+        try {
+            snapshots = transactionTemplate.execute(status -> computeSnapshots());
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh trending posts: {}", e.getMessage());
+        }
+    }
+
+    private Map<TrendingWindow, TrendingSnapshot> computeSnapshots() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        Duration longest = Arrays.stream(TrendingWindow.values())
+                .map(TrendingWindow::getLength)
+                .max(Comparator.naturalOrder())
+                .orElseThrow();
+        List<PostViewDaily> dailyViews = postViewRepository.findDailyViewsSince(now.minus(longest).toLocalDate());
+
+        Map<TrendingWindow, List<Integer>> rankings = new EnumMap<>(TrendingWindow.class);
+        Set<Integer> postIds = new HashSet<>();
+        for (TrendingWindow window : TrendingWindow.values()) {
+            List<Integer> ranking = rank(dailyViews, window, now);
+            rankings.put(window, ranking);
+            postIds.addAll(ranking);
+        }
+
+        Map<Integer, PostSummaryDto> posts = postService.findSummariesByIds(postIds)
+                .stream()
+                .collect(Collectors.toMap(PostSummaryDto::getId, Function.identity()));
+
+        Map<TrendingWindow, TrendingSnapshot> result = new EnumMap<>(TrendingWindow.class);
+        rankings.forEach((window, ranking) -> result.put(window, new TrendingSnapshot(
+                window.getLabel(),
+                now,
+                ranking.stream().map(posts::get).filter(Objects::nonNull).toList())));
+        return Collections.unmodifiableMap(result);
+    }
+
+    private List<Integer> rank(List<PostViewDaily> dailyViews, TrendingWindow window, LocalDateTime now) {
+        LocalDateTime windowStart = now.minus(window.getLength());
+        double halfLife = halfLifeHours.get(window);
+        Map<Integer, Double> scores = new HashMap<>();
+
+        for (PostViewDaily daily : dailyViews) {
+            LocalDateTime dayStart = daily.getViewDate().atStartOfDay();
+            LocalDateTime dayEnd = min(dayStart.plusDays(1), now);
+            LocalDateTime from = max(dayStart, windowStart);
+            if (!from.isBefore(dayEnd)) {
+                continue;
+            }
+            // Views are only known per day, so a day that straddles the window start counts proportionally.
+            double fraction = hours(from, dayEnd) / hours(dayStart, dayEnd);
+            double ageHours = hours(from, dayEnd) / 2 + hours(dayEnd, now);
+            double score = daily.getViews() * fraction * Math.pow(0.5, ageHours / halfLife);
+            scores.merge(daily.getPostId(), score, Double::sum);
+        }
+
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.<Integer, Double>comparingByKey()))
+                .limit(size)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private static double hours(LocalDateTime from, LocalDateTime to) {
+        return Duration.between(from, to).toSeconds() / 3600.0;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
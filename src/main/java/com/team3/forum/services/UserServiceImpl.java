@@ -3,6 +3,7 @@ package com.team3.forum.services;
 import com.team3.forum.exceptions.AuthorizationException;
 import com.team3.forum.exceptions.DuplicateEntityException;
 import com.team3.forum.exceptions.EntityUpdateConflictException;
+import com.team3.forum.helpers.TransactionCallbacks;
 import com.team3.forum.helpers.UserMapper;
 import com.team3.forum.models.User;
 import com.team3.forum.models.enums.Role;
@@ -11,6 +12,7 @@ import com.team3.forum.models.userDtos.UserPage;
 import com.team3.forum.models.userDtos.UserStatsDto;
 import com.team3.forum.models.userDtos.UserUpdateDto;
 import com.team3.forum.repositories.UserRepository;
+import com.team3.forum.security.UserDetailsCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -42,13 +44,15 @@ public class UserServiceImpl implements UserService {
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
     private final FileStorageService fileStorageService;
+    private final UserDetailsCache userDetailsCache;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper, PasswordEncoder passwordEncoder, FileStorageService fileStorageService) {
+    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper, PasswordEncoder passwordEncoder, FileStorageService fileStorageService, UserDetailsCache userDetailsCache) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
         this.passwordEncoder = passwordEncoder;
         this.fileStorageService = fileStorageService;
+        this.userDetailsCache = userDetailsCache;
     }
 
 
@@ -95,6 +99,7 @@ public class UserServiceImpl implements UserService {
             }
         }
         userMapper.updateEntityFromDto(dto, existingUser);
+        evictCachedPrincipal(id);
         return userRepository.save(existingUser);
     }
 
@@ -147,6 +152,7 @@ public class UserServiceImpl implements UserService {
             throw new EntityUpdateConflictException(DELETED_USER_ERROR);
         }
         user.setBlocked(true);
+        evictCachedPrincipal(id);
         return userRepository.save(user);
     }
 
@@ -175,6 +181,7 @@ public class UserServiceImpl implements UserService {
             throw new EntityUpdateConflictException(DELETED_USER_ERROR);
         }
         user.setBlocked(false);
+        evictCachedPrincipal(id);
         return userRepository.save(user);
     }
 
@@ -192,6 +199,7 @@ public class UserServiceImpl implements UserService {
             throw new EntityUpdateConflictException(DELETED_USER_ERROR);
         }
         user.setRole(Role.ADMIN);
+        evictCachedPrincipal(id);
         return userRepository.save(user);
     }
 
@@ -213,6 +221,7 @@ public class UserServiceImpl implements UserService {
         }
 
         user.setRole(Role.USER);
+        evictCachedPrincipal(userId);
         return userRepository.save(user);
     }
 
@@ -233,6 +242,7 @@ public class UserServiceImpl implements UserService {
             throw new EntityUpdateConflictException(DELETED_USER_ERROR);
         }
         user.setRole(Role.MODERATOR);
+        evictCachedPrincipal(userId);
         return userRepository.save(user);
     }
 
@@ -245,11 +255,13 @@ public class UserServiceImpl implements UserService {
     @Override
     public void softDeleteById(int id) {
         userRepository.softDeleteById(id);
+        evictCachedPrincipal(id);
     }
 
     @Override
     public void restoreById(int id) {
         userRepository.restoreById(id);
+        evictCachedPrincipal(id);
     }
 
     @Override
@@ -343,4 +355,9 @@ public class UserServiceImpl implements UserService {
         userMapper.updateEntityFromDto(updateDto, user);
         userRepository.save(user);
     }
+
+    // Evicted once the change is committed, so a concurrent request cannot cache the old state again.
+    private void evictCachedPrincipal(int userId) {
+        TransactionCallbacks.afterCommit(() -> userDetailsCache.evict(userId));
+    }
 }
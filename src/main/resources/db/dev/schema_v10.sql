@@ -0,0 +1,30 @@
+USE forum;
+
+CREATE TABLE folder_closure
+(
+    ancestor_id   INT NOT NULL,
+    descendant_id INT NOT NULL,
+    depth         INT NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id),
+    CONSTRAINT folder_closure_ancestor_fk
+        FOREIGN KEY (ancestor_id) REFERENCES folders (folder_id)
+            ON DELETE CASCADE,
+    CONSTRAINT folder_closure_descendant_fk
+        FOREIGN KEY (descendant_id) REFERENCES folders (folder_id)
+            ON DELETE CASCADE
+);
+
+CREATE INDEX idx_folder_closure_descendant
+    ON folder_closure (descendant_id, ancestor_id);
+
+INSERT INTO folder_closure (ancestor_id, descendant_id, depth)
+WITH RECURSIVE tree (ancestor_id, descendant_id, depth) AS (
+    SELECT folder_id, folder_id, 0
+    FROM folders
+    UNION ALL
+    SELECT t.ancestor_id, f.folder_id, t.depth + 1
+    FROM tree t
+             JOIN folders f ON f.parent_id = t.descendant_id
+)
+SELECT ancestor_id, descendant_id, depth
+FROM tree;
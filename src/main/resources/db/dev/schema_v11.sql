@@ -0,0 +1,45 @@
+USE forum;
+
+CREATE TABLE folder_stats
+(
+    folder_id             INT           NOT NULL PRIMARY KEY,
+    post_count            INT DEFAULT 0 NOT NULL,
+    last_post_at          DATETIME      NULL,
+    last_comment_at       DATETIME      NULL,
+    last_activity_post_id INT           NULL,
+    CONSTRAINT folder_stats_folders_folder_id_fk
+        FOREIGN KEY (folder_id) REFERENCES folders (folder_id)
+            ON DELETE CASCADE,
+    CONSTRAINT folder_stats_posts_post_id_fk
+        FOREIGN KEY (last_activity_post_id) REFERENCES posts (post_id)
+            ON DELETE SET NULL
+);
+
+INSERT INTO folder_stats (folder_id)
+SELECT folder_id
+FROM folders;
+
+UPDATE folder_stats s
+SET post_count            = (SELECT COUNT(*)
+                             FROM posts p
+                             WHERE p.folder_id = s.folder_id
+                               AND p.is_deleted = FALSE),
+    last_post_at          = (SELECT MAX(p.created_at)
+                             FROM posts p
+                             WHERE p.folder_id = s.folder_id
+                               AND p.is_deleted = FALSE),
+    last_comment_at       = (SELECT MAX(c.created_at)
+                             FROM comments c
+                                      JOIN posts p ON p.post_id = c.post_id
+                             WHERE p.folder_id = s.folder_id
+                               AND p.is_deleted = FALSE
+                               AND c.is_deleted = FALSE),
+    last_activity_post_id = (SELECT p.post_id
+                             FROM posts p
+                                      LEFT JOIN comments c ON c.post_id = p.post_id AND c.is_deleted = FALSE
+                             WHERE p.folder_id = s.folder_id
+                               AND p.is_deleted = FALSE
+                             GROUP BY p.post_id, p.created_at
+                             ORDER BY GREATEST(p.created_at, COALESCE(MAX(c.created_at), p.created_at)) DESC,
+                                      p.post_id DESC
+                             LIMIT 1);
@@ -0,0 +1,4 @@
+USE forum;
+
+CREATE INDEX idx_folders_parent_name
+    ON folders (parent_id, name, folder_id);
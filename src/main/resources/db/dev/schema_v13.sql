@@ -0,0 +1,21 @@
+USE forum;
+
+ALTER TABLE comments
+    ADD COLUMN parent_id   INT          NULL,
+    ADD COLUMN root_id     INT          NULL,
+    ADD COLUMN path        VARCHAR(255) NOT NULL DEFAULT '',
+    ADD COLUMN depth       INT          NOT NULL DEFAULT 0,
+    ADD COLUMN reply_count INT          NOT NULL DEFAULT 0,
+    ADD CONSTRAINT comments_parent_fk
+        FOREIGN KEY (parent_id) REFERENCES comments (comment_id)
+            ON DELETE CASCADE;
+
+UPDATE comments
+SET root_id = comment_id,
+    path    = LPAD(comment_id, 10, '0');
+
+CREATE INDEX idx_comments_thread_path
+    ON comments (root_id, path);
+
+CREATE INDEX idx_comments_post_parent_created
+    ON comments (post_id, parent_id, created_at);
@@ -0,0 +1,7 @@
+USE forum;
+
+ALTER TABLE comments
+    ADD COLUMN likes_count INT NOT NULL DEFAULT 0;
+
+UPDATE comments c
+SET likes_count = (SELECT COUNT(*) FROM comment_likes l WHERE l.comment_id = c.comment_id);
@@ -0,0 +1,4 @@
+USE forum;
+
+CREATE INDEX idx_comments_post_parent_likes
+    ON comments (post_id, parent_id, likes_count, comment_id);
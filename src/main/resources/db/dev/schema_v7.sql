@@ -0,0 +1,18 @@
+USE forum;
+
+ALTER TABLE posts
+    ADD COLUMN likes_count    INT NOT NULL DEFAULT 0,
+    ADD COLUMN comments_count INT NOT NULL DEFAULT 0,
+    ADD COLUMN views_count    INT NOT NULL DEFAULT 0;
+
+UPDATE posts p
+SET likes_count    = (SELECT COUNT(*) FROM likes l WHERE l.post_id = p.post_id),
+    comments_count = (SELECT COUNT(*) FROM comments c WHERE c.post_id = p.post_id AND c.is_deleted = 0),
+    views_count    = (SELECT COUNT(*) FROM posts_users_views v WHERE v.post_id = p.post_id);
+
+CREATE INDEX idx_posts_likes_count ON posts (likes_count);
+CREATE INDEX idx_posts_comments_count ON posts (comments_count);
+CREATE INDEX idx_posts_views_count ON posts (views_count);
+CREATE INDEX idx_posts_folder_likes_count ON posts (folder_id, likes_count);
+CREATE INDEX idx_posts_folder_comments_count ON posts (folder_id, comments_count);
+CREATE INDEX idx_posts_folder_views_count ON posts (folder_id, views_count);
@@ -0,0 +1,20 @@
+USE forum;
+
+CREATE TABLE post_view_daily
+(
+    post_id   INT  NOT NULL,
+    view_date DATE NOT NULL,
+    views     INT  NOT NULL DEFAULT 0,
+    PRIMARY KEY (post_id, view_date),
+    CONSTRAINT post_view_daily_posts_post_id_fk
+        FOREIGN KEY (post_id) REFERENCES posts (post_id)
+            ON DELETE CASCADE
+);
+
+CREATE INDEX idx_post_view_daily_date
+    ON post_view_daily (view_date);
+
+INSERT INTO post_view_daily (post_id, view_date, views)
+SELECT post_id, view_date, COUNT(*)
+FROM posts_users_views
+GROUP BY post_id, view_date;
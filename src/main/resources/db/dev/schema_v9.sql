@@ -0,0 +1,4 @@
+USE forum;
+
+ALTER TABLE posts
+    ADD COLUMN excerpt VARCHAR(300) NULL;
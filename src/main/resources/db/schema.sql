@@ -24,6 +24,26 @@ create table forum.folders
 create index idx_folders_parent
     on forum.folders (parent_id);
 
+create index idx_folders_parent_name
+    on forum.folders (parent_id, name, folder_id);
+
+create table forum.folder_closure
+(
+    ancestor_id   int not null,
+    descendant_id int not null,
+    depth         int not null,
+    primary key (ancestor_id, descendant_id),
+    constraint folder_closure_ancestor_fk
+        foreign key (ancestor_id) references forum.folders (folder_id)
+            on delete cascade,
+    constraint folder_closure_descendant_fk
+        foreign key (descendant_id) references forum.folders (folder_id)
+            on delete cascade
+);
+
+create index idx_folder_closure_descendant
+    on forum.folder_closure (descendant_id, ancestor_id);
+
 create table forum.media_data
 (
     imdb_id       varchar(30)  not null
@@ -93,6 +113,10 @@ create table forum.posts
     deleted_at datetime                               null,
     is_deleted tinyint(1) default 0                   not null,
     folder_id int not null,
+    likes_count    int        default 0                   not null,
+    comments_count int        default 0                   not null,
+    views_count    int        default 0                   not null,
+    excerpt        varchar(300)                           null,
     constraint posts_folders_folder_id_fk
         foreign key (folder_id) references forum.folders (folder_id),
     constraint posts_users_user_id_fk
@@ -114,11 +138,20 @@ create table forum.comments
     updated_at datetime                               null,
     deleted_at datetime                               null,
     is_deleted tinyint(1) default 0                   not null,
+    parent_id   int                                   null,
+    root_id     int                                   null,
+    path        varchar(255) default ''               not null,
+    depth       int          default 0                not null,
+    reply_count int          default 0                not null,
+    likes_count int          default 0                not null,
     constraint comments_posts_post_id_fk
         foreign key (post_id) references forum.posts (post_id)
             on delete cascade,
     constraint comments_users_user_id_fk
         foreign key (user_id) references forum.users (user_id),
+    constraint comments_parent_fk
+        foreign key (parent_id) references forum.comments (comment_id)
+            on delete cascade,
     constraint chk_comment_content_length
         check (char_length(`content`) between 1 and 8192)
 );
@@ -143,6 +176,15 @@ create index idx_comments_post_created
 create index idx_comments_user_created
     on forum.comments (user_id, created_at);
 
+create index idx_comments_thread_path
+    on forum.comments (root_id, path);
+
+create index idx_comments_post_parent_created
+    on forum.comments (post_id, parent_id, created_at);
+
+create index idx_comments_post_parent_likes
+    on forum.comments (post_id, parent_id, likes_count, comment_id);
+
 create table forum.likes
 (
     user_id int not null,
@@ -164,6 +206,24 @@ create index idx_posts_folder_created
 create index idx_posts_user_created
     on forum.posts (user_id, created_at);
 
+create index idx_posts_likes_count
+    on forum.posts (likes_count);
+
+create index idx_posts_comments_count
+    on forum.posts (comments_count);
+
+create index idx_posts_views_count
+    on forum.posts (views_count);
+
+create index idx_posts_folder_likes_count
+    on forum.posts (folder_id, likes_count);
+
+create index idx_posts_folder_comments_count
+    on forum.posts (folder_id, comments_count);
+
+create index idx_posts_folder_views_count
+    on forum.posts (folder_id, views_count);
+
 create table forum.posts_users_views
 (
     posts_users_views_id int auto_increment
@@ -187,6 +247,36 @@ create index idx_post_views_post_date
 create index idx_post_views_user_date
     on forum.posts_users_views (user_id, view_date);
 
+create table forum.post_view_daily
+(
+    post_id   int           not null,
+    view_date date          not null,
+    views     int default 0 not null,
+    primary key (post_id, view_date),
+    constraint post_view_daily_posts_post_id_fk
+        foreign key (post_id) references forum.posts (post_id)
+            on delete cascade
+);
+
+create index idx_post_view_daily_date
+    on forum.post_view_daily (view_date);
+
+create table forum.folder_stats
+(
+    folder_id             int           not null
+        primary key,
+    post_count            int default 0 not null,
+    last_post_at          datetime      null,
+    last_comment_at       datetime      null,
+    last_activity_post_id int           null,
+    constraint folder_stats_folders_folder_id_fk
+        foreign key (folder_id) references forum.folders (folder_id)
+            on delete cascade,
+    constraint folder_stats_posts_post_id_fk
+        foreign key (last_activity_post_id) references forum.posts (post_id)
+            on delete set null
+);
+
 create table forum.tags_posts
 (
     tag_id  int not null,
@@ -0,0 +1,36 @@
+package com.team3.forum.helpers;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+public class CursorCodecTests {
+
+    @Test
+    public void decode_Should_Return_Encoded_Fields() {
+        String token = CursorCodec.encode("TITLE", "ASC", "42");
+
+        Optional<List<String>> fields = CursorCodec.decode(token, 3, Arrays::asList);
+
+        Assertions.assertEquals(Optional.of(List.of("TITLE", "ASC", "42")), fields);
+    }
+
+    @Test
+    public void decode_Should_Keep_Separator_In_Last_Field() {
+        String token = CursorCodec.encode("7", "Tips | Tricks");
+
+        Assertions.assertEquals("Tips | Tricks", CursorCodec.decode(token, 2, parts -> parts[1]).orElseThrow());
+    }
+
+    @Test
+    public void decode_Should_Return_Empty_For_Invalid_Tokens() {
+        Assertions.assertTrue(CursorCodec.decode(null, 1, parts -> parts[0]).isEmpty());
+        Assertions.assertTrue(CursorCodec.decode(" ", 1, parts -> parts[0]).isEmpty());
+        Assertions.assertTrue(CursorCodec.decode("not base64!", 1, parts -> parts[0]).isEmpty());
+        Assertions.assertTrue(CursorCodec.decode(CursorCodec.encode("1", "2"), 3, parts -> parts[0]).isEmpty());
+        Assertions.assertTrue(CursorCodec.decode(CursorCodec.encode("x"), 1, parts -> Integer.parseInt(parts[0])).isEmpty());
+    }
+}
@@ -0,0 +1,62 @@
+package com.team3.forum.helpers;
+
+import com.team3.forum.models.adminDtos.CacheStatsDto;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MarkdownServiceTests {
+
+    @Test
+    public void toHtml_Should_Render_Once_And_Serve_Repeats_From_Cache() {
+        MarkdownService markdownService = new MarkdownService(1_000_000);
+
+        String first = markdownService.toHtml("**bold**");
+        String second = markdownService.toHtml("**bold**");
+
+        Assertions.assertEquals("<p><strong>bold</strong></p>\n", first);
+        Assertions.assertSame(first, second);
+        CacheStatsDto stats = markdownService.getCacheStats();
+        Assertions.assertEquals(1, stats.getHits());
+        Assertions.assertEquals(1, stats.getMisses());
+        Assertions.assertEquals(1, stats.getEntries());
+    }
+
+    @Test
+    public void toHtml_Should_Return_Empty_For_Blank_Input_Without_Caching() {
+        MarkdownService markdownService = new MarkdownService(1_000_000);
+
+        Assertions.assertEquals("", markdownService.toHtml("  "));
+        Assertions.assertEquals("", markdownService.toHtml(null));
+        Assertions.assertEquals(0, markdownService.getCacheStats().getMisses());
+    }
+
+    @Test
+    public void toHtml_Should_Evict_Least_Recently_Used_When_Over_Budget() {
+        // Room for two short entries.
+        MarkdownService markdownService = new MarkdownService(1_000);
+
+        markdownService.toHtml("a");
+        markdownService.toHtml("b");
+        markdownService.toHtml("a");
+        markdownService.toHtml("c");
+
+        CacheStatsDto stats = markdownService.getCacheStats();
+        Assertions.assertEquals(1, stats.getEvictions());
+        Assertions.assertEquals(2, stats.getEntries());
+        Assertions.assertTrue(stats.getSizeBytes() <= stats.getMaxBytes());
+
+        markdownService.toHtml("a");
+        Assertions.assertEquals(2, markdownService.getCacheStats().getHits());
+        markdownService.toHtml("b");
+        Assertions.assertEquals(4, markdownService.getCacheStats().getMisses());
+    }
+
+    @Test
+    public void toHtml_Should_Not_Cache_Entries_Larger_Than_The_Budget() {
+        MarkdownService markdownService = new MarkdownService(100);
+
+        markdownService.toHtml("some text");
+
+        Assertions.assertEquals(0, markdownService.getCacheStats().getEntries());
+    }
+}
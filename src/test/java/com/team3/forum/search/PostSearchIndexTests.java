@@ -0,0 +1,121 @@
+package com.team3.forum.search;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+public class PostSearchIndexTests {
+
+    private PostSearchIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new PostSearchIndex();
+        index.add(new SearchDocument(1, 10, Set.of(1), "Spring Boot tips",
+                "How to configure Spring Boot with JPA and Hibernate.", List.of("java")));
+        index.add(new SearchDocument(2, 11, Set.of(2), "Cooking pasta",
+                "Boil water. Spring onions are optional. Café crème on the side.", List.of("food")));
+        index.add(new SearchDocument(3, 10, Set.of(1), "Hibernate caching",
+                "Second level cache in Hibernate.", List.of("java", "spring boot")));
+    }
+
+    @Test
+    public void search_Should_Rank_Title_Matches_Above_Content_Matches() {
+        SearchResult result = index.search(SearchQuery.parse("spring"), null, 0, 10);
+
+        Assertions.assertEquals(3, result.totalHits());
+        Assertions.assertEquals(1, result.hits().get(0).postId());
+        Assertions.assertEquals(2, result.hits().get(2).postId());
+    }
+
+    @Test
+    public void search_Should_Require_All_Clauses() {
+        SearchResult result = index.search(SearchQuery.parse("spring hibernate"), null, 0, 10);
+
+        Assertions.assertEquals(List.of(1, 3), ids(result).stream().sorted().toList());
+    }
+
+    @Test
+    public void search_Should_Match_Phrases_Only_When_Adjacent() {
+        Assertions.assertEquals(2, index.search(SearchQuery.parse("\"spring boot\""), null, 0, 10).totalHits());
+        Assertions.assertEquals(0, index.search(SearchQuery.parse("\"boot spring\""), null, 0, 10).totalHits());
+        // the title ends and the tags begin between these two words
+        Assertions.assertEquals(0, index.search(SearchQuery.parse("\"caching java\""), null, 0, 10).totalHits());
+    }
+
+    @Test
+    public void search_Should_Expand_Prefixes() {
+        SearchResult result = index.search(SearchQuery.parse("hiber*"), null, 0, 10);
+
+        Assertions.assertEquals(List.of(1, 3), ids(result).stream().sorted().toList());
+    }
+
+    @Test
+    public void search_Should_Keep_Most_Frequent_Prefix_Expansions_Past_The_Cap() {
+        for (int i = 0; i < PostSearchIndex.MAX_PREFIX_EXPANSIONS; i++) {
+            index.add(new SearchDocument(100 + i, 10, Set.of(), "Rare", "zz" + String.format("%03d", i), List.of()));
+        }
+        index.add(new SearchDocument(200, 10, Set.of(), "Common", "zzzz", List.of()));
+        index.add(new SearchDocument(201, 10, Set.of(), "Common", "zzzz", List.of()));
+
+        SearchResult result = index.search(SearchQuery.parse("zz*"), null, 0, 1000);
+
+        Assertions.assertEquals(PostSearchIndex.MAX_PREFIX_EXPANSIONS + 1, result.totalHits());
+        Assertions.assertTrue(ids(result).containsAll(List.of(200, 201)));
+        Assertions.assertFalse(ids(result).contains(100 + PostSearchIndex.MAX_PREFIX_EXPANSIONS - 1));
+    }
+
+    @Test
+    public void search_Should_Fold_Case_And_Accents() {
+        Assertions.assertEquals(List.of(2), ids(index.search(SearchQuery.parse("CAFE creme"), null, 0, 10)));
+    }
+
+    @Test
+    public void search_Should_Scope_To_Folders_And_Tags() {
+        Assertions.assertEquals(List.of(2), ids(index.search(SearchQuery.parse("spring"), Set.of(11), 0, 10)));
+        Assertions.assertEquals(List.of(2), ids(index.search(SearchQuery.parse("spring"), null, 2, 10)));
+    }
+
+    @Test
+    public void search_Should_Count_All_Hits_Beyond_Limit() {
+        SearchResult result = index.search(SearchQuery.parse("spring"), null, 0, 1);
+
+        Assertions.assertEquals(1, result.hits().size());
+        Assertions.assertEquals(3, result.totalHits());
+    }
+
+    @Test
+    public void add_Should_Replace_And_Remove_Should_Drop_Documents() {
+        index.add(new SearchDocument(1, 10, Set.of(), "Gardening", "Tomatoes", List.of()));
+        index.remove(3);
+
+        Assertions.assertEquals(List.of(2), ids(index.search(SearchQuery.parse("spring"), null, 0, 10)));
+        Assertions.assertEquals(List.of(1), ids(index.search(SearchQuery.parse("tomatoes"), null, 0, 10)));
+        Assertions.assertEquals(2, index.size());
+    }
+
+    @Test
+    public void highlight_Should_Escape_Html_And_Mark_Matches() {
+        String snippet = Highlighter.highlight("Use <script> with Spring", SearchQuery.parse("spring"), 200);
+
+        Assertions.assertEquals("Use &lt;script&gt; with <mark>Spring</mark>", snippet);
+    }
+
+    @Test
+    public void highlight_Should_Center_Long_Text_Around_First_Match() {
+        String text = "lorem ipsum ".repeat(40) + "the spring framework " + "dolor sit ".repeat(40);
+
+        String snippet = Highlighter.highlight(text, SearchQuery.parse("spr*"), 80);
+
+        Assertions.assertTrue(snippet.startsWith("…"));
+        Assertions.assertTrue(snippet.endsWith("…"));
+        Assertions.assertTrue(snippet.contains("<mark>spring</mark>"));
+    }
+
+    private List<Integer> ids(SearchResult result) {
+        return result.hits().stream().map(SearchHit::postId).toList();
+    }
+}
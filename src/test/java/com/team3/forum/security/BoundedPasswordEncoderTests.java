@@ -0,0 +1,66 @@
+package com.team3.forum.security;
+
+import com.team3.forum.exceptions.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class BoundedPasswordEncoderTests {
+
+    private final BoundedPasswordEncoder encoder =
+            (BoundedPasswordEncoder) new SecurityConfig(null, null).passwordEncoder(4, 1, 4, 3);
+
+    @AfterEach
+    public void closeEncoder() {
+        encoder.close();
+    }
+
+    @Test
+    public void encode_Should_Produce_Prefixed_Hash_That_Matches() {
+        String hash = encoder.encode("secret");
+
+        Assertions.assertTrue(hash.startsWith("{bcrypt}"));
+        Assertions.assertTrue(encoder.matches("secret", hash));
+        Assertions.assertFalse(encoder.matches("other", hash));
+        Assertions.assertFalse(encoder.upgradeEncoding(hash));
+    }
+
+    @Test
+    public void matches_Should_Accept_Unprefixed_Hash_And_Ask_For_Upgrade() {
+        String legacyHash = new BCryptPasswordEncoder(4).encode("secret");
+
+        Assertions.assertTrue(encoder.matches("secret", legacyHash));
+        Assertions.assertTrue(encoder.upgradeEncoding(legacyHash));
+    }
+
+    @Test
+    public void upgradeEncoding_Should_Be_True_When_Work_Factor_Increased() {
+        String weakHash = encoder.encode("secret");
+        BoundedPasswordEncoder stronger =
+                (BoundedPasswordEncoder) new SecurityConfig(null, null).passwordEncoder(5, 1, 4, 3);
+        try {
+            Assertions.assertTrue(stronger.matches("secret", weakHash));
+            Assertions.assertTrue(stronger.upgradeEncoding(weakHash));
+        } finally {
+            stronger.close();
+        }
+    }
+
+    @Test
+    public void encode_Should_Throw_TooManyRequests_When_Pool_Rejects() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+        PasswordEncoder rejecting = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), executor, 3);
+
+        TooManyRequestsException e = Assertions.assertThrows(TooManyRequestsException.class,
+                () -> rejecting.encode("secret"));
+
+        Assertions.assertEquals(3, e.getRetryAfterSeconds());
+        Assertions.assertEquals(BoundedPasswordEncoder.HASHING_BUSY_ERROR, e.getMessage());
+    }
+}
@@ -0,0 +1,95 @@
+package com.team3.forum.security;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+public class JwtTokenProviderTests {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-03-10T12:00:00Z"));
+    private final JwtTokenProvider provider = new JwtTokenProvider(SECRET, Duration.ofMinutes(10).toMillis(), 2, clock);
+
+    @Test
+    public void verifyToken_Should_Return_Claims_Of_Issued_Token() {
+        String token = provider.generateTokenFromUsername("ann");
+
+        Claims claims = provider.verifyToken(token).orElseThrow();
+
+        Assertions.assertEquals("ann", claims.getSubject());
+        Assertions.assertEquals(1, provider.getVerifiedTokenCount());
+    }
+
+    @Test
+    public void verifyToken_Should_Remember_Verified_Token() {
+        String token = provider.generateTokenFromUsername("ann");
+
+        Claims first = provider.verifyToken(token).orElseThrow();
+        Claims second = provider.verifyToken(token).orElseThrow();
+
+        Assertions.assertSame(first, second);
+    }
+
+    @Test
+    public void verifyToken_Should_Reject_Token_After_Expiry_Even_When_Remembered() {
+        String token = provider.generateTokenFromUsername("ann");
+        provider.verifyToken(token);
+        clock.advance(Duration.ofMinutes(11));
+
+        Assertions.assertTrue(provider.verifyToken(token).isEmpty());
+        Assertions.assertEquals(0, provider.getVerifiedTokenCount());
+    }
+
+    @Test
+    public void verifyToken_Should_Reject_Token_Signed_With_Another_Key() {
+        JwtTokenProvider other = new JwtTokenProvider(SECRET.replace('0', 'x'), 60_000, 2, clock);
+        String token = other.generateTokenFromUsername("ann");
+
+        Assertions.assertTrue(provider.verifyToken(token).isEmpty());
+        Assertions.assertTrue(provider.verifyToken("not-a-token").isEmpty());
+        Assertions.assertEquals(0, provider.getVerifiedTokenCount());
+    }
+
+    @Test
+    public void verifyToken_Should_Stay_Within_Max_Entries() {
+        provider.verifyToken(provider.generateTokenFromUsername("ann"));
+        provider.verifyToken(provider.generateTokenFromUsername("bob"));
+        provider.verifyToken(provider.generateTokenFromUsername("cid"));
+
+        Assertions.assertTrue(provider.getVerifiedTokenCount() <= 2);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.team3.forum.security;
+
+import com.team3.forum.exceptions.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Login throughput through {@link DaoAuthenticationProvider} during a burst of concurrent logins,
+ * with the production encoder next to a plain, unbounded BCrypt encoder on the request threads.
+ * The burst has twice as many callers as the bounded encoder has threads and queue slots, so it
+ * shows the rejections as well. Run with FORUM_BENCHMARK=true; skipped otherwise.
+ */
+@EnabledIfEnvironmentVariable(named = "FORUM_BENCHMARK", matches = "true")
+public class PasswordHashingBenchmark {
+
+    private static final long DURATION_SECONDS = 10;
+    private static final int STRENGTH = 10;
+    private static final int QUEUE_CAPACITY = 64;
+    private static final long BACKOFF_MS = 50;
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Test
+    public void loginThroughputUnderLoad() throws InterruptedException {
+        int processors = Runtime.getRuntime().availableProcessors();
+        int callers = (processors + QUEUE_CAPACITY) * 2;
+
+        BoundedPasswordEncoder bounded = (BoundedPasswordEncoder)
+                new SecurityConfig(null, null).passwordEncoder(STRENGTH, 0, QUEUE_CAPACITY, 1);
+        try {
+            Result boundedResult = run("bounded", bounded, callers);
+            Result unboundedResult = run("unbounded", new BCryptPasswordEncoder(STRENGTH), callers);
+
+            System.out.printf("processors=%d callers=%d queue=%d duration=%ds%n",
+                    processors, callers, QUEUE_CAPACITY, DURATION_SECONDS);
+            System.out.printf("%-10s %10s %10s %8s %8s%n", "encoder", "logins/s", "rejected", "p50 ms", "p99 ms");
+            boundedResult.print();
+            unboundedResult.print();
+        } finally {
+            bounded.close();
+        }
+    }
+
+    private Result run(String name, PasswordEncoder encoder, int callers) throws InterruptedException {
+        String hash = encoder.encode(PASSWORD);
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(
+                username -> User.withUsername(username).password(hash).roles("USER").build());
+        provider.setPasswordEncoder(encoder);
+
+        LongAdder rejected = new LongAdder();
+        List<Long> latenciesNanos = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(callers);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+
+        for (int i = 0; i < callers; i++) {
+            Thread caller = new Thread(() -> {
+                List<Long> own = new ArrayList<>();
+                try {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", PASSWORD));
+                            own.add(System.nanoTime() - start);
+                        } catch (TooManyRequestsException e) {
+                            // A real client waits for Retry-After; a short pause keeps the burst going.
+                            rejected.increment();
+                            Thread.sleep(BACKOFF_MS);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    synchronized (latenciesNanos) {
+                        latenciesNanos.addAll(own);
+                    }
+                    done.countDown();
+                }
+            });
+            caller.start();
+        }
+        done.await();
+
+        latenciesNanos.sort(null);
+        return new Result(name, latenciesNanos.size(), rejected.sum(), latenciesNanos);
+    }
+
+    private record Result(String name, long logins, long rejected, List<Long> sortedLatenciesNanos) {
+
+        void print() {
+            System.out.printf("%-10s %10.1f %10d %8d %8d%n",
+                    name,
+                    logins / (double) DURATION_SECONDS,
+                    rejected,
+                    percentileMillis(0.50),
+                    percentileMillis(0.99));
+        }
+
+        private long percentileMillis(double percentile) {
+            if (sortedLatenciesNanos.isEmpty()) {
+                return 0;
+            }
+            int index = (int) Math.min(sortedLatenciesNanos.size() - 1, Math.round(percentile * sortedLatenciesNanos.size()));
+            return TimeUnit.NANOSECONDS.toMillis(sortedLatenciesNanos.get(index));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.team3.forum.security;
+
+import com.team3.forum.models.adminDtos.CacheStatsDto;
+import com.team3.forum.models.enums.Role;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class UserDetailsCacheTests {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-03-10T12:00:00Z"));
+    private final UserDetailsCache cache = new UserDetailsCache(Duration.ofMinutes(1), 2, clock);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    public void get_Should_Load_Once_And_Serve_From_Cache() {
+        CustomUserDetails first = cache.get("ann", this::load);
+        CustomUserDetails second = cache.get("ann", this::load);
+
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, loads.get());
+        CacheStatsDto stats = cache.getCacheStats();
+        Assertions.assertEquals(1, stats.getHits());
+        Assertions.assertEquals(1, stats.getMisses());
+        Assertions.assertEquals(0.5, stats.getHitRate());
+    }
+
+    @Test
+    public void get_Should_Reload_After_Ttl() {
+        cache.get("ann", this::load);
+        clock.advance(Duration.ofMinutes(2));
+
+        cache.get("ann", this::load);
+
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void evict_Should_Drop_Entries_Of_User_Only() {
+        cache.get("ann", this::load);
+        cache.get("bob", this::load);
+
+        cache.evict(1);
+        cache.get("ann", this::load);
+        cache.get("bob", this::load);
+
+        Assertions.assertEquals(3, loads.get());
+    }
+
+    @Test
+    public void get_Should_Not_Keep_Details_Loaded_During_Eviction() {
+        cache.get("ann", username -> {
+            cache.evict(1);
+            return load(username);
+        });
+        cache.get("ann", this::load);
+
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void get_Should_Stay_Within_Max_Entries() {
+        cache.get("ann", this::load);
+        cache.get("bob", this::load);
+        cache.get("cid", this::load);
+
+        Assertions.assertEquals(2, cache.getCacheStats().getEntries());
+        Assertions.assertEquals(1, cache.getCacheStats().getEvictions());
+    }
+
+    private CustomUserDetails load(String username) {
+        loads.incrementAndGet();
+        // ann, bob and cid get ids 1, 2 and 3.
+        return new CustomUserDetails(username, "hash", true, true, true, true, List.of(),
+                username.charAt(0) - 'a' + 1, username + "@example.com", Role.USER);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
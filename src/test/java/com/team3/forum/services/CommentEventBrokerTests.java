@@ -0,0 +1,235 @@
+package com.team3.forum.services;
+
+import com.team3.forum.models.commentDtos.CommentEvent;
+import com.team3.forum.models.enums.CommentEventType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class CommentEventBrokerTests {
+
+    MutableClock clock;
+
+    List<Runnable> pendingSends;
+
+    List<RecordingEmitter> emitters;
+
+    CommentEventBroker broker;
+
+    @BeforeEach
+    public void setUp() {
+        clock = new MutableClock(Instant.parse("2025-03-10T12:00:00Z"));
+        pendingSends = new ArrayList<>();
+        emitters = new ArrayList<>();
+        // Sends are only queued until runPendingSends, which makes every subscriber a slow one.
+        broker = newBroker(2, 10);
+    }
+
+    @Test
+    public void publish_Should_Only_Reach_Subscribers_Of_The_Post() {
+        broker.subscribe(1, null);
+        broker.subscribe(2, null);
+
+        broker.publish(event(1));
+
+        Assertions.assertEquals(1, broker.getSubscriberCount(1));
+        Assertions.assertEquals(1, broker.getSubscriberCount(2));
+        Assertions.assertEquals(1, pendingSends.size());
+    }
+
+    @Test
+    public void publish_Should_Drop_Subscriber_Whose_Buffer_Is_Full() {
+        broker.subscribe(1, null);
+
+        broker.publish(event(1));
+        broker.publish(event(1));
+        Assertions.assertEquals(1, broker.getSubscriberCount(1));
+
+        broker.publish(event(1));
+        Assertions.assertEquals(0, broker.getSubscriberCount(1));
+    }
+
+    @Test
+    public void publish_Should_Ignore_Posts_Without_Subscribers() {
+        broker.publish(event(1));
+
+        Assertions.assertEquals(0, broker.getChannelCount());
+        Assertions.assertTrue(pendingSends.isEmpty());
+    }
+
+    @Test
+    public void heartbeat_Should_Evict_Idle_Channels_After_Retention() {
+        broker.subscribe(1, null);
+        broker.publish(event(1));
+        broker.publish(event(1));
+        broker.publish(event(1));
+
+        broker.heartbeat();
+        Assertions.assertEquals(1, broker.getChannelCount());
+
+        clock.instant = clock.instant.plusSeconds(2);
+        broker.heartbeat();
+        Assertions.assertEquals(0, broker.getChannelCount());
+    }
+
+    @Test
+    public void subscribe_Should_Replay_Retained_Events_After_Last_Event_Id() {
+        broker = newBroker(10, 3);
+        broker.subscribe(1, null);
+        broker.publish(event(1));
+        broker.publish(event(1));
+        broker.publish(event(1));
+
+        broker.subscribe(1, "1");
+        runPendingSends();
+
+        Assertions.assertEquals(List.of(1L, 2L, 3L), emitters.get(0).ids());
+        Assertions.assertEquals(List.of(2L, 3L), emitters.get(1).ids());
+        Assertions.assertFalse(emitters.get(1).receivedReset());
+    }
+
+    @Test
+    public void subscribe_Should_Send_Reset_When_Events_After_Last_Event_Id_Were_Discarded() {
+        broker = newBroker(10, 2);
+        broker.subscribe(1, null);
+        for (int i = 0; i < 4; i++) {
+            broker.publish(event(1));
+        }
+
+        broker.subscribe(1, "1");
+        broker.subscribe(1, "2");
+        runPendingSends();
+
+        Assertions.assertTrue(emitters.get(1).receivedReset());
+        Assertions.assertTrue(emitters.get(1).ids().isEmpty());
+        Assertions.assertFalse(emitters.get(2).receivedReset());
+        Assertions.assertEquals(List.of(3L, 4L), emitters.get(2).ids());
+    }
+
+    @Test
+    public void subscribe_Should_Send_Nothing_Without_Last_Event_Id() {
+        broker = newBroker(10, 3);
+        broker.subscribe(1, null);
+        broker.publish(event(1));
+
+        broker.subscribe(1, null);
+        runPendingSends();
+
+        Assertions.assertTrue(emitters.get(1).sent.isEmpty());
+    }
+
+    @Test
+    public void expireStalledSends_Should_Disconnect_Subscriber_Blocked_In_Send() {
+        broker = newBroker(10, 3);
+        broker.subscribe(1, null);
+        broker.subscribe(1, null);
+        broker.publish(event(1));
+        emitters.get(0).onSend = () -> {
+            clock.instant = clock.instant.plusSeconds(6);
+            broker.expireStalledSends();
+        };
+
+        runPendingSends();
+
+        Assertions.assertTrue(emitters.get(0).completed);
+        Assertions.assertFalse(emitters.get(1).completed);
+        Assertions.assertEquals(1, broker.getSubscriberCount(1));
+    }
+
+    private CommentEventBroker newBroker(int bufferSize, int replaySize) {
+        return new CommentEventBroker(60_000, bufferSize, replaySize, 1_000, 5_000, pendingSends::add, clock) {
+            @Override
+            SseEmitter newEmitter() {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    private void runPendingSends() {
+        while (!pendingSends.isEmpty()) {
+            pendingSends.remove(0).run();
+        }
+    }
+
+    private CommentEvent event(int postId) {
+        return new CommentEvent(CommentEventType.CREATED, postId, 1, null, 1, "user", "content",
+                LocalDateTime.now(), LocalDateTime.now());
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private static final Pattern ID = Pattern.compile("^id:(\\d+)$", Pattern.MULTILINE);
+
+        private final List<String> sent = new ArrayList<>();
+        private Runnable onSend = () -> {
+        };
+        private boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> {
+                if (part.getData() instanceof String data) {
+                    text.append(data);
+                }
+            });
+            sent.add(text.toString());
+            onSend.run();
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        List<Long> ids() {
+            List<Long> ids = new ArrayList<>();
+            for (String event : sent) {
+                Matcher matcher = ID.matcher(event);
+                if (matcher.find()) {
+                    ids.add(Long.parseLong(matcher.group(1)));
+                }
+            }
+            return ids;
+        }
+
+        boolean receivedReset() {
+            return sent.stream().anyMatch(event -> event.contains("event:" + CommentEventBroker.RESET_EVENT));
+        }
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
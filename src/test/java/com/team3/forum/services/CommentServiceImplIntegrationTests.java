@@ -0,0 +1,145 @@
+package com.team3.forum.services;
+
+import com.team3.forum.exceptions.DuplicateEntityException;
+import com.team3.forum.exceptions.EntityNotFoundException;
+import com.team3.forum.models.Comment;
+import com.team3.forum.models.Folder;
+import com.team3.forum.models.Post;
+import com.team3.forum.models.User;
+import com.team3.forum.models.commentDtos.CommentCreationDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Runs the comment service against the test database, so the native counter statements are
+ * executed rather than mocked.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@Transactional
+public class CommentServiceImplIntegrationTests {
+
+    @Autowired
+    CommentService commentService;
+
+    @PersistenceContext
+    EntityManager em;
+
+    User author;
+    Post post;
+
+    @BeforeEach
+    public void setUp() {
+        author = User.builder()
+                .username("comment_author")
+                .email("comment.author@example.com")
+                .password("encoded_password")
+                .build();
+        em.persist(author);
+
+        Folder folder = Folder.builder()
+                .name("Integration folder")
+                .slug("integration-folder")
+                .build();
+        em.persist(folder);
+
+        post = Post.builder()
+                .title("Integration post")
+                .content("Integration content")
+                .user(author)
+                .folder(folder)
+                .build();
+        em.persist(post);
+    }
+
+    @Test
+    public void restoreById_Should_Restore_Deleted_Comment_And_Count_It_Again() {
+        // Arrange
+        Comment comment = commentService.createComment(new CommentCreationDto("First comment"), post.getId(), author.getId());
+        commentService.deleteById(comment.getId(), author.getId());
+        Assertions.assertEquals(0, commentsCount(post.getId()));
+
+        // Act
+        Comment restored = commentService.restoreById(comment.getId(), author.getId());
+
+        // Assert
+        Assertions.assertFalse(restored.isDeleted());
+        Assertions.assertNull(restored.getDeletedAt());
+        Assertions.assertEquals(1, commentsCount(post.getId()));
+        Assertions.assertTrue(commentService.existsById(comment.getId()));
+    }
+
+    @Test
+    public void createReply_Should_Throw_When_Post_Is_Deleted() {
+        // Arrange
+        Comment comment = commentService.createComment(new CommentCreationDto("First comment"), post.getId(), author.getId());
+        post.setDeleted(true);
+        em.flush();
+
+        // Act, Assert
+        Assertions.assertThrows(EntityNotFoundException.class,
+                () -> commentService.createReply(new CommentCreationDto("Reply"), post.getId(), comment.getId(), author.getId()));
+        Assertions.assertThrows(EntityNotFoundException.class,
+                () -> commentService.getReplies(post.getId(), comment.getId(), null, 10, null));
+    }
+
+    @Test
+    public void likeComment_Should_Keep_Counter_In_Step_With_Likes() {
+        // Arrange
+        Comment comment = commentService.createComment(new CommentCreationDto("Liked comment"), post.getId(), author.getId());
+        User reader = createUser("comment_reader");
+
+        // Act
+        int afterFirst = commentService.likeComment(comment.getId(), author.getId());
+        int afterSecond = commentService.likeComment(comment.getId(), reader.getId());
+        int afterUnlike = commentService.unlikeComment(comment.getId(), author.getId());
+
+        // Assert
+        Assertions.assertEquals(1, afterFirst);
+        Assertions.assertEquals(2, afterSecond);
+        Assertions.assertEquals(1, afterUnlike);
+        Assertions.assertEquals(1, commentService.getLikes(comment.getId()));
+        Assertions.assertEquals(1, likeRows(comment.getId()));
+    }
+
+    @Test
+    public void likeComment_Should_Throw_When_Already_Liked() {
+        // Arrange
+        Comment comment = commentService.createComment(new CommentCreationDto("Liked comment"), post.getId(), author.getId());
+        commentService.likeComment(comment.getId(), author.getId());
+
+        // Act, Assert
+        Assertions.assertThrows(DuplicateEntityException.class,
+                () -> commentService.likeComment(comment.getId(), author.getId()));
+    }
+
+    private User createUser(String username) {
+        User user = User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("encoded_password")
+                .build();
+        em.persist(user);
+        return user;
+    }
+
+    private int likeRows(int commentId) {
+        return ((Number) em.createNativeQuery("select count(*) from comment_likes where comment_id = :commentId")
+                .setParameter("commentId", commentId)
+                .getSingleResult()).intValue();
+    }
+
+    private int commentsCount(int postId) {
+        em.flush();
+        return ((Number) em.createNativeQuery("select comments_count from posts where post_id = :postId")
+                .setParameter("postId", postId)
+                .getSingleResult()).intValue();
+    }
+}
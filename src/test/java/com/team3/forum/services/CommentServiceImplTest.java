@@ -1,14 +1,26 @@
 package com.team3.forum.services;
 
 import com.team3.forum.exceptions.AuthorizationException;
+import com.team3.forum.exceptions.DuplicateEntityException;
 import com.team3.forum.exceptions.EntityNotFoundException;
+import com.team3.forum.exceptions.EntityUpdateConflictException;
+import com.team3.forum.helpers.CommentMapper;
 import com.team3.forum.models.Comment;
+import com.team3.forum.models.Folder;
 import com.team3.forum.models.Post;
 import com.team3.forum.models.User;
 import com.team3.forum.models.commentDtos.CommentCreationDto;
+import com.team3.forum.models.commentDtos.CommentCursor;
+import com.team3.forum.models.commentDtos.CommentEvent;
+import com.team3.forum.models.commentDtos.CommentPage;
+import com.team3.forum.models.commentDtos.CommentResponseDto;
 import com.team3.forum.models.commentDtos.CommentUpdateDto;
+import com.team3.forum.models.enums.CommentEventType;
+import com.team3.forum.models.enums.CommentSortField;
 import com.team3.forum.models.enums.Role;
+import com.team3.forum.models.enums.SortDirection;
 import com.team3.forum.repositories.CommentRepository;
+import com.team3.forum.repositories.FolderStatsRepository;
 import com.team3.forum.repositories.PostRepository;
 import com.team3.forum.repositories.UserRepository;
 import org.junit.jupiter.api.Assertions;
@@ -20,8 +32,10 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.anyInt;
 
@@ -37,6 +51,15 @@ public class CommentServiceImplTest {
     @Mock
     UserRepository mockUserRepository;
 
+    @Mock
+    FolderStatsRepository mockFolderStatsRepository;
+
+    @Mock
+    CommentMapper mockCommentMapper;
+
+    @Mock
+    CommentEventBroker mockCommentEventBroker;
+
     @InjectMocks
     CommentServiceImpl commentService;
 
@@ -93,8 +116,7 @@ public class CommentServiceImplTest {
     public void create_WithValidData_Should_Call_Repository() {
         // Arrange
         User user = createMockUser();
-        Post post = new Post();
-        post.setId(1);
+        Post post = createPostInFolder(1, 5);
         CommentCreationDto dto = new CommentCreationDto();
         dto.setContent("Test comment");
 
@@ -112,6 +134,8 @@ public class CommentServiceImplTest {
         Assertions.assertEquals(user, result.getUser());
         Assertions.assertEquals(post, result.getPost());
         Assertions.assertFalse(result.isDeleted());
+        Mockito.verify(mockPostRepository).updateCommentsCount(1, 1);
+        Mockito.verify(mockFolderStatsRepository).recordComment(5, 1, result.getCreatedAt());
     }
 
     @Test
@@ -176,12 +200,15 @@ public class CommentServiceImplTest {
     public void deleteById_WithCommentOwner_Should_SoftDelete() {
         // Arrange
         User commentOwner = createMockUser();
-        Post post = new Post();
+        Post post = createPostInFolder(1, 5);
         Comment comment = createComment(1, commentOwner, post);
 
         Mockito.when(mockUserRepository.findById(commentOwner.getId())).thenReturn(commentOwner);
         Mockito.when(mockCommentRepository.findById(1)).thenReturn(comment);
         Mockito.when(mockCommentRepository.save(comment)).thenReturn(comment);
+        CommentEvent event = new CommentEvent(CommentEventType.DELETED, 1, 1, null, 1, "testuser", null,
+                comment.getCreatedAt(), comment.getUpdatedAt());
+        Mockito.when(mockCommentMapper.toEvent(CommentEventType.DELETED, comment)).thenReturn(event);
 
         // Act
         commentService.deleteById(1, commentOwner.getId());
@@ -190,6 +217,9 @@ public class CommentServiceImplTest {
         Mockito.verify(mockCommentRepository, Mockito.times(1)).save(comment);
         Assertions.assertTrue(comment.isDeleted());
         Assertions.assertNotNull(comment.getDeletedAt());
+        Mockito.verify(mockPostRepository).updateCommentsCount(post.getId(), -1);
+        Mockito.verify(mockFolderStatsRepository).refresh(5);
+        Mockito.verify(mockCommentEventBroker).publish(event);
     }
 
     @Test
@@ -201,7 +231,7 @@ public class CommentServiceImplTest {
         moderator.setId(2);
         moderator.setRole(Role.MODERATOR);
 
-        Post post = new Post();
+        Post post = createPostInFolder(1, 5);
         Comment comment = createComment(1, commentOwner, post);
 
         Mockito.when(mockUserRepository.findById(moderator.getId())).thenReturn(moderator);
@@ -216,6 +246,237 @@ public class CommentServiceImplTest {
         Assertions.assertTrue(comment.isDeleted());
     }
 
+    @Test
+    public void getCommentsPage_Should_Load_Only_Requested_Page() {
+        // Arrange
+        User user = createMockUser();
+        Post post = new Post();
+        post.setId(1);
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 11; i <= 20; i++) {
+            comments.add(createComment(i, user, post));
+        }
+        comments.get(9).setLikesCount(3);
+
+        Mockito.when(mockPostRepository.findById(1)).thenReturn(post);
+        Mockito.when(mockCommentRepository.countTopLevelByPostId(1)).thenReturn(25);
+        Mockito.when(mockCommentRepository.findPageByPostId(1, CommentSortField.LIKES, SortDirection.DESC, 10, 10))
+                .thenReturn(comments);
+        mockToResponseDto();
+
+        // Act
+        CommentPage result = commentService.getCommentsPage(1, "likes", "desc", 2, 10, null, 0, null);
+
+        // Assert
+        Assertions.assertEquals(10, result.getItems().size());
+        Assertions.assertEquals(2, result.getPage());
+        Assertions.assertEquals(3, result.getTotalPages());
+        Assertions.assertEquals(11, result.getFromItem());
+        Assertions.assertEquals(20, result.getToItem());
+        Assertions.assertTrue(result.isHasPrevious());
+        Assertions.assertTrue(result.isHasNext());
+        CommentCursor next = CommentCursor.decode(result.getNextCursor()).orElseThrow();
+        Assertions.assertEquals(20, next.commentId());
+        Assertions.assertEquals(CommentSortField.LIKES, next.sortField());
+        Assertions.assertEquals(3, next.sortKey());
+        Assertions.assertEquals(3, next.page());
+        Mockito.verify(mockCommentRepository, Mockito.never()).findLikedCommentIds(anyInt(), Mockito.anyCollection());
+    }
+
+    @Test
+    public void getCommentsPage_Should_Continue_From_Cursor() {
+        // Arrange
+        User user = createMockUser();
+        Post post = new Post();
+        post.setId(1);
+        Comment first = createComment(21, user, post);
+        CommentCursor cursor = new CommentCursor(
+                CommentSortField.CREATED_AT, SortDirection.DESC, false, 3, 20, first.getCreatedAt());
+
+        Mockito.when(mockPostRepository.findById(1)).thenReturn(post);
+        Mockito.when(mockCommentRepository.countTopLevelByPostId(1)).thenReturn(25);
+        Mockito.when(mockCommentRepository.findPageByPostIdAfterCursor(1, 11, cursor))
+                .thenReturn(List.of(first, createComment(22, user, post)));
+        Mockito.when(mockCommentRepository.findLikedCommentIds(1, List.of(21, 22))).thenReturn(Set.of(22));
+        mockToResponseDto();
+
+        // Act
+        CommentPage result = commentService.getCommentsPage(1, "created_at", "desc", 1, 10, cursor.encode(), 0, 1);
+
+        // Assert
+        Assertions.assertEquals(3, result.getPage());
+        Assertions.assertEquals(21, result.getFromItem());
+        Assertions.assertTrue(result.isHasPrevious());
+        Assertions.assertFalse(result.isHasNext());
+        Assertions.assertNull(result.getNextCursor());
+        Assertions.assertFalse(result.getItems().get(0).isLikedByMe());
+        Assertions.assertTrue(result.getItems().get(1).isLikedByMe());
+        Mockito.verify(mockCommentRepository, Mockito.never())
+                .findPageByPostId(anyInt(), Mockito.any(), Mockito.any(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void getCommentsPage_Should_Attach_First_Replies_To_Threads() {
+        // Arrange
+        User user = createMockUser();
+        Post post = new Post();
+        post.setId(1);
+        Comment root = createComment(1, user, post);
+        root.setRootId(1);
+        Comment first = createReply(2, root, user);
+        Comment second = createReply(3, first, user);
+        Comment third = createReply(4, root, user);
+
+        Mockito.when(mockPostRepository.findById(1)).thenReturn(post);
+        Mockito.when(mockCommentRepository.countTopLevelByPostId(1)).thenReturn(1);
+        Mockito.when(mockCommentRepository.findPageByPostId(1, CommentSortField.CREATED_AT, SortDirection.DESC, 0, 10))
+                .thenReturn(List.of(root));
+        Mockito.when(mockCommentRepository.findFirstReplies(List.of(1), 3)).thenReturn(List.of(first, second, third));
+        mockToResponseDto();
+
+        // Act
+        CommentPage result = commentService.getCommentsPage(1, "created_at", "desc", 1, 10, null, 2, null);
+
+        // Assert
+        CommentResponseDto thread = result.getItems().get(0);
+        Assertions.assertEquals(List.of(2, 3), thread.getReplies().stream().map(CommentResponseDto::getId).toList());
+        Assertions.assertTrue(thread.isHasMoreReplies());
+    }
+
+    @Test
+    public void createReply_Should_Extend_Parent_Path() {
+        // Arrange
+        User user = createMockUser();
+        Post post = createPostInFolder(1, 5);
+        Comment parent = createComment(7, user, post);
+        parent.setRootId(7);
+        parent.setPath("0000000007");
+        CommentCreationDto dto = new CommentCreationDto();
+        dto.setContent("Reply");
+
+        Mockito.when(mockUserRepository.findById(user.getId())).thenReturn(user);
+        Mockito.when(mockPostRepository.findById(1)).thenReturn(post);
+        Mockito.when(mockCommentRepository.findById(7)).thenReturn(parent);
+        Mockito.when(mockCommentRepository.save(Mockito.any(Comment.class))).thenAnswer(invocation -> {
+            Comment saved = invocation.getArgument(0);
+            saved.setId(12);
+            return saved;
+        });
+
+        // Act
+        Comment result = commentService.createReply(dto, 1, 7, user.getId());
+
+        // Assert
+        Assertions.assertEquals(7, result.getParentId());
+        Assertions.assertEquals(7, result.getRootId());
+        Assertions.assertEquals(1, result.getDepth());
+        Assertions.assertEquals("0000000007.0000000012", result.getPath());
+        Mockito.verify(mockCommentRepository).updateReplyCount(7, 1);
+        Mockito.verify(mockPostRepository).updateCommentsCount(1, 1);
+    }
+
+    @Test
+    public void createReply_Should_Throw_When_Parent_Is_At_Max_Depth() {
+        // Arrange
+        User user = createMockUser();
+        Post post = createPostInFolder(1, 5);
+        Comment parent = createComment(7, user, post);
+        parent.setDepth(CommentServiceImpl.MAX_REPLY_DEPTH);
+        CommentCreationDto dto = new CommentCreationDto();
+        dto.setContent("Reply");
+
+        Mockito.when(mockUserRepository.findById(user.getId())).thenReturn(user);
+        Mockito.when(mockPostRepository.findById(1)).thenReturn(post);
+        Mockito.when(mockCommentRepository.findById(7)).thenReturn(parent);
+
+        // Act, Assert
+        Assertions.assertThrows(EntityUpdateConflictException.class,
+                () -> commentService.createReply(dto, 1, 7, user.getId()));
+        Mockito.verify(mockCommentRepository, Mockito.never()).save(Mockito.any(Comment.class));
+    }
+
+    @Test
+    public void createReply_Should_Throw_When_Parent_Belongs_To_Another_Post() {
+        // Arrange
+        User user = createMockUser();
+        Comment parent = createComment(7, user, createPostInFolder(2, 5));
+        CommentCreationDto dto = new CommentCreationDto();
+        dto.setContent("Reply");
+
+        Mockito.when(mockUserRepository.findById(user.getId())).thenReturn(user);
+        Mockito.when(mockPostRepository.findById(1)).thenReturn(createPostInFolder(1, 5));
+        Mockito.when(mockCommentRepository.findById(7)).thenReturn(parent);
+
+        // Act, Assert
+        Assertions.assertThrows(EntityNotFoundException.class,
+                () -> commentService.createReply(dto, 1, 7, user.getId()));
+    }
+
+    @Test
+    public void createReply_Should_Throw_When_Post_Is_Deleted() {
+        // Arrange
+        User user = createMockUser();
+        CommentCreationDto dto = new CommentCreationDto();
+        dto.setContent("Reply");
+
+        Mockito.when(mockUserRepository.findById(user.getId())).thenReturn(user);
+        Mockito.when(mockPostRepository.findById(1)).thenThrow(new EntityNotFoundException("Post", 1));
+
+        // Act, Assert
+        Assertions.assertThrows(EntityNotFoundException.class,
+                () -> commentService.createReply(dto, 1, 7, user.getId()));
+        Mockito.verify(mockCommentRepository, Mockito.never()).save(Mockito.any(Comment.class));
+        Mockito.verify(mockPostRepository, Mockito.never()).updateCommentsCount(anyInt(), anyInt());
+    }
+
+    @Test
+    public void likeComment_Should_Insert_Like_And_Return_New_Count() {
+        // Arrange
+        Mockito.when(mockCommentRepository.updateLikesCount(7, 1)).thenReturn(3);
+        Mockito.when(mockCommentRepository.addLike(7, 1)).thenReturn(true);
+
+        // Act
+        int likes = commentService.likeComment(7, 1);
+
+        // Assert
+        Assertions.assertEquals(3, likes);
+        Mockito.verify(mockCommentRepository, Mockito.never()).save(Mockito.any());
+    }
+
+    @Test
+    public void likeComment_Should_Throw_When_Already_Liked() {
+        // Arrange
+        Mockito.when(mockCommentRepository.updateLikesCount(7, 1)).thenReturn(3);
+        Mockito.when(mockCommentRepository.addLike(7, 1)).thenReturn(false);
+
+        // Act, Assert
+        Assertions.assertThrows(DuplicateEntityException.class, () -> commentService.likeComment(7, 1));
+    }
+
+    @Test
+    public void unlikeComment_Should_Throw_When_Comment_Does_Not_Exist() {
+        // Arrange
+        Mockito.when(mockCommentRepository.updateLikesCount(7, -1))
+                .thenThrow(new EntityNotFoundException("Comment", 7));
+
+        // Act, Assert
+        Assertions.assertThrows(EntityNotFoundException.class, () -> commentService.unlikeComment(7, 1));
+        Mockito.verify(mockCommentRepository, Mockito.never()).removeLike(anyInt(), anyInt());
+    }
+
+    private void mockToResponseDto() {
+        Mockito.when(mockCommentMapper.toResponseDto(Mockito.any(Comment.class), anyInt(), Mockito.anyBoolean()))
+                .thenAnswer(invocation -> {
+                    Comment comment = invocation.getArgument(0);
+                    return CommentResponseDto.builder()
+                            .id(comment.getId())
+                            .createdAt(comment.getCreatedAt())
+                            .likesCount(invocation.getArgument(1))
+                            .likedByMe(invocation.getArgument(2))
+                            .build();
+                });
+    }
+
     private Comment createComment(int id, User user, Post post) {
         Comment comment = new Comment();
         comment.setId(id);
@@ -228,6 +489,23 @@ public class CommentServiceImplTest {
         return comment;
     }
 
+    private Comment createReply(int id, Comment parent, User user) {
+        Comment reply = createComment(id, user, parent.getPost());
+        reply.setParentId(parent.getId());
+        reply.setRootId(parent.getRootId());
+        reply.setDepth(parent.getDepth() + 1);
+        return reply;
+    }
+
+    private Post createPostInFolder(int postId, int folderId) {
+        Folder folder = new Folder();
+        folder.setId(folderId);
+        Post post = new Post();
+        post.setId(postId);
+        post.setFolder(folder);
+        return post;
+    }
+
     private User createMockUser() {
         User user = new User();
         user.setId(1);
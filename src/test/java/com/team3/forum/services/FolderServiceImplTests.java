@@ -6,13 +6,18 @@ import com.team3.forum.exceptions.EntityUpdateConflictException;
 import com.team3.forum.exceptions.FolderNotEmptyException;
 import com.team3.forum.helpers.FolderMapper;
 import com.team3.forum.models.Folder;
+import com.team3.forum.models.FolderStats;
+import com.team3.forum.models.MediaMetaData;
 import com.team3.forum.models.Post;
 import com.team3.forum.models.User;
 import com.team3.forum.models.folderDtos.FolderCalculatedStatsDto;
 import com.team3.forum.models.folderDtos.FolderCreateDto;
 import com.team3.forum.models.folderDtos.FolderResponseDto;
+import com.team3.forum.models.folderDtos.FolderTreeRowDto;
 import com.team3.forum.models.folderDtos.FolderUpdateDto;
 import com.team3.forum.repositories.FolderRepository;
+import com.team3.forum.repositories.FolderStatsRepository;
+import com.team3.forum.repositories.MediaMetaDataRepository;
 import com.team3.forum.repositories.UserRepository;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -39,6 +44,15 @@ public class FolderServiceImplTests {
     @Mock
     FolderMapper folderMapper;
 
+    @Mock
+    FolderTreeCache folderTreeCache;
+
+    @Mock
+    FolderStatsRepository folderStatsRepository;
+
+    @Mock
+    MediaMetaDataRepository mediaMetaDataRepository;
+
     @InjectMocks
     FolderServiceImpl folderService;
 
@@ -233,7 +247,8 @@ public class FolderServiceImplTests {
         when(userRepository.findById(requesterId)).thenReturn(requester);
 
         List<String> slugs = List.of("parent");
-        when(folderRepository.findBySlug("parent")).thenReturn(parent);
+        stubTree(new FolderTreeRowDto(1, null, "parent", "Parent", null));
+        when(folderRepository.findById(1)).thenReturn(parent);
 
         FolderCreateDto dto = new FolderCreateDto();
         dto.setParentFolderId(parent.getId());
@@ -263,7 +278,8 @@ public class FolderServiceImplTests {
         when(userRepository.findById(requesterId)).thenReturn(requester);
 
         List<String> slugs = List.of("parent");
-        when(folderRepository.findBySlug("parent")).thenReturn(parent);
+        stubTree(new FolderTreeRowDto(1, null, "parent", "Parent", null));
+        when(folderRepository.findById(1)).thenReturn(parent);
 
         FolderCreateDto dto = new FolderCreateDto();
         dto.setParentFolderId(parent.getId());
@@ -371,8 +387,8 @@ public class FolderServiceImplTests {
 
         List<String> slugs = List.of("root", "child");
 
-        when(folderRepository.findBySlug("root")).thenReturn(root);
-        when(folderRepository.findByParentFolderAndSlug(root, "child")).thenReturn(target);
+        stubTree(new FolderTreeRowDto(1, null, "root", "Root", null),
+                new FolderTreeRowDto(2, 1, "child", "Child", null));
 
         FolderUpdateDto dto = new FolderUpdateDto();
         dto.setName("New name");
@@ -517,6 +533,78 @@ public class FolderServiceImplTests {
         verify(folderRepository).save(child);
     }
 
+    @Test
+    public void update_Should_Move_Folder_And_Update_Closure_When_Parent_Changes() {
+        Folder oldParent = new Folder();
+        oldParent.setId(1);
+        oldParent.setChildFolders(new HashSet<>());
+
+        Folder newParent = new Folder();
+        newParent.setId(3);
+        newParent.setChildFolders(new HashSet<>());
+
+        Folder child = new Folder();
+        child.setId(2);
+        child.setParentFolder(oldParent);
+        child.setSlug("child");
+        oldParent.getChildFolders().add(child);
+
+        FolderUpdateDto dto = new FolderUpdateDto();
+        dto.setId(2);
+        dto.setName("Child");
+        dto.setSlug("child");
+        dto.setParentFolderId(3);
+
+        when(folderRepository.findById(2)).thenReturn(child);
+        when(folderRepository.findById(3)).thenReturn(newParent);
+        when(folderRepository.isInSubtree(2, 3)).thenReturn(false);
+
+        User requester = mock(User.class);
+        when(requester.isModerator()).thenReturn(true);
+        when(userRepository.findById(10)).thenReturn(requester);
+
+        when(folderRepository.save(any(Folder.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        Folder result = folderService.update(dto, 10);
+
+        Assertions.assertEquals(newParent, result.getParentFolder());
+        verify(folderRepository).moveInClosure(2, 3);
+    }
+
+    @Test
+    public void update_Should_Throw_When_Moving_Folder_Into_Its_Subtree() {
+        Folder parent = new Folder();
+        parent.setId(1);
+        parent.setChildFolders(new HashSet<>());
+
+        Folder child = new Folder();
+        child.setId(2);
+        child.setParentFolder(parent);
+        child.setSlug("child");
+
+        FolderUpdateDto dto = new FolderUpdateDto();
+        dto.setId(2);
+        dto.setName("Child");
+        dto.setSlug("child");
+        dto.setParentFolderId(4);
+
+        when(folderRepository.findById(2)).thenReturn(child);
+        when(folderRepository.isInSubtree(2, 4)).thenReturn(true);
+
+        User requester = mock(User.class);
+        when(requester.isModerator()).thenReturn(true);
+        when(userRepository.findById(10)).thenReturn(requester);
+
+        EntityUpdateConflictException ex = Assertions.assertThrows(
+                EntityUpdateConflictException.class,
+                () -> folderService.update(dto, 10)
+        );
+        Assertions.assertEquals(FolderServiceImpl.MOVE_INTO_SUBTREE_ERROR, ex.getMessage());
+        verify(folderRepository, never()).save(any(Folder.class));
+        verify(folderRepository, never()).moveInClosure(anyInt(), anyInt());
+    }
+
     // ---------- getPostsInFolder ----------
 
     @Test
@@ -569,32 +657,26 @@ public class FolderServiceImplTests {
 
     @Test
     public void getFolderByPath_Should_Throw_When_First_Slug_Not_Root() {
-        Folder notRoot = new Folder();
-        notRoot.setId(1);
-        notRoot.setParentFolder(new Folder()); // not root
-
-        when(folderRepository.findBySlug("root")).thenReturn(notRoot);
+        stubTree(new FolderTreeRowDto(5, null, "top", "Top", null),
+                new FolderTreeRowDto(1, 5, "root", "Not root", null));
 
         Assertions.assertThrows(
                 EntityNotFoundException.class,
                 () -> folderService.getFolderByPath(List.of("root"))
         );
+        verifyNoInteractions(folderRepository);
     }
 
     @Test
     public void getFolderByPath_Should_Throw_When_Intermediate_Slug_Not_Found() {
-        Folder root = new Folder();
-        root.setId(1);
-        root.setParentFolder(null);
-
-        when(folderRepository.findBySlug("root")).thenReturn(root);
-        when(folderRepository.findByParentFolderAndSlug(root, "child"))
-                .thenThrow(new EntityNotFoundException("Not found"));
+        stubTree(new FolderTreeRowDto(1, null, "root", "Root", null),
+                new FolderTreeRowDto(2, 1, "other", "Other", null));
 
         Assertions.assertThrows(
                 EntityNotFoundException.class,
-                () -> folderService.getFolderByPath(List.of("root", "child"))
+                () -> folderService.getFolderByPath(List.of("root", "child", "other"))
         );
+        verifyNoInteractions(folderRepository);
     }
 
     @Test
@@ -607,43 +689,46 @@ public class FolderServiceImplTests {
         child.setId(2);
         child.setParentFolder(root);
 
-        when(folderRepository.findBySlug("root")).thenReturn(root);
-        when(folderRepository.findByParentFolderAndSlug(root, "child"))
-                .thenReturn(child);
+        stubTree(new FolderTreeRowDto(1, null, "root", "Root", null),
+                new FolderTreeRowDto(2, 1, "child", "Child", null));
+        when(folderRepository.findById(2)).thenReturn(child);
 
         Folder result = folderService.getFolderByPath(List.of("root", "child"));
 
         Assertions.assertEquals(child, result);
+        verify(folderRepository, never()).findBySlug(any());
+        verify(folderRepository, never()).findByParentFolderAndSlug(any(), any());
     }
 
     // ---------- getSiblingFolders ----------
 
     @Test
-    public void getSiblingFolders_Should_Return_All_But_Self() {
+    public void getSiblingFolders_Paged_Should_Exclude_Self_And_Page_In_Repository() {
         Folder parent = new Folder();
         parent.setId(1);
 
-        Folder f1 = new Folder();
-        f1.setId(1);
-        f1.setParentFolder(parent);
+        Folder folder = new Folder();
+        folder.setId(2);
+        folder.setParentFolder(parent);
 
-        Folder f2 = new Folder();
-        f2.setId(2);
-        f2.setParentFolder(parent);
+        Folder sibling = new Folder();
+        sibling.setId(3);
+
+        when(folderRepository.findChildFoldersPage(parent, 2, 10, 5)).thenReturn(List.of(sibling));
+        when(folderRepository.countChildFolders(parent, 2)).thenReturn(11);
 
-        Folder f3 = new Folder();
-        f3.setId(3);
-        f3.setParentFolder(parent);
+        Assertions.assertEquals(List.of(sibling), folderService.getSiblingFolders(folder, 3, 5));
+        Assertions.assertEquals(11, folderService.countSiblingFolders(folder));
+    }
 
-        when(folderRepository.getFoldersByParentFolder(parent))
-                .thenReturn(new ArrayList<>(List.of(f1, f2, f3)));
+    @Test
+    public void getChildFolders_Paged_Should_Clamp_Page_To_First() {
+        Folder folder = new Folder();
+        folder.setId(2);
 
-        List<Folder> siblings = folderService.getSiblingFolders(f2);
+        when(folderRepository.findChildFoldersPage(folder, null, 0, 5)).thenReturn(List.of());
 
-        Assertions.assertEquals(2, siblings.size());
-        Assertions.assertFalse(siblings.contains(f2));
-        Assertions.assertTrue(siblings.contains(f1));
-        Assertions.assertTrue(siblings.contains(f3));
+        Assertions.assertTrue(folderService.getChildFolders(folder, 0, 5).isEmpty());
     }
 
     // ---------- getLastActivity ----------
@@ -653,14 +738,10 @@ public class FolderServiceImplTests {
         Folder folder = new Folder();
         folder.setId(1);
 
-        Folder persistent = new Folder();
-        persistent.setId(1);
-
         LocalDateTime postTime = LocalDateTime.now().minusDays(1);
 
-        when(folderRepository.findById(1)).thenReturn(persistent);
-        when(folderRepository.getLastPostDate(persistent)).thenReturn(postTime);
-        when(folderRepository.getLastCommentDate(persistent)).thenReturn(null);
+        when(folderStatsRepository.findByFolderIds(List.of(1)))
+                .thenReturn(Map.of(1, new FolderStats(1, 0, postTime, null, null)));
 
         LocalDateTime result = folderService.getLastActivity(folder);
 
@@ -672,14 +753,10 @@ public class FolderServiceImplTests {
         Folder folder = new Folder();
         folder.setId(1);
 
-        Folder persistent = new Folder();
-        persistent.setId(1);
-
         LocalDateTime commentTime = LocalDateTime.now().minusDays(2);
 
-        when(folderRepository.findById(1)).thenReturn(persistent);
-        when(folderRepository.getLastPostDate(persistent)).thenReturn(null);
-        when(folderRepository.getLastCommentDate(persistent)).thenReturn(commentTime);
+        when(folderStatsRepository.findByFolderIds(List.of(1)))
+                .thenReturn(Map.of(1, new FolderStats(1, 0, null, commentTime, null)));
 
         LocalDateTime result = folderService.getLastActivity(folder);
 
@@ -691,15 +768,11 @@ public class FolderServiceImplTests {
         Folder folder = new Folder();
         folder.setId(1);
 
-        Folder persistent = new Folder();
-        persistent.setId(1);
-
         LocalDateTime postTime = LocalDateTime.now().minusDays(2);
         LocalDateTime commentTime = LocalDateTime.now().minusDays(1);
 
-        when(folderRepository.findById(1)).thenReturn(persistent);
-        when(folderRepository.getLastPostDate(persistent)).thenReturn(postTime);
-        when(folderRepository.getLastCommentDate(persistent)).thenReturn(commentTime);
+        when(folderStatsRepository.findByFolderIds(List.of(1)))
+                .thenReturn(Map.of(1, new FolderStats(1, 0, postTime, commentTime, null)));
 
         LocalDateTime result = folderService.getLastActivity(folder);
 
@@ -711,31 +784,68 @@ public class FolderServiceImplTests {
     @Test
     public void buildSlugPath_Should_Return_Slugs_From_Root_To_Current() {
         Folder root = new Folder();
+        root.setId(1);
         root.setSlug("root");
+        root.setName("Root");
         root.setParentFolder(null);
 
         Folder movies = new Folder();
+        movies.setId(2);
         movies.setSlug("movies");
+        movies.setName("Movies");
         movies.setParentFolder(root);
 
         Folder action = new Folder();
+        action.setId(3);
         action.setSlug("action");
+        action.setName("Action");
         action.setParentFolder(movies);
 
+        stubTree(new FolderTreeRowDto(1, null, "root", "Root", null),
+                new FolderTreeRowDto(2, 1, "movies", "Movies", null),
+                new FolderTreeRowDto(3, 2, "action", "Action", null));
+
         List<String> slugs = folderService.buildSlugPath(action);
 
         Assertions.assertEquals(List.of("root", "movies", "action"), slugs);
     }
 
+    @Test
+    public void buildSlugPath_Should_Use_Entity_State_For_Folder_Changed_In_Transaction() {
+        Folder root = new Folder();
+        root.setId(1);
+        root.setSlug("root");
+        root.setName("Root");
+
+        Folder renamed = new Folder();
+        renamed.setId(2);
+        renamed.setSlug("new-slug");
+        renamed.setName("Movies");
+        renamed.setParentFolder(root);
+
+        Folder created = new Folder();
+        created.setId(3);
+        created.setSlug("action");
+        created.setParentFolder(renamed);
+
+        stubTree(new FolderTreeRowDto(1, null, "root", "Root", null),
+                new FolderTreeRowDto(2, 1, "old-slug", "Movies", null));
+
+        Assertions.assertEquals(List.of("root", "new-slug"), folderService.buildSlugPath(renamed));
+        Assertions.assertEquals(List.of("root", "new-slug", "action"), folderService.buildSlugPath(created));
+    }
+
     // ---------- buildFolderResponseDto (and stats) ----------
 
     @Test
     public void buildFolderResponseDto_Should_Use_Mapper_With_Calculated_Stats() {
         Folder root = new Folder();
+        root.setId(1);
         root.setSlug("root");
         root.setParentFolder(null);
 
         Folder movies = new Folder();
+        movies.setId(2);
         movies.setSlug("movies");
         movies.setParentFolder(root);
         root.setChildFolders(new HashSet<>(Collections.singleton(movies)));
@@ -752,9 +862,12 @@ public class FolderServiceImplTests {
         action.setPosts(new HashSet<>(Arrays.asList(p1, p2)));
         action.setChildFolders(new HashSet<>());
 
-        when(folderRepository.findById(3)).thenReturn(action);
-        when(folderRepository.getLastPostDate(action)).thenReturn(null);
-        when(folderRepository.getLastCommentDate(action)).thenReturn(null);
+        stubTree(new FolderTreeRowDto(1, null, "root", null, null),
+                new FolderTreeRowDto(2, 1, "movies", null, null),
+                new FolderTreeRowDto(3, 2, "action", "Action", null));
+        when(folderStatsRepository.findByFolderIds(Set.of(3)))
+                .thenReturn(Map.of(3, new FolderStats(3, 2, null, null, null)));
+        when(folderRepository.getPostCountsWithSubfolders(Set.of(3))).thenReturn(Map.of(3, 2));
 
         FolderResponseDto dto = new FolderResponseDto();
         when(folderMapper.toResponseDto(
@@ -780,5 +893,53 @@ public class FolderServiceImplTests {
         Assertions.assertEquals(2, stats.getPostCount());
         // postCountWithSubfolders should be same here (no children)
         Assertions.assertEquals(2, stats.getPostCountWithSubfolders());
+        Assertions.assertEquals(3, stats.getPathFolders().size());
+    }
+
+    @Test
+    public void buildFolderResponseDtos_Should_Batch_Lookups_And_Keep_Input_Order() {
+        Folder root = new Folder();
+        root.setId(1);
+        root.setSlug("root");
+
+        Folder drama = new Folder();
+        drama.setId(2);
+        drama.setSlug("drama");
+        drama.setParentFolder(root);
+        drama.setImdbId("tt1");
+
+        Folder action = new Folder();
+        action.setId(3);
+        action.setSlug("action");
+        action.setParentFolder(root);
+
+        stubTree(new FolderTreeRowDto(1, null, "root", null, null),
+                new FolderTreeRowDto(2, 1, "drama", null, null),
+                new FolderTreeRowDto(3, 1, "action", null, null));
+        when(folderStatsRepository.findByFolderIds(Set.of(3, 2)))
+                .thenReturn(Map.of(2, new FolderStats(2, 4, null, null, null)));
+        when(folderRepository.getPostCountsWithSubfolders(Set.of(3, 2))).thenReturn(Map.of(2, 4));
+        MediaMetaData metaData = new MediaMetaData();
+        metaData.setImdbId("tt1");
+        when(mediaMetaDataRepository.findAllById(Set.of("tt1"))).thenReturn(List.of(metaData));
+        when(folderMapper.toResponseDto(any(Folder.class), any(FolderCalculatedStatsDto.class), any()))
+                .thenAnswer(invocation -> FolderResponseDto.builder()
+                        .id(invocation.<Folder>getArgument(0).getId())
+                        .postCount(invocation.<FolderCalculatedStatsDto>getArgument(1).getPostCount())
+                        .metaData(invocation.getArgument(2))
+                        .build());
+
+        List<FolderResponseDto> result = folderService.buildFolderResponseDtos(List.of(action, drama));
+
+        Assertions.assertEquals(List.of(3, 2), result.stream().map(FolderResponseDto::getId).toList());
+        Assertions.assertEquals(0, result.get(0).getPostCount());
+        Assertions.assertEquals(4, result.get(1).getPostCount());
+        Assertions.assertNull(result.get(0).getMetaData());
+        Assertions.assertEquals(metaData, result.get(1).getMetaData());
+        verify(folderRepository, never()).findById(anyInt());
+    }
+
+    private void stubTree(FolderTreeRowDto... rows) {
+        when(folderTreeCache.get()).thenReturn(FolderTree.build(List.of(rows)));
     }
 }
@@ -0,0 +1,79 @@
+package com.team3.forum.services;
+
+import com.team3.forum.models.folderDtos.FolderTreeRowDto;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+public class FolderTreeTests {
+
+    // In repository order: by name, then id.
+    private final FolderTree tree = FolderTree.build(List.of(
+            new FolderTreeRowDto(3, 1, "action", "Action", null),
+            new FolderTreeRowDto(5, null, "books", "Books", null),
+            new FolderTreeRowDto(2, 1, "drama", "Drama", null),
+            new FolderTreeRowDto(4, 3, "heist", "Heist", null),
+            new FolderTreeRowDto(1, null, "movies", "Movies", "All movies"),
+            new FolderTreeRowDto(6, 99, "orphan", "Orphan", null)));
+
+    @Test
+    public void resolve_Should_Find_Nested_Folder_With_Precomputed_Paths() {
+        FolderTree.Node heist = tree.resolve(List.of("movies", "action", "heist")).orElseThrow();
+
+        Assertions.assertEquals(4, heist.id());
+        Assertions.assertEquals(2, heist.depth());
+        Assertions.assertEquals("movies/action/heist", heist.path());
+        Assertions.assertEquals(List.of("movies", "action", "heist"), heist.slugPath());
+        Assertions.assertEquals(List.of(1, 3, 4), heist.breadcrumbs().stream().map(FolderTree.Node::id).toList());
+    }
+
+    @Test
+    public void resolve_Should_Return_Empty_When_Path_Does_Not_Exist() {
+        Assertions.assertTrue(tree.resolve(List.of("action")).isEmpty());
+        Assertions.assertTrue(tree.resolve(List.of("movies", "comedy")).isEmpty());
+        Assertions.assertTrue(tree.resolve(List.of()).isEmpty());
+    }
+
+    @Test
+    public void build_Should_Order_Children_By_Name() {
+        Assertions.assertEquals(List.of(5, 1), tree.roots().stream().map(FolderTree.Node::id).toList());
+        Assertions.assertEquals(List.of(3, 2), tree.children(1).stream().map(FolderTree.Node::id).toList());
+    }
+
+    @Test
+    public void build_Should_Keep_Repository_Order_Instead_Of_Sorting_Again() {
+        // The database collation decides the order, including for names Java would compare differently.
+        FolderTree collated = FolderTree.build(List.of(
+                new FolderTreeRowDto(8, null, "eclair", "Éclair", null),
+                new FolderTreeRowDto(7, null, "eve", "eve", null),
+                new FolderTreeRowDto(9, null, "eve-2", "Eve", null)));
+
+        Assertions.assertEquals(List.of(8, 7, 9), collated.roots().stream().map(FolderTree.Node::id).toList());
+    }
+
+    @Test
+    public void build_Should_Leave_Out_Unreachable_Folders() {
+        Assertions.assertTrue(tree.find(6).isEmpty());
+        Assertions.assertEquals(5, tree.size());
+    }
+
+    @Test
+    public void subtreeIds_Should_Include_Folder_And_Descendants() {
+        Assertions.assertEquals(Set.of(1, 2, 3, 4), tree.subtreeIds(1));
+        Assertions.assertEquals(Set.of(5), tree.subtreeIds(5));
+        Assertions.assertTrue(tree.subtreeIds(42).isEmpty());
+    }
+
+    @Test
+    public void child_Should_Extend_Parent_Paths() {
+        FolderTree.Node movies = tree.find(1).orElseThrow();
+
+        FolderTree.Node comedy = movies.child(7, "comedy", "Comedy", null, List.of());
+
+        Assertions.assertEquals("movies/comedy", comedy.path());
+        Assertions.assertEquals(1, comedy.depth());
+        Assertions.assertEquals(1, comedy.parentId());
+    }
+}
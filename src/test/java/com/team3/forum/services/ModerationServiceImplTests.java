@@ -0,0 +1,141 @@
+package com.team3.forum.services;
+
+import com.team3.forum.exceptions.AuthorizationException;
+import com.team3.forum.models.User;
+import com.team3.forum.models.adminDtos.BulkModerationResultDto;
+import com.team3.forum.models.adminDtos.ModerationTargetDto;
+import com.team3.forum.models.commentDtos.CommentEvent;
+import com.team3.forum.models.enums.ModerationOutcome;
+import com.team3.forum.models.enums.Role;
+import com.team3.forum.repositories.CommentRepository;
+import com.team3.forum.repositories.FolderStatsRepository;
+import com.team3.forum.repositories.PostRepository;
+import com.team3.forum.repositories.UserRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ModerationServiceImplTests {
+
+    @Mock
+    UserRepository userRepository;
+
+    @Mock
+    PostRepository postRepository;
+
+    @Mock
+    CommentRepository commentRepository;
+
+    @Mock
+    FolderStatsRepository folderStatsRepository;
+
+    @Mock
+    PostSearchService postSearchService;
+
+    @Mock
+    PostCountCache postCountCache;
+
+    @Mock
+    CommentEventBroker commentEventBroker;
+
+    @InjectMocks
+    ModerationServiceImpl moderationService;
+
+    @Test
+    public void deletePosts_Should_Report_Outcome_Per_Id_And_Update_Only_Changing_Posts() {
+        when(userRepository.findById(1)).thenReturn(user(1, Role.MODERATOR));
+        when(postRepository.findModerationTargets(List.of(10, 11, 12, 13))).thenReturn(List.of(
+                new ModerationTargetDto(10, true, 5, 2, Role.USER),
+                new ModerationTargetDto(11, false, 5, 2, Role.USER),
+                new ModerationTargetDto(12, false, 5, 3, Role.MODERATOR)));
+        when(postRepository.updateDeleted(eq(List.of(11)), eq(true), notNull())).thenReturn(1);
+
+        BulkModerationResultDto result = moderationService.deletePosts(List.of(10, 11, 12, 13, 11), 1);
+
+        Assertions.assertEquals(4, result.getRequested());
+        Assertions.assertEquals(1, result.getChanged());
+        Assertions.assertEquals(Map.of(
+                10, ModerationOutcome.ALREADY_DELETED,
+                11, ModerationOutcome.DELETED,
+                12, ModerationOutcome.FORBIDDEN,
+                13, ModerationOutcome.NOT_FOUND), result.getResults());
+        Assertions.assertEquals(List.of(10, 11, 12, 13), List.copyOf(result.getResults().keySet()));
+        verify(folderStatsRepository).refresh(5);
+        verify(postSearchService).removePost(11);
+        verify(postCountCache).invalidateAll();
+    }
+
+    @Test
+    public void deletePosts_Should_Throw_When_Requester_Is_Not_Moderator() {
+        when(userRepository.findById(1)).thenReturn(user(1, Role.USER));
+
+        Assertions.assertThrows(AuthorizationException.class, () -> moderationService.deletePosts(List.of(10), 1));
+
+        verifyNoInteractions(postRepository);
+    }
+
+    @Test
+    public void restorePosts_Should_Load_And_Update_In_Chunks() {
+        List<Integer> ids = IntStream.rangeClosed(1, ModerationServiceImpl.CHUNK_SIZE + 1).boxed().toList();
+        when(userRepository.findById(1)).thenReturn(user(1, Role.ADMIN));
+        when(postRepository.findModerationTargets(anyCollection())).thenAnswer(invocation -> {
+            List<Integer> chunk = invocation.getArgument(0);
+            return chunk.stream().map(id -> new ModerationTargetDto(id, true, 5, 2, Role.ADMIN)).toList();
+        });
+        when(postRepository.updateDeleted(anyCollection(), eq(false), isNull()))
+                .thenAnswer(invocation -> invocation.<List<Integer>>getArgument(0).size());
+        when(postRepository.findForIndexing(anyCollection())).thenReturn(List.of());
+
+        BulkModerationResultDto result = moderationService.restorePosts(ids, 1);
+
+        Assertions.assertEquals(ids.size(), result.getChanged());
+        verify(postRepository, times(2)).findModerationTargets(anyCollection());
+        verify(postRepository, times(2)).updateDeleted(anyCollection(), eq(false), isNull());
+        verify(folderStatsRepository).refresh(5);
+    }
+
+    @Test
+    public void deleteComments_Should_Refresh_Counters_Once_Per_Post_And_Parent() {
+        when(userRepository.findById(1)).thenReturn(user(1, Role.MODERATOR));
+        when(commentRepository.findModerationTargets(List.of(20, 21))).thenReturn(List.of(
+                new ModerationTargetDto(20, false, 7, 5, 3, 2, Role.USER),
+                new ModerationTargetDto(21, false, 7, 5, null, 2, Role.USER)));
+        when(commentRepository.updateDeleted(eq(List.of(20, 21)), eq(true), notNull())).thenReturn(2);
+
+        BulkModerationResultDto result = moderationService.deleteComments(List.of(20, 21), 1);
+
+        Assertions.assertEquals(2, result.getChanged());
+        verify(postRepository).refreshCommentsCount(List.of(7));
+        verify(commentRepository).refreshReplyCounts(List.of(3));
+        verify(folderStatsRepository).refresh(5);
+        verify(commentEventBroker, times(2)).publish(any(CommentEvent.class));
+    }
+
+    @Test
+    public void deleteUserContent_Should_Throw_When_Moderator_Targets_Another_Moderator() {
+        when(userRepository.findById(1)).thenReturn(user(1, Role.MODERATOR));
+        when(userRepository.findById(2)).thenReturn(user(2, Role.MODERATOR));
+
+        Assertions.assertThrows(AuthorizationException.class, () -> moderationService.deleteUserContent(2, 1));
+
+        verifyNoInteractions(postRepository, commentRepository);
+    }
+
+    private static User user(int id, Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setRole(role);
+        return user;
+    }
+}
@@ -0,0 +1,90 @@
+package com.team3.forum.services;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PostCountCacheTests {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-03-10T12:00:00Z"));
+    private final PostCountCache cache = new PostCountCache(Duration.ofMinutes(5), clock);
+
+    @Test
+    public void get_Should_Load_Once_And_Serve_From_Cache() {
+        AtomicInteger loads = new AtomicInteger();
+
+        int first = cache.get(5, 0, () -> loads.incrementAndGet() * 10);
+        int second = cache.get(5, 0, () -> loads.incrementAndGet() * 10);
+
+        Assertions.assertEquals(10, first);
+        Assertions.assertEquals(10, second);
+        Assertions.assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void get_Should_Reload_After_Ttl() {
+        cache.get(5, 0, () -> 1);
+        clock.advance(Duration.ofMinutes(6));
+
+        Assertions.assertEquals(2, cache.get(5, 0, () -> 2));
+    }
+
+    @Test
+    public void invalidateFolder_Should_Drop_Folder_And_Global_Entries_Only() {
+        cache.get(5, 0, () -> 1);
+        cache.get(5, 3, () -> 1);
+        cache.get(0, 0, () -> 1);
+        cache.get(6, 0, () -> 1);
+
+        cache.invalidateFolder(5);
+
+        Assertions.assertEquals(2, cache.get(5, 0, () -> 2));
+        Assertions.assertEquals(2, cache.get(5, 3, () -> 2));
+        Assertions.assertEquals(2, cache.get(0, 0, () -> 2));
+        Assertions.assertEquals(1, cache.get(6, 0, () -> 2));
+    }
+
+    @Test
+    public void get_Should_Not_Keep_Count_Loaded_During_Invalidation() {
+        int loaded = cache.get(5, 0, () -> {
+            cache.invalidateFolder(5);
+            return 1;
+        });
+
+        Assertions.assertEquals(1, loaded);
+        Assertions.assertEquals(2, cache.get(5, 0, () -> 2));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
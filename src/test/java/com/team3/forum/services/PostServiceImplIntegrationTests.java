@@ -0,0 +1,98 @@
+package com.team3.forum.services;
+
+import com.team3.forum.exceptions.DuplicateEntityException;
+import com.team3.forum.exceptions.EntityNotFoundException;
+import com.team3.forum.models.Folder;
+import com.team3.forum.models.Post;
+import com.team3.forum.models.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Runs the post like statements against the test database, which is in MySQL mode so the
+ * native insert ignore and last_insert_id(expr) forms execute as they do in production.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@Transactional
+public class PostServiceImplIntegrationTests {
+
+    @Autowired
+    PostService postService;
+
+    @PersistenceContext
+    EntityManager em;
+
+    User author;
+    User reader;
+    Post post;
+
+    @BeforeEach
+    public void setUp() {
+        author = createUser("post_author");
+        reader = createUser("post_reader");
+
+        Folder folder = Folder.builder()
+                .name("Integration folder")
+                .slug("integration-folder")
+                .build();
+        em.persist(folder);
+
+        post = Post.builder()
+                .title("Integration post")
+                .content("Integration content")
+                .user(author)
+                .folder(folder)
+                .build();
+        em.persist(post);
+        em.flush();
+    }
+
+    @Test
+    public void likePost_Should_Keep_Counter_In_Step_With_Likes() {
+        // Act
+        int afterFirst = postService.likePost(post.getId(), author.getId());
+        int afterSecond = postService.likePost(post.getId(), reader.getId());
+        int afterUnlike = postService.unlikePost(post.getId(), author.getId());
+
+        // Assert
+        Assertions.assertEquals(1, afterFirst);
+        Assertions.assertEquals(2, afterSecond);
+        Assertions.assertEquals(1, afterUnlike);
+        Assertions.assertEquals(1, postService.getLikes(post.getId()));
+    }
+
+    @Test
+    public void likePost_Should_Throw_When_Already_Liked() {
+        // Arrange
+        postService.likePost(post.getId(), author.getId());
+
+        // Act, Assert
+        Assertions.assertThrows(DuplicateEntityException.class,
+                () -> postService.likePost(post.getId(), author.getId()));
+    }
+
+    @Test
+    public void likePost_Should_Throw_When_Post_Does_Not_Exist() {
+        // Act, Assert
+        Assertions.assertThrows(EntityNotFoundException.class,
+                () -> postService.likePost(post.getId() + 1000, author.getId()));
+    }
+
+    private User createUser(String username) {
+        User user = User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("encoded_password")
+                .build();
+        em.persist(user);
+        return user;
+    }
+}
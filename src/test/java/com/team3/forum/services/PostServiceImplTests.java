@@ -3,18 +3,31 @@ package com.team3.forum.services;
 import com.team3.forum.exceptions.AuthorizationException;
 import com.team3.forum.exceptions.DuplicateEntityException;
 import com.team3.forum.exceptions.EntityNotFoundException;
+import com.team3.forum.helpers.MarkdownService;
 import com.team3.forum.helpers.PostMapper;
 import com.team3.forum.models.Folder;
 import com.team3.forum.models.Post;
+import com.team3.forum.models.Tag;
 import com.team3.forum.models.User;
 import com.team3.forum.models.enums.PostSortField;
 import com.team3.forum.models.enums.Role;
 import com.team3.forum.models.enums.SortDirection;
+import com.team3.forum.models.likeDtos.LikerCursor;
+import com.team3.forum.models.likeDtos.LikersPage;
+import com.team3.forum.models.postDtos.PostCursor;
+import com.team3.forum.models.postDtos.PostPage;
+import com.team3.forum.models.postDtos.PostSearchPage;
+import com.team3.forum.models.postDtos.PostSummaryDto;
 import com.team3.forum.models.postDtos.PostUpdateDto;
+import com.team3.forum.models.userDtos.UserSummaryDto;
 import com.team3.forum.repositories.FolderRepository;
+import com.team3.forum.repositories.FolderStatsRepository;
 import com.team3.forum.repositories.PostRepository;
 import com.team3.forum.repositories.PostViewRepository;
 import com.team3.forum.repositories.UserRepository;
+import com.team3.forum.search.Highlight;
+import com.team3.forum.search.SearchHit;
+import com.team3.forum.search.SearchResult;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -22,12 +35,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -50,6 +63,21 @@ public class PostServiceImplTests {
     @Mock
     PostMapper postMapper;
 
+    @Mock
+    PostViewRecorder postViewRecorder;
+
+    @Mock
+    PostCountCache postCountCache;
+
+    @Mock
+    PostSearchService postSearchService;
+
+    @Mock
+    MarkdownService markdownService;
+
+    @Mock
+    FolderStatsRepository folderStatsRepository;
+
     @InjectMocks
     PostServiceImpl postService;
 
@@ -252,9 +280,13 @@ public class PostServiceImplTests {
         owner.setRole(Role.USER);
         when(userRepository.findById(requesterId)).thenReturn(owner);
 
+        Folder folder = new Folder();
+        folder.setId(5);
+
         Post post = new Post();
         post.setId(postId);
         post.setUser(owner);
+        post.setFolder(folder);
         when(postRepository.findById(postId)).thenReturn(post);
 
         postService.deleteById(postId, requesterId);
@@ -262,6 +294,9 @@ public class PostServiceImplTests {
         Assertions.assertTrue(post.isDeleted());
         Assertions.assertNotNull(post.getDeletedAt());
         verify(postRepository).save(post);
+        verify(postCountCache).invalidateFolder(5);
+        verify(folderStatsRepository).refresh(5);
+        verify(postSearchService).removePost(postId);
     }
 
     @Test
@@ -358,6 +393,8 @@ public class PostServiceImplTests {
         Assertions.assertFalse(result.isDeleted());
         Assertions.assertNull(result.getDeletedAt());
         verify(postRepository).save(post);
+        verify(postCountCache).invalidateFolder(0);
+        verify(postSearchService).indexPost(post);
     }
 
     // ---------- create ----------
@@ -469,15 +506,8 @@ public class PostServiceImplTests {
     // ---------- likes ----------
 
     @Test
-    public void getLikes_Should_Return_Size_Of_LikedBy() {
-        Post post = new Post();
-        post.setId(1);
-        Set<User> likedBy = new HashSet<>();
-        likedBy.add(User.builder().id(1).build());
-        likedBy.add(User.builder().id(2).build());
-        post.setLikedBy(likedBy);
-
-        when(postRepository.findById(1)).thenReturn(post);
+    public void getLikes_Should_Return_Stored_Count() {
+        when(postRepository.getLikesCount(1)).thenReturn(2);
 
         int likes = postService.getLikes(1);
 
@@ -489,48 +519,38 @@ public class PostServiceImplTests {
         int postId = 1;
         int userId = 10;
 
-        User user = new User();
-        user.setId(userId);
-        user.setLikedPosts(new HashSet<>());
-
-        Post post = new Post();
-        post.setId(postId);
-        Set<User> likedBy = new HashSet<>();
-        likedBy.add(user);
-        post.setLikedBy(likedBy);
-
-        when(userRepository.findById(userId)).thenReturn(user);
-        when(postRepository.findById(postId)).thenReturn(post);
+        when(postRepository.updateLikesCount(postId, 1)).thenReturn(6);
+        when(postRepository.addLike(postId, userId)).thenReturn(false);
 
         DuplicateEntityException ex = Assertions.assertThrows(
                 DuplicateEntityException.class,
                 () -> postService.likePost(postId, userId)
         );
         Assertions.assertEquals(PostServiceImpl.ALREADY_LIKED_ERROR, ex.getMessage());
-        verify(postRepository, never()).save(any());
     }
 
     @Test
-    public void likePost_Should_Add_Like_And_Save() {
-        int postId = 1;
-        int userId = 10;
+    public void likePost_Should_Throw_When_Post_Does_Not_Exist() {
+        when(postRepository.updateLikesCount(1, 1)).thenThrow(new EntityNotFoundException("Post", 1));
 
-        User user = new User();
-        user.setId(userId);
-        user.setLikedPosts(new HashSet<>());
+        Assertions.assertThrows(EntityNotFoundException.class, () -> postService.likePost(1, 10));
 
-        Post post = new Post();
-        post.setId(postId);
-        post.setLikedBy(new HashSet<>());
+        verify(postRepository, never()).addLike(anyInt(), anyInt());
+    }
 
-        when(userRepository.findById(userId)).thenReturn(user);
-        when(postRepository.findById(postId)).thenReturn(post);
+    @Test
+    public void likePost_Should_Insert_Like_And_Return_New_Count() {
+        int postId = 1;
+        int userId = 10;
 
-        postService.likePost(postId, userId);
+        when(postRepository.updateLikesCount(postId, 1)).thenReturn(5);
+        when(postRepository.addLike(postId, userId)).thenReturn(true);
 
-        Assertions.assertTrue(post.getLikedBy().contains(user));
-        Assertions.assertTrue(user.getLikedPosts().contains(post));
-        verify(postRepository).save(post);
+        int likes = postService.likePost(postId, userId);
+
+        Assertions.assertEquals(5, likes);
+        verify(postRepository, never()).getLikesCount(anyInt());
+        verify(postRepository, never()).save(any());
     }
 
     @Test
@@ -538,49 +558,56 @@ public class PostServiceImplTests {
         int postId = 1;
         int userId = 10;
 
-        User user = new User();
-        user.setId(userId);
-        user.setLikedPosts(new HashSet<>());
-
-        Post post = new Post();
-        post.setId(postId);
-        post.setLikedBy(new HashSet<>());
-
-        when(userRepository.findById(userId)).thenReturn(user);
-        when(postRepository.findById(postId)).thenReturn(post);
+        when(postRepository.updateLikesCount(postId, -1)).thenReturn(4);
+        when(postRepository.removeLike(postId, userId)).thenReturn(false);
 
         EntityNotFoundException ex = Assertions.assertThrows(
                 EntityNotFoundException.class,
                 () -> postService.unlikePost(postId, userId)
         );
         Assertions.assertEquals(PostServiceImpl.NOT_LIKED_ERROR, ex.getMessage());
-        verify(postRepository, never()).save(any());
     }
 
     @Test
-    public void unlikePost_Should_Remove_Like_And_Save() {
+    public void unlikePost_Should_Delete_Like_And_Return_New_Count() {
         int postId = 1;
         int userId = 10;
 
-        User user = new User();
-        user.setId(userId);
-        user.setLikedPosts(new HashSet<>());
+        when(postRepository.updateLikesCount(postId, -1)).thenReturn(4);
+        when(postRepository.removeLike(postId, userId)).thenReturn(true);
 
-        Post post = new Post();
-        post.setId(postId);
-        Set<User> likedBy = new HashSet<>();
-        likedBy.add(user);
-        post.setLikedBy(likedBy);
-        user.getLikedPosts().add(post);
+        int likes = postService.unlikePost(postId, userId);
 
-        when(userRepository.findById(userId)).thenReturn(user);
-        when(postRepository.findById(postId)).thenReturn(post);
+        Assertions.assertEquals(4, likes);
+        verify(postRepository, never()).getLikesCount(anyInt());
+    }
 
-        postService.unlikePost(postId, userId);
+    @Test
+    public void getLikers_Should_Page_By_User_Id_After_Cursor() {
+        when(postRepository.getLikesCount(1)).thenReturn(3);
+        when(postRepository.findLikers(1, 7, 3)).thenReturn(List.of(
+                new UserSummaryDto(8, "ann"),
+                new UserSummaryDto(9, "bob"),
+                new UserSummaryDto(12, "cid")));
+
+        LikersPage result = postService.getLikers(1, new LikerCursor(7).encode(), 2);
+
+        Assertions.assertEquals(3, result.getLikesCount());
+        Assertions.assertEquals(List.of(8, 9), result.getItems().stream().map(UserSummaryDto::getUserId).toList());
+        Assertions.assertTrue(result.isHasNext());
+        Assertions.assertEquals(9, LikerCursor.decode(result.getNextCursor()).orElseThrow().userId());
+    }
 
-        Assertions.assertFalse(post.getLikedBy().contains(user));
-        Assertions.assertFalse(user.getLikedPosts().contains(post));
-        verify(postRepository).save(post);
+    @Test
+    public void getLikers_Should_Start_From_First_Liker_Without_Cursor() {
+        when(postRepository.getLikesCount(1)).thenReturn(1);
+        when(postRepository.findLikers(1, 0, PostServiceImpl.MAX_LIKERS_PAGE_SIZE + 1))
+                .thenReturn(List.of(new UserSummaryDto(8, "ann")));
+
+        LikersPage result = postService.getLikers(1, null, 500);
+
+        Assertions.assertFalse(result.isHasNext());
+        Assertions.assertNull(result.getNextCursor());
     }
 
     // ---------- getPostsInFolderPaginated (simple) ----------
@@ -590,7 +617,7 @@ public class PostServiceImplTests {
         Folder folder = new Folder();
         folder.setId(5);
 
-        List<Post> posts = List.of(new Post(), new Post());
+        List<PostSummaryDto> posts = List.of(new PostSummaryDto(), new PostSummaryDto());
         when(postRepository.findPostsInFolderPaginated(
                 anyInt(),
                 eq(PostServiceImpl.POSTS_PAGE_SIZE),
@@ -600,7 +627,7 @@ public class PostServiceImplTests {
         )).thenReturn(posts);
 
         // invalid orderBy and direction
-        List<Post> result = postService.getPostsInFolderPaginated(folder, 1, "blah", "up");
+        List<PostSummaryDto> result = postService.getPostsInFolderPaginated(folder, 1, "blah", "up");
 
         Assertions.assertEquals(2, result.size());
         verify(postRepository).findPostsInFolderPaginated(
@@ -632,19 +659,233 @@ public class PostServiceImplTests {
         );
     }
 
-    // ---------- trending & count ----------
+    // ---------- getPostsInFolderByCursor ----------
+
+    @Test
+    public void getPostsInFolderByCursor_Should_Fall_Back_To_First_Page_When_Cursor_Invalid() {
+        when(postCountCache.get(eq(0), eq(0), any())).thenReturn(0);
+        when(postRepository.findPostsInFolderWithTagPaginated(
+                anyInt(), anyInt(), any(), any(), any(), any(), any(), anyInt()
+        )).thenReturn(Collections.emptyList());
+
+        PostPage page = postService.getPostsInFolderByCursor(null, "not-a-cursor", null, "created_at", "desc", 0, true);
+
+        Assertions.assertEquals(1, page.getPage());
+        Assertions.assertNull(page.getNextCursor());
+        verify(postRepository).findPostsInFolderWithTagPaginated(
+                0, PostServiceImpl.POSTS_PAGE_SIZE + 1, null, null, null, PostSortField.CREATED_AT, SortDirection.DESC, 0);
+        verify(postRepository, never()).findPostsInFolderWithTagByCursor(
+                anyInt(), any(), any(), any(), anyInt(), any(), any(), any());
+    }
+
+    @Test
+    public void getPostsInFolderByCursor_Should_Seek_Past_Cursor_And_Link_Neighbour_Pages() {
+        PostSummaryDto boundary = cursorPost(100, "Boundary");
+        PostCursor cursor = PostCursor.after(boundary, PostSortField.TITLE, SortDirection.ASC, 2);
+        List<PostSummaryDto> rows = new ArrayList<>();
+        for (int i = 1; i <= PostServiceImpl.POSTS_PAGE_SIZE + 1; i++) {
+            rows.add(cursorPost(i, "Title " + i));
+        }
+        when(postRepository.findPostsInFolderWithTagByCursor(
+                eq(PostServiceImpl.POSTS_PAGE_SIZE + 1), any(), any(), any(), anyInt(),
+                eq(PostSortField.TITLE), eq(SortDirection.ASC), any(PostCursor.class)
+        )).thenReturn(rows);
+        when(postCountCache.get(eq(0), eq(0), any())).thenReturn(35);
+
+        // the sort in the token wins over the request parameters
+        PostPage page = postService.getPostsInFolderByCursor(null, cursor.encode(), null, "created_at", "desc", 0, true);
+
+        Assertions.assertEquals(2, page.getPage());
+        Assertions.assertEquals(PostServiceImpl.POSTS_PAGE_SIZE, page.getItems().size());
+        PostCursor next = PostCursor.decode(page.getNextCursor()).orElseThrow();
+        Assertions.assertEquals(PostServiceImpl.POSTS_PAGE_SIZE, next.postId());
+        Assertions.assertEquals("Title " + PostServiceImpl.POSTS_PAGE_SIZE, next.sortKey());
+        Assertions.assertEquals(3, next.page());
+        Assertions.assertFalse(next.backward());
+        PostCursor previous = PostCursor.decode(page.getPrevCursor()).orElseThrow();
+        Assertions.assertEquals(1, previous.postId());
+        Assertions.assertTrue(previous.backward());
+        Assertions.assertEquals(1, previous.page());
+    }
+
+    @Test
+    public void getPostsInFolderByCursor_Should_Restore_Order_And_Stop_At_First_Page_When_Walking_Back() {
+        PostSummaryDto boundary = cursorPost(50, "Boundary");
+        PostCursor cursor = PostCursor.before(boundary, PostSortField.ID, SortDirection.DESC, 4);
+        when(postRepository.findPostsInFolderWithTagByCursor(
+                anyInt(), any(), any(), any(), anyInt(), any(), any(), any(PostCursor.class)
+        )).thenReturn(List.of(cursorPost(51, "a"), cursorPost(52, "b"), cursorPost(53, "c")));
+        PostPage page = postService.getPostsInFolderByCursor(null, cursor.encode(), null, "id", "desc", 0, false);
+
+        Assertions.assertEquals(1, page.getPage());
+        Assertions.assertNull(page.getPrevCursor());
+        Assertions.assertNull(page.getTotalItems());
+        Assertions.assertEquals(51, PostCursor.decode(page.getNextCursor()).orElseThrow().postId());
+        verifyNoInteractions(postCountCache);
+    }
+
+    // ---------- getPostsInFolderPaginated (totals) ----------
+
+    @Test
+    public void getPostsInFolderPaginated_Should_Detect_Next_Page_Without_Counting() {
+        List<PostSummaryDto> rows = new ArrayList<>();
+        for (int i = 1; i <= PostServiceImpl.POSTS_PAGE_SIZE + 1; i++) {
+            rows.add(cursorPost(i, "Title " + i));
+        }
+        when(postRepository.findPostsInFolderWithTagPaginated(
+                eq(20), eq(PostServiceImpl.POSTS_PAGE_SIZE + 1), eq("java"), isNull(), any(), any(), any(), anyInt()
+        )).thenReturn(rows);
+
+        PostPage page = postService.getPostsInFolderPaginated(null, 3, "java", "title", "asc", 0, false);
+
+        Assertions.assertTrue(page.isHasNext());
+        Assertions.assertTrue(page.isHasPrevious());
+        Assertions.assertNull(page.getTotalItems());
+        Assertions.assertEquals(PostServiceImpl.POSTS_PAGE_SIZE, page.getItems().size());
+        Assertions.assertEquals(21, page.getFromItem());
+        Assertions.assertEquals(30, page.getToItem());
+        verify(postRepository, never()).countPostsInFolderWithTagAndSearch(any(), anyInt(), any());
+        verifyNoInteractions(postCountCache);
+    }
+
+    @Test
+    public void getPostsInFolderPaginated_Should_Take_Unfiltered_Totals_From_Cache() {
+        Folder folder = new Folder();
+        folder.setId(5);
+        when(postCountCache.get(eq(5), eq(2), any())).thenReturn(12);
+        when(postRepository.findPostsInFolderWithTagPaginated(
+                anyInt(), anyInt(), any(), any(), any(), any(), any(), anyInt()
+        )).thenReturn(List.of(cursorPost(1, "a"), cursorPost(2, "b")));
+
+        PostPage page = postService.getPostsInFolderPaginated(folder, 7, "", "created_at", "desc", 2, true);
+
+        Assertions.assertEquals(2, page.getPage());
+        Assertions.assertEquals(12, page.getTotalItems());
+        Assertions.assertEquals(2, page.getTotalPages());
+        Assertions.assertFalse(page.isHasNext());
+        verify(postRepository, never()).countPostsInFolderWithTagAndSearch(any(), anyInt(), any());
+    }
+
+    @Test
+    public void getPostsInFolderPaginated_Should_Count_Search_Totals_On_Demand() {
+        when(postRepository.countPostsInFolderWithTagAndSearch(null, 0, "java")).thenReturn(3);
+        when(postRepository.findPostsInFolderWithTagPaginated(
+                anyInt(), anyInt(), any(), any(), any(), any(), any(), anyInt()
+        )).thenReturn(Collections.emptyList());
+
+        PostPage page = postService.getPostsInFolderPaginated(null, 1, "java", "created_at", "desc", 0, true);
+
+        Assertions.assertEquals(3, page.getTotalItems());
+        verifyNoInteractions(postCountCache);
+    }
 
     @Test
-    public void getTrendingPosts_Should_Delegate_To_Repository() {
-        List<Post> posts = List.of(new Post(), new Post());
-        when(postRepository.findAllSortedByViewsLastDays(5, 7)).thenReturn(posts);
+    public void postCursor_Should_Round_Trip_Sort_Keys_Containing_Separator() {
+        PostSummaryDto post = cursorPost(7, "a|b|c");
 
-        List<Post> result = postService.getTrendingPosts();
+        PostCursor decoded = PostCursor.decode(
+                PostCursor.after(post, PostSortField.TITLE, SortDirection.DESC, 3).encode()).orElseThrow();
 
-        Assertions.assertEquals(posts, result);
-        verify(postRepository).findAllSortedByViewsLastDays(5, 7);
+        Assertions.assertEquals("a|b|c", decoded.sortKey());
+        Assertions.assertEquals(7, decoded.postId());
+        Assertions.assertEquals(PostSortField.TITLE, decoded.sortField());
+        Assertions.assertEquals(SortDirection.DESC, decoded.direction());
+    }
+
+    private PostSummaryDto cursorPost(int id, String title) {
+        return PostSummaryDto.builder()
+                .id(id)
+                .title(title)
+                .userId(1)
+                .creator("john")
+                .folderName("General")
+                .createdAt(LocalDateTime.of(2025, 1, 1, 12, 0))
+                .build();
     }
 
+    @Test
+    public void getPostsInFolderPaginated_Should_Filter_By_Search_Index_Matches_When_Ready() {
+        Folder folder = new Folder();
+        folder.setId(5);
+        when(postSearchService.findMatches("spring boot", folder, 0)).thenReturn(Optional.of(new SearchResult(
+                List.of(new SearchHit(3, 3.0), new SearchHit(1, 2.0), new SearchHit(2, 1.0)), 3)));
+        when(postRepository.findPostsInFolderWithTagPaginated(
+                anyInt(), anyInt(), any(), any(), any(), any(), any(), anyInt()
+        )).thenReturn(List.of(cursorPost(1, "a"), cursorPost(2, "b"), cursorPost(3, "c")));
+
+        PostPage page = postService.getPostsInFolderPaginated(folder, 1, "spring boot", "created_at", "desc", 0, false);
+
+        Assertions.assertEquals(3, page.getTotalItems());
+        verify(postRepository).findPostsInFolderWithTagPaginated(
+                0, PostServiceImpl.POSTS_PAGE_SIZE + 1, null, List.of(3, 1, 2), folder,
+                PostSortField.CREATED_AT, SortDirection.DESC, 0);
+        verify(postRepository, never()).countPostsInFolderWithTagAndSearch(any(), anyInt(), any());
+        Assertions.assertFalse(page.isMoreSearchHits());
+    }
+
+    @Test
+    public void getPostsInFolderPaginated_Should_Page_Over_Capped_Matches_Instead_Of_Title_Filter() {
+        Folder folder = new Folder();
+        folder.setId(5);
+        when(postSearchService.findMatches("spring", folder, 0)).thenReturn(Optional.of(new SearchResult(
+                List.of(new SearchHit(3, 3.0), new SearchHit(1, 2.0)), 40)));
+        when(postRepository.findPostsInFolderWithTagPaginated(
+                anyInt(), anyInt(), any(), any(), any(), any(), any(), anyInt()
+        )).thenReturn(List.of(cursorPost(1, "a"), cursorPost(3, "c")));
+
+        PostPage page = postService.getPostsInFolderPaginated(folder, 1, "spring", "created_at", "desc", 0, true);
+
+        Assertions.assertEquals(2, page.getTotalItems());
+        Assertions.assertEquals(40, page.getTotalSearchHits());
+        Assertions.assertTrue(page.isMoreSearchHits());
+        verify(postRepository).findPostsInFolderWithTagPaginated(
+                0, PostServiceImpl.POSTS_PAGE_SIZE + 1, null, List.of(3, 1), folder,
+                PostSortField.CREATED_AT, SortDirection.DESC, 0);
+        verify(postRepository, never()).countPostsInFolderWithTagAndSearch(any(), anyInt(), any());
+    }
+
+    @Test
+    public void getPostsInFolderPaginated_Should_List_Whole_Subtree_When_Requested() {
+        Folder folder = new Folder();
+        folder.setId(5);
+        when(postRepository.countPostsInSubtreeWithTagAndSearch(folder, 2, "")).thenReturn(2);
+        when(postRepository.findPostsInSubtreeWithTagPaginated(
+                anyInt(), anyInt(), any(), any(), any(), any(), any(), anyInt()
+        )).thenReturn(List.of(cursorPost(1, "a"), cursorPost(2, "b")));
+
+        PostPage page = postService.getPostsInFolderPaginated(folder, true, 1, "", "created_at", "desc", 2, true);
+
+        Assertions.assertEquals(2, page.getTotalItems());
+        verify(postRepository).findPostsInSubtreeWithTagPaginated(
+                0, PostServiceImpl.POSTS_PAGE_SIZE + 1, "", null, folder,
+                PostSortField.CREATED_AT, SortDirection.DESC, 2);
+        verify(postRepository, never()).findPostsInFolderWithTagPaginated(
+                anyInt(), anyInt(), any(), any(), any(), any(), any(), anyInt());
+        verifyNoInteractions(postCountCache);
+    }
+
+    // ---------- searchPosts ----------
+
+    @Test
+    public void searchPosts_Should_Keep_Ranking_And_Attach_Highlights() {
+        when(postSearchService.search("spring", null, 0, PostServiceImpl.POSTS_PAGE_SIZE)).thenReturn(
+                new SearchResult(List.of(new SearchHit(2, 3.5), new SearchHit(1, 1.25)), 2));
+        when(postRepository.findSummariesByIds(List.of(2, 1))).thenReturn(List.of(cursorPost(1, "a"), cursorPost(2, "b")));
+        when(postSearchService.highlight(anyInt(), eq("spring"))).thenReturn(new Highlight("<mark>t</mark>", "s"));
+        when(postSearchService.isReady()).thenReturn(true);
+
+        PostSearchPage page = postService.searchPosts("spring", null, 0);
+
+        Assertions.assertEquals(1, page.getPage());
+        Assertions.assertEquals(2, page.getTotalHits());
+        Assertions.assertEquals(List.of(2, 1), page.getItems().stream().map(hit -> hit.getPost().getId()).toList());
+        Assertions.assertEquals(3.5, page.getItems().get(0).getScore());
+        Assertions.assertEquals("<mark>t</mark>", page.getItems().get(0).getTitleHighlight());
+        Assertions.assertTrue(page.isIndexReady());
+    }
+
+    // ---------- count ----------
+
     @Test
     public void getPostsCount_Should_Delegate_To_Repository() {
         when(postRepository.getPostsCount()).thenReturn(42);
@@ -658,40 +899,87 @@ public class PostServiceImplTests {
     // ---------- registerView / getPostViews ----------
 
     @Test
-    public void registerView_Should_Register_When_Not_Exists_For_Today() {
+    public void registerView_Should_Delegate_To_Recorder_Without_Touching_Repositories() {
         int postId = 1;
         int userId = 10;
-        LocalDate today = LocalDate.now();
-
-        when(postViewRepository.existsForDate(postId, userId, today)).thenReturn(false);
 
         postService.registerView(postId, userId);
 
-        verify(postViewRepository).registerView(postId, userId);
+        verify(postViewRecorder).record(postId, userId);
+        verifyNoInteractions(postViewRepository, postRepository);
     }
 
     @Test
-    public void registerView_Should_Not_Register_When_Already_Exists() {
+    public void getPostViews_Should_Return_Total_Views() {
         int postId = 1;
-        int userId = 10;
-        LocalDate today = LocalDate.now();
+        when(postViewRepository.getTotalViewsForPost(postId)).thenReturn(123L);
 
-        when(postViewRepository.existsForDate(postId, userId, today)).thenReturn(true);
+        long views = postService.getPostViews(postId);
 
-        postService.registerView(postId, userId);
+        Assertions.assertEquals(123L, views);
+        verify(postViewRepository).getTotalViewsForPost(postId);
+    }
+
+    // ---------- summaries ----------
+
+    @Test
+    public void findSummariesByUser_Should_Return_Empty_List_Without_Tag_Query() {
+        when(postRepository.findSummariesByUser(10)).thenReturn(List.of());
+
+        List<PostSummaryDto> result = postService.findSummariesByUser(10);
 
-        verify(postViewRepository, never()).registerView(anyInt(), anyInt());
+        Assertions.assertTrue(result.isEmpty());
+        verify(postRepository, never()).getTagsForPosts(any());
+        verifyNoInteractions(postViewRepository, postMapper);
     }
 
     @Test
-    public void getPostViews_Should_Return_Total_Views() {
-        int postId = 1;
-        when(postViewRepository.getTotalViewsForPost(postId)).thenReturn(123L);
+    public void findSummariesByUser_Should_Attach_Tags_In_One_Query() {
+        PostSummaryDto first = cursorPost(1, "a");
+        PostSummaryDto second = cursorPost(2, "b");
+        when(postRepository.findSummariesByUser(10)).thenReturn(List.of(first, second));
 
-        long views = postService.getPostViews(postId);
+        Tag tag = new Tag();
+        tag.setId(3);
+        tag.setName("drama");
+        when(postRepository.getTagsForPosts(List.of(1, 2))).thenReturn(Map.of(1, List.of(tag)));
 
-        Assertions.assertEquals(123L, views);
-        verify(postViewRepository).getTotalViewsForPost(postId);
+        List<PostSummaryDto> result = postService.findSummariesByUser(10);
+
+        Assertions.assertEquals(2, result.size());
+        Assertions.assertEquals("drama", first.getTags().get(0).getName());
+        Assertions.assertTrue(second.getTags().isEmpty());
+        verify(postRepository).getTagsForPosts(List.of(1, 2));
+        verifyNoInteractions(postViewRepository, postMapper);
+    }
+
+    @Test
+    public void update_Should_Refresh_Stored_Excerpt() {
+        User owner = new User();
+        owner.setId(10);
+        owner.setRole(Role.USER);
+        when(userRepository.findById(10)).thenReturn(owner);
+
+        Folder folder = new Folder();
+        folder.setId(5);
+        Post post = new Post();
+        post.setId(1);
+        post.setUser(owner);
+        post.setFolder(folder);
+        when(postRepository.findById(1)).thenReturn(post);
+        when(postRepository.save(any(Post.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(markdownService.toExcerpt("New **content**", PostServiceImpl.EXCERPT_LENGTH)).thenReturn("New content");
+
+        PostUpdateDto dto = new PostUpdateDto();
+        dto.setTitle("New title");
+        dto.setContent("New **content**");
+        dto.setTag1("");
+        dto.setTag2("");
+        dto.setTag3("");
+
+        Post result = postService.update(1, dto, 10);
+
+        Assertions.assertEquals("New content", result.getExcerpt());
     }
 
     // ---------- buildPostResponseDto / calculated stats ----------
@@ -0,0 +1,167 @@
+package com.team3.forum.services;
+
+import com.team3.forum.models.postDtos.DailyPostViewDto;
+import com.team3.forum.repositories.PostRepository;
+import com.team3.forum.repositories.PostViewRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PostViewRecorderTests {
+
+    @Mock
+    PostViewRepository postViewRepository;
+
+    @Mock
+    PostRepository postRepository;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    MutableClock clock;
+
+    PostViewRecorder recorder;
+
+    @BeforeEach
+    public void setUp() {
+        clock = new MutableClock(Instant.parse("2025-03-10T12:00:00Z"));
+        recorder = new PostViewRecorder(postViewRepository, postRepository, transactionManager, 2, 10, clock);
+    }
+
+    @Test
+    public void record_Should_Deduplicate_Same_Day_Views() {
+        Assertions.assertTrue(recorder.record(1, 10));
+        Assertions.assertFalse(recorder.record(1, 10));
+        Assertions.assertTrue(recorder.record(1, 11));
+
+        Assertions.assertEquals(2, recorder.getPendingCount());
+        verifyNoInteractions(postViewRepository, postRepository);
+    }
+
+    @Test
+    public void record_Should_Accept_Same_View_After_Day_Rotates() {
+        recorder.record(1, 10);
+
+        clock.instant = Instant.parse("2025-03-11T00:00:01Z");
+
+        Assertions.assertTrue(recorder.record(1, 10));
+    }
+
+    @Test
+    public void record_Should_Drop_Views_When_Pending_Limit_Reached() {
+        for (int userId = 0; userId < 10; userId++) {
+            Assertions.assertTrue(recorder.record(1, userId));
+        }
+
+        Assertions.assertFalse(recorder.record(1, 99));
+        Assertions.assertEquals(10, recorder.getPendingCount());
+    }
+
+    @Test
+    public void flush_Should_Write_In_Batches_And_Refresh_Counters() {
+        recorder.record(1, 10);
+        recorder.record(1, 11);
+        recorder.record(2, 10);
+
+        recorder.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<DailyPostViewDto>> batches = ArgumentCaptor.forClass(List.class);
+        verify(postViewRepository, times(2)).insertIgnore(batches.capture());
+        Assertions.assertEquals(2, batches.getAllValues().get(0).size());
+        Assertions.assertEquals(1, batches.getAllValues().get(1).size());
+        Assertions.assertEquals(LocalDate.of(2025, 3, 10), batches.getAllValues().get(0).get(0).viewDate());
+        verify(postViewRepository).refreshDailyViews(Set.of(1), LocalDate.of(2025, 3, 10));
+        verify(postViewRepository).refreshDailyViews(Set.of(2), LocalDate.of(2025, 3, 10));
+        verify(postRepository).refreshViewsCount(Set.of(1));
+        verify(postRepository).refreshViewsCount(Set.of(2));
+        Assertions.assertEquals(0, recorder.getPendingCount());
+    }
+
+    @Test
+    public void flush_Should_Keep_Views_Of_Failed_Write_For_Next_Flush() {
+        recorder.record(1, 10);
+        recorder.record(1, 11);
+        recorder.record(2, 10);
+        doThrow(new RuntimeException("connection lost")).doNothing().when(postViewRepository).insertIgnore(anyList());
+
+        recorder.flush();
+
+        Assertions.assertEquals(3, recorder.getPendingCount());
+        verify(postViewRepository, times(1)).insertIgnore(anyList());
+
+        recorder.flush();
+
+        verify(postViewRepository, times(3)).insertIgnore(anyList());
+        Assertions.assertEquals(0, recorder.getPendingCount());
+    }
+
+    @Test
+    public void flush_Should_Forget_Failed_Views_That_No_Longer_Fit() {
+        recorder = new PostViewRecorder(postViewRepository, postRepository, transactionManager, 2, 2, clock);
+        recorder.record(1, 10);
+        recorder.record(1, 11);
+        doAnswer(invocation -> {
+            recorder.record(2, 10);
+            recorder.record(2, 11);
+            throw new RuntimeException("connection lost");
+        }).doNothing().when(postViewRepository).insertIgnore(anyList());
+
+        recorder.flush();
+
+        Assertions.assertEquals(2, recorder.getPendingCount());
+
+        recorder.flush();
+
+        Assertions.assertEquals(0, recorder.getPendingCount());
+        Assertions.assertTrue(recorder.record(1, 10));
+        Assertions.assertFalse(recorder.record(2, 10));
+    }
+
+    @Test
+    public void flush_Should_Do_Nothing_When_No_Views_Pending() {
+        recorder.flush();
+
+        verify(postViewRepository, never()).insertIgnore(anyList());
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.team3.forum.services;
+
+import com.team3.forum.models.PostViewDaily;
+import com.team3.forum.models.enums.TrendingWindow;
+import com.team3.forum.models.postDtos.PostSummaryDto;
+import com.team3.forum.models.postDtos.TrendingSnapshot;
+import com.team3.forum.repositories.PostViewRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TrendingServiceImplTests {
+
+    @Mock
+    PostViewRepository postViewRepository;
+
+    @Mock
+    PostService postService;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    TrendingServiceImpl trendingService;
+
+    @BeforeEach
+    public void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2025-03-10T12:00:00Z"), ZoneOffset.UTC);
+        trendingService = new TrendingServiceImpl(postViewRepository, postService, transactionManager, 10,
+                Map.of(TrendingWindow.DAY, 6.0, TrendingWindow.WEEK, 48.0, TrendingWindow.MONTH, 168.0),
+                clock);
+    }
+
+    @Test
+    public void getSnapshot_Should_Return_Empty_Snapshot_Before_First_Refresh() {
+        TrendingSnapshot snapshot = trendingService.getSnapshot(TrendingWindow.DAY);
+
+        Assertions.assertEquals("24h", snapshot.window());
+        Assertions.assertNull(snapshot.computedAt());
+        Assertions.assertTrue(snapshot.posts().isEmpty());
+    }
+
+    @Test
+    public void refresh_Should_Rank_Posts_By_Decayed_Views_Per_Window() {
+        PostViewDaily oldBurst = new PostViewDaily(1, LocalDate.of(2025, 2, 18), 100);
+        PostViewDaily today = new PostViewDaily(2, LocalDate.of(2025, 3, 10), 10);
+        when(postViewRepository.findDailyViewsSince(any())).thenReturn(List.of(oldBurst, today));
+        when(postService.findSummariesByIds(anyCollection())).thenReturn(List.of(
+                PostSummaryDto.builder().id(1).build(),
+                PostSummaryDto.builder().id(2).build()));
+
+        trendingService.refresh();
+
+        Assertions.assertEquals(List.of(2), ids(trendingService.getSnapshot(TrendingWindow.DAY)));
+        Assertions.assertEquals(List.of(2), ids(trendingService.getSnapshot(TrendingWindow.WEEK)));
+        Assertions.assertEquals(List.of(1, 2), ids(trendingService.getSnapshot(TrendingWindow.MONTH)));
+        Assertions.assertNotNull(trendingService.getSnapshot(TrendingWindow.WEEK).computedAt());
+    }
+
+    @Test
+    public void refresh_Should_Keep_Previous_Snapshot_When_Computation_Fails() {
+        when(postViewRepository.findDailyViewsSince(any())).thenThrow(new IllegalStateException("db down"));
+
+        trendingService.refresh();
+
+        Assertions.assertTrue(trendingService.getSnapshot(TrendingWindow.WEEK).posts().isEmpty());
+    }
+
+    @Test
+    public void fromLabel_Should_Default_To_Week_For_Unknown_Labels() {
+        Assertions.assertEquals(TrendingWindow.DAY, TrendingWindow.fromLabel("24h"));
+        Assertions.assertEquals(TrendingWindow.MONTH, TrendingWindow.fromLabel("30D"));
+        Assertions.assertEquals(TrendingWindow.WEEK, TrendingWindow.fromLabel("forever"));
+    }
+
+    private List<Integer> ids(TrendingSnapshot snapshot) {
+        return snapshot.posts().stream().map(PostSummaryDto::getId).toList();
+    }
+}
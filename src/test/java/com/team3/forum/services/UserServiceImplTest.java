@@ -12,6 +12,7 @@ import com.team3.forum.models.userDtos.UserPage;
 import com.team3.forum.models.userDtos.UserStatsDto;
 import com.team3.forum.models.userDtos.UserUpdateDto;
 import com.team3.forum.repositories.UserRepository;
+import com.team3.forum.security.UserDetailsCache;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -38,6 +39,9 @@ public class UserServiceImplTest {
     @Mock
     PasswordEncoder passwordEncoder;
 
+    @Mock
+    UserDetailsCache userDetailsCache;
+
     @InjectMocks
     UserServiceImpl userService;
 
@@ -137,6 +141,7 @@ public class UserServiceImplTest {
         //Assert
         Assertions.assertTrue(result.isBlocked());
         Mockito.verify(mockUserRepository, Mockito.times(1)).save(mockUser);
+        Mockito.verify(userDetailsCache).evict(mockUser.getId());
     }
 
     @Test